@@ -0,0 +1,306 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts the internal jar of the agent into an uncompressed jar on local disk, so that later JVM
+ * starts load the agent's classes with a plain {@link java.net.URLClassLoader} lookup instead of
+ * inflating them from the agent jar one by one.
+ *
+ * <p>Because the extracted classes come from a regular jar file, JVMs that support dynamic class
+ * data sharing for custom class loaders (Java 13+) can also archive them, by running once with
+ * {@code -XX:ArchiveClassesAtExit=agent.jsa} and then starting with {@code
+ * -XX:SharedArchiveFile=agent.jsa}.
+ *
+ * <p>Classes in the cache directory are loaded into the agent class loader, so the cache is not
+ * used if other users can write to the directory, and a directory created for it is only
+ * accessible by its owner. The cached jar is checked in full against the agent jar once, and a
+ * marker file next to it then records the size and modification time of the jar that passed, so
+ * that later starts don't read it again.
+ */
+public final class AgentClassCache {
+
+  private static final Logger log = LoggerFactory.getLogger(AgentClassCache.class);
+
+  private static final String CLASS_DATA_SUFFIX = ".classdata";
+  private static final String VALID_MARKER_SUFFIX = ".valid";
+
+  /**
+   * @param bootstrapJarLocation the agent jar
+   * @param internalJarFileName the directory of the agent jar holding the internal jar
+   * @param cacheDir the directory to keep extracted jars in
+   * @return the location of the extracted internal jar, or {@code null} if it could not be created
+   */
+  public static URL getOrCreate(
+      URL bootstrapJarLocation, String internalJarFileName, File cacheDir) {
+    if (bootstrapJarLocation == null || internalJarFileName == null) {
+      return null;
+    }
+    try {
+      if (!cacheDir.isDirectory()) {
+        createPrivateDirectory(cacheDir);
+      } else if (isWritableByOthers(cacheDir)) {
+        log.warn("Not using agent class cache {}, other users can write to it", cacheDir);
+        return null;
+      }
+      File agentJar = new File(bootstrapJarLocation.toURI());
+      File cachedJar = new File(cacheDir, cachedJarName(agentJar, internalJarFileName));
+      if (cachedJar.isFile() && !isMarkedValid(cachedJar)) {
+        if (isValid(agentJar, internalJarFileName, cachedJar)) {
+          markValid(cachedJar);
+        } else {
+          log.warn(
+              "Agent class cache {} doesn't match the agent jar, extracting it again", cachedJar);
+          if (!cachedJar.delete()) {
+            throw new IOException("Unable to delete " + cachedJar);
+          }
+        }
+      }
+      if (!cachedJar.isFile()) {
+        extract(agentJar, internalJarFileName, cachedJar);
+        markValid(cachedJar);
+      }
+      return cachedJar.toURI().toURL();
+    } catch (URISyntaxException | IOException e) {
+      log.warn("Unable to use agent class cache in {}", cacheDir, e);
+      return null;
+    }
+  }
+
+  /** The agent jar's size and modification time tell apart the jars of different agent builds. */
+  static String cachedJarName(File agentJar, String internalJarFileName) {
+    String agentJarName = agentJar.getName();
+    if (agentJarName.endsWith(".jar")) {
+      agentJarName = agentJarName.substring(0, agentJarName.length() - ".jar".length());
+    }
+    return agentJarName
+        + "-"
+        + internalJarFileName
+        + "-"
+        + Long.toHexString(agentJar.length())
+        + "-"
+        + Long.toHexString(agentJar.lastModified())
+        + ".jar";
+  }
+
+  /**
+   * Checks that the cached jar has exactly the entries of the internal jar, and that the content of
+   * each matches the CRC the agent jar records for it. The agent jar's CRCs come from its central
+   * directory, so only the uncompressed cached jar is read in full.
+   */
+  static boolean isValid(File agentJar, String internalJarFileName, File cachedJar) {
+    try {
+      Map<String, Long> expectedCrcs = new HashMap<>();
+      String prefix = internalJarFileName + "/";
+      try (JarFile jarFile = new JarFile(agentJar, false)) {
+        Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+          JarEntry jarEntry = jarEntries.nextElement();
+          String name = jarEntry.getName();
+          if (!jarEntry.isDirectory() && name.startsWith(prefix)) {
+            expectedCrcs.put(cachedEntryName(name.substring(prefix.length())), jarEntry.getCrc());
+          }
+        }
+      }
+
+      int entries = 0;
+      try (JarFile jarFile = new JarFile(cachedJar, false)) {
+        byte[] buffer = new byte[8192];
+        CRC32 crc = new CRC32();
+        Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+          JarEntry jarEntry = jarEntries.nextElement();
+          Long expectedCrc = expectedCrcs.get(jarEntry.getName());
+          if (expectedCrc == null) {
+            return false;
+          }
+          crc.reset();
+          try (InputStream in = jarFile.getInputStream(jarEntry)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+              crc.update(buffer, 0, read);
+            }
+          }
+          if (crc.getValue() != expectedCrc) {
+            return false;
+          }
+          entries++;
+        }
+      }
+      return entries == expectedCrcs.size();
+    } catch (IOException e) {
+      log.debug("Unable to check agent class cache {}", cachedJar, e);
+      return false;
+    }
+  }
+
+  private static void createPrivateDirectory(File dir) throws IOException {
+    if (!dir.mkdirs() && !dir.isDirectory()) {
+      throw new IOException("Unable to create " + dir);
+    }
+    try {
+      Files.setPosixFilePermissions(dir.toPath(), PosixFilePermissions.fromString("rwx------"));
+    } catch (UnsupportedOperationException e) {
+      // not a POSIX file system, the directory keeps the default permissions of its parent
+    }
+  }
+
+  private static boolean isWritableByOthers(File dir) throws IOException {
+    try {
+      Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(dir.toPath());
+      return permissions.contains(PosixFilePermission.GROUP_WRITE)
+          || permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    } catch (UnsupportedOperationException e) {
+      return false;
+    }
+  }
+
+  static File validMarker(File cachedJar) {
+    return new File(cachedJar.getParentFile(), cachedJar.getName() + VALID_MARKER_SUFFIX);
+  }
+
+  private static String validMarkerContent(File cachedJar) {
+    return Long.toHexString(cachedJar.length()) + "-" + Long.toHexString(cachedJar.lastModified());
+  }
+
+  /** Whether the cached jar is still the one that was checked against the agent jar. */
+  private static boolean isMarkedValid(File cachedJar) {
+    File marker = validMarker(cachedJar);
+    try {
+      return marker.isFile()
+          && new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8)
+              .equals(validMarkerContent(cachedJar));
+    } catch (IOException e) {
+      log.debug("Unable to read {}", marker, e);
+      return false;
+    }
+  }
+
+  private static void markValid(File cachedJar) {
+    File marker = validMarker(cachedJar);
+    try {
+      // written aside and moved into place, so that other JVMs never read a partial marker
+      File tempFile = File.createTempFile(marker.getName(), ".tmp", marker.getParentFile());
+      byte[] content = validMarkerContent(cachedJar).getBytes(StandardCharsets.UTF_8);
+      Files.write(tempFile.toPath(), content);
+      if (!tempFile.renameTo(marker) && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    } catch (IOException e) {
+      // the cached jar is checked in full again on the next start
+      log.debug("Unable to write {}", marker, e);
+    }
+  }
+
+  private static String cachedEntryName(String name) {
+    if (name.endsWith(CLASS_DATA_SUFFIX)) {
+      return name.substring(0, name.length() - CLASS_DATA_SUFFIX.length()) + ".class";
+    }
+    return name;
+  }
+
+  private static void extract(File agentJar, String internalJarFileName, File cachedJar)
+      throws IOException {
+    File cacheDir = cachedJar.getParentFile();
+    long start = System.nanoTime();
+    String prefix = internalJarFileName + "/";
+    // other JVMs may be starting at the same time, so only complete jars are moved into place
+    File tempFile = File.createTempFile(cachedJar.getName(), ".tmp", cacheDir);
+    try {
+      int entries = 0;
+      try (JarFile jarFile = new JarFile(agentJar, false);
+          JarOutputStream out = new JarOutputStream(new FileOutputStream(tempFile))) {
+        byte[] buffer = new byte[8192];
+        Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+          JarEntry jarEntry = jarEntries.nextElement();
+          String name = jarEntry.getName();
+          if (jarEntry.isDirectory() || !name.startsWith(prefix)) {
+            continue;
+          }
+          name = cachedEntryName(name.substring(prefix.length()));
+          byte[] content;
+          try (InputStream in = jarFile.getInputStream(jarEntry)) {
+            content = readFully(in, buffer);
+          }
+          out.putNextEntry(storedEntry(name, content));
+          out.write(content);
+          out.closeEntry();
+          entries++;
+        }
+      }
+      if (!tempFile.renameTo(cachedJar) && !cachedJar.isFile()) {
+        throw new IOException("Unable to move " + tempFile + " to " + cachedJar);
+      }
+      log.debug(
+          "Extracted {} agent class cache entries to {} in {} ms",
+          entries,
+          cachedJar,
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      if (tempFile.exists() && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    }
+  }
+
+  /** Entries are stored uncompressed so that reading them doesn't need to inflate anything. */
+  private static ZipEntry storedEntry(String name, byte[] content) {
+    CRC32 crc = new CRC32();
+    crc.update(content);
+    ZipEntry entry = new ZipEntry(name);
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(content.length);
+    entry.setCompressedSize(content.length);
+    entry.setCrc(crc.getValue());
+    return entry;
+  }
+
+  private static byte[] readFully(InputStream in, byte[] buffer) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private AgentClassCache() {}
+}
@@ -40,6 +40,10 @@ public class AgentClassLoader extends URLClassLoader {
   private static final String AGENT_INITIALIZER_JAR =
       System.getProperty("otel.initializer.jar", "");
 
+  // When set, the internal jar is extracted to this directory once and loaded from there
+  private static final String AGENT_CLASS_CACHE_DIR =
+      System.getProperty("otel.class.cache.dir", "");
+
   // Calling java.lang.instrument.Instrumentation#appendToBootstrapClassLoaderSearch
   // adds a jar to the bootstrap class lookup, but not to the resource lookup.
   // As a workaround, we keep a reference to the bootstrap jar
@@ -64,16 +68,25 @@ public class AgentClassLoader extends URLClassLoader {
             ? new BootstrapClassLoaderProxy(new URL[0])
             : new BootstrapClassLoaderProxy(new URL[] {bootstrapJarLocation});
 
-    InternalJarURLHandler internalJarURLHandler =
-        new InternalJarURLHandler(internalJarFileName, bootstrapJarLocation);
-    try {
-      // The fields of the URL are mostly dummy.  InternalJarURLHandler is the only important
-      // field.  If extending this class from Classloader instead of URLClassloader required less
-      // boilerplate it could be used and the need for dummy fields would be reduced
-      addURL(new URL("x-internal-jar", null, 0, "/", internalJarURLHandler));
-    } catch (MalformedURLException e) {
-      // This can't happen with current URL constructor
-      log.error("URL malformed.  Unsupported JDK?", e);
+    URL classCacheJar =
+        AGENT_CLASS_CACHE_DIR.isEmpty()
+            ? null
+            : AgentClassCache.getOrCreate(
+                bootstrapJarLocation, internalJarFileName, new File(AGENT_CLASS_CACHE_DIR));
+    if (classCacheJar != null) {
+      addURL(classCacheJar);
+    } else {
+      InternalJarURLHandler internalJarURLHandler =
+          new InternalJarURLHandler(internalJarFileName, bootstrapJarLocation);
+      try {
+        // The fields of the URL are mostly dummy.  InternalJarURLHandler is the only important
+        // field.  If extending this class from Classloader instead of URLClassloader required
+        // less boilerplate it could be used and the need for dummy fields would be reduced
+        addURL(new URL("x-internal-jar", null, 0, "/", internalJarURLHandler));
+      } catch (MalformedURLException e) {
+        // This can't happen with current URL constructor
+        log.error("URL malformed.  Unsupported JDK?", e);
+      }
     }
 
     if (!AGENT_INITIALIZER_JAR.isEmpty()) {
@@ -0,0 +1,280 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.api;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * An index from resource name to the location of its data in the memory-mapped bootstrap jar,
+ * covering the entries of one internal jar. Entries are read straight from the mapped buffer, so
+ * concurrent class loads don't contend on {@link java.util.jar.JarFile} internals.
+ *
+ * <p>Directory entries are indexed too, and like {@link java.util.zip.ZipFile#getEntry(String)} a
+ * directory is also found by its name without the trailing slash.
+ *
+ * <p>Only the plain zip format is supported. {@link #create(File, String)} returns {@code null}
+ * for zip64 archives, which the caller should then read through {@link java.util.jar.JarFile}.
+ */
+final class InternalJarIndex {
+
+  private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+  private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+  private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+  private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+  private static final int LOCAL_FILE_HEADER_SIZE = 30;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+  private static final int ZIP64_MAGIC = 0xFFFF;
+
+  private static final String CLASS_DATA_SUFFIX = ".classdata";
+
+  private final ByteBuffer jar;
+  /** "/" + resource name (with ".class" in place of ".classdata") -> entry */
+  private final Map<String, Entry> entries;
+
+  private InternalJarIndex(ByteBuffer jar, Map<String, Entry> entries) {
+    this.jar = jar;
+    this.entries = entries;
+  }
+
+  /**
+   * @param jarFile the bootstrap jar
+   * @param internalJarFileName the directory of the bootstrap jar holding the internal jar
+   * @return the index, or {@code null} if the jar uses an unsupported format
+   */
+  static InternalJarIndex create(File jarFile, String internalJarFileName) throws IOException {
+    ByteBuffer jar;
+    try (RandomAccessFile file = new RandomAccessFile(jarFile, "r");
+        FileChannel channel = file.getChannel()) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return null;
+      }
+      // the mapping stays valid after the channel is closed
+      jar = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    jar.order(ByteOrder.LITTLE_ENDIAN);
+
+    int end = findEndOfCentralDirectory(jar);
+    if (end < 0) {
+      return null;
+    }
+    int entryCount = jar.getShort(end + 10) & 0xFFFF;
+    long centralDirectoryOffset = jar.getInt(end + 16) & 0xFFFFFFFFL;
+    if (entryCount == ZIP64_MAGIC || centralDirectoryOffset >= end) {
+      return null;
+    }
+
+    String prefix = internalJarFileName + "/";
+    byte[] nameBuffer = new byte[256];
+    Map<String, Entry> entries = new HashMap<>();
+    int header = (int) centralDirectoryOffset;
+    for (int i = 0; i < entryCount; i++) {
+      if (jar.getInt(header) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+        return null;
+      }
+      int method = jar.getShort(header + 10) & 0xFFFF;
+      long compressedSize = jar.getInt(header + 20) & 0xFFFFFFFFL;
+      long size = jar.getInt(header + 24) & 0xFFFFFFFFL;
+      int nameLength = jar.getShort(header + 28) & 0xFFFF;
+      int extraLength = jar.getShort(header + 30) & 0xFFFF;
+      int commentLength = jar.getShort(header + 32) & 0xFFFF;
+      long localHeaderOffset = jar.getInt(header + 42) & 0xFFFFFFFFL;
+      if (compressedSize == 0xFFFFFFFFL
+          || size == 0xFFFFFFFFL
+          || localHeaderOffset == 0xFFFFFFFFL) {
+        return null;
+      }
+
+      if (nameLength > nameBuffer.length) {
+        nameBuffer = new byte[nameLength];
+      }
+      jar.position(header + CENTRAL_DIRECTORY_HEADER_SIZE);
+      jar.get(nameBuffer, 0, nameLength);
+      String name = new String(nameBuffer, 0, nameLength, StandardCharsets.UTF_8);
+      if (name.startsWith(prefix)) {
+        if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+          return null;
+        }
+        int localHeader = (int) localHeaderOffset;
+        if (jar.getInt(localHeader) != LOCAL_FILE_HEADER_SIGNATURE) {
+          return null;
+        }
+        int dataOffset =
+            localHeader
+                + LOCAL_FILE_HEADER_SIZE
+                + (jar.getShort(localHeader + 26) & 0xFFFF)
+                + (jar.getShort(localHeader + 28) & 0xFFFF);
+        entries.put(
+            resourceKey(name, prefix.length() - 1),
+            new Entry(dataOffset, (int) compressedSize, (int) size, method == ZipEntry.STORED));
+      }
+      header += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+    }
+    return new InternalJarIndex(jar, entries);
+  }
+
+  private static int findEndOfCentralDirectory(ByteBuffer jar) {
+    int last = jar.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+    int first = Math.max(0, last - MAX_COMMENT_SIZE);
+    for (int position = last; position >= first; position--) {
+      if (jar.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  /** Maps "inst/a/B.classdata" to "/a/B.class", the file of the URL the class loader asks for. */
+  private static String resourceKey(String name, int start) {
+    if (name.endsWith(CLASS_DATA_SUFFIX)) {
+      return name.substring(start, name.length() - CLASS_DATA_SUFFIX.length()) + ".class";
+    }
+    return name.substring(start);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /** @return the uncompressed size of the resource, or {@code -1} if there is no such resource */
+  int getSize(String filename) {
+    Entry entry = find(filename);
+    return entry != null ? entry.size : -1;
+  }
+
+  /** @return the content of the resource, or {@code null} if there is no such resource */
+  InputStream open(String filename) {
+    Entry entry = find(filename);
+    if (entry == null) {
+      return null;
+    }
+    ByteBuffer data = jar.duplicate();
+    data.limit(entry.offset + entry.compressedSize).position(entry.offset);
+    InputStream in = new ByteBufferInputStream(data);
+    if (entry.stored) {
+      return in;
+    }
+    return new EntryInflaterInputStream(in, Math.max(1, Math.min(entry.compressedSize, 8192)));
+  }
+
+  private Entry find(String filename) {
+    Entry entry = entries.get(filename);
+    if (entry == null && !filename.endsWith("/")) {
+      entry = entries.get(filename + "/");
+    }
+    return entry;
+  }
+
+  private static final class Entry {
+    private final int offset;
+    private final int compressedSize;
+    private final int size;
+    private final boolean stored;
+
+    private Entry(int offset, int compressedSize, int size, boolean stored) {
+      this.offset = offset;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.stored = stored;
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      length = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, length);
+      return length;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+  /** Inflates raw deflate data the way {@link java.util.zip.ZipFile} does. */
+  private static final class EntryInflaterInputStream extends InflaterInputStream {
+    private boolean eof;
+    private boolean closed;
+
+    private EntryInflaterInputStream(InputStream in, int bufferSize) {
+      super(in, new Inflater(true), bufferSize);
+    }
+
+    @Override
+    protected void fill() throws IOException {
+      if (eof) {
+        throw new EOFException("Unexpected end of ZLIB input stream");
+      }
+      len = in.read(buf, 0, buf.length);
+      if (len == -1) {
+        // a nowrap inflater may need one extra dummy byte past the end of the data
+        buf[0] = 0;
+        len = 1;
+        eof = true;
+      }
+      inf.setInput(buf, 0, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        inf.end();
+        super.close();
+      }
+    }
+  }
+}
@@ -40,6 +40,7 @@ public class InternalJarURLHandler extends URLStreamHandler {
 
   private final String name;
   private final FileNotInInternalJar notFound;
+  private final InternalJarIndex index;
   private final JarFile bootstrapJarFile;
 
   private WeakReference<Pair<String, JarEntry>> cache = NULL;
@@ -47,18 +48,44 @@ public class InternalJarURLHandler extends URLStreamHandler {
   public InternalJarURLHandler(String internalJarFileName, URL bootstrapJarLocation) {
     name = internalJarFileName;
     notFound = new FileNotInInternalJar(internalJarFileName);
+    InternalJarIndex jarIndex = null;
     JarFile jarFile = null;
     try {
       if (bootstrapJarLocation != null) {
-        jarFile = new JarFile(new File(bootstrapJarLocation.toURI()), false);
+        File bootstrapJar = new File(bootstrapJarLocation.toURI());
+        jarIndex = createIndex(bootstrapJar, internalJarFileName);
+        if (jarIndex == null) {
+          jarFile = new JarFile(bootstrapJar, false);
+        }
       }
     } catch (URISyntaxException | IOException e) {
       log.error("Unable to read internal jar", e);
     }
 
+    index = jarIndex;
     bootstrapJarFile = jarFile;
   }
 
+  private static InternalJarIndex createIndex(File bootstrapJar, String internalJarFileName) {
+    long start = System.nanoTime();
+    try {
+      InternalJarIndex index = InternalJarIndex.create(bootstrapJar, internalJarFileName);
+      if (index == null) {
+        log.debug("Unsupported format of {}, not indexing {}", bootstrapJar, internalJarFileName);
+      } else if (log.isDebugEnabled()) {
+        log.debug(
+            "Indexed {} entries of {} in {} us",
+            index.size(),
+            internalJarFileName,
+            (System.nanoTime() - start) / 1000);
+      }
+      return index;
+    } catch (IOException | RuntimeException e) {
+      log.debug("Unable to index {}, reading it through JarFile", bootstrapJar, e);
+      return null;
+    }
+  }
+
   @Override
   protected URLConnection openConnection(URL url) throws IOException {
     String filename = url.getFile();
@@ -67,7 +94,14 @@ public class InternalJarURLHandler extends URLStreamHandler {
       // This is called by the SecureClassLoader trying to obtain permissions
 
       // nullInputStream() is not available until Java 11
-      return new InternalJarURLConnection(url, new ByteArrayInputStream(new byte[0]));
+      return new InternalJarURLConnection(url, new ByteArrayInputStream(new byte[0]), 0);
+    }
+    if (index != null) {
+      InputStream inputStream = index.open(filename);
+      if (inputStream == null) {
+        throw notFound;
+      }
+      return new InternalJarURLConnection(url, inputStream, index.getSize(filename));
     }
     // believe it or not, we're going to get called twice for this,
     // and the key will be a new object each time.
@@ -88,7 +122,8 @@ public class InternalJarURLHandler extends URLStreamHandler {
       // so dismiss cache after a hit
       cache = NULL;
     }
-    return new InternalJarURLConnection(url, bootstrapJarFile.getInputStream(pair.getRight()));
+    return new InternalJarURLConnection(
+        url, bootstrapJarFile.getInputStream(pair.getRight()), pair.getRight().getSize());
   }
 
   private String getResourcePath(String filename) {
@@ -107,10 +142,12 @@ public class InternalJarURLHandler extends URLStreamHandler {
 
   private static class InternalJarURLConnection extends URLConnection {
     private final InputStream inputStream;
+    private final long contentLength;
 
-    private InternalJarURLConnection(URL url, InputStream inputStream) {
+    private InternalJarURLConnection(URL url, InputStream inputStream, long contentLength) {
       super(url);
       this.inputStream = inputStream;
+      this.contentLength = contentLength;
     }
 
     @Override
@@ -123,6 +160,16 @@ public class InternalJarURLHandler extends URLStreamHandler {
       return inputStream;
     }
 
+    @Override
+    public int getContentLength() {
+      return contentLength > Integer.MAX_VALUE ? -1 : (int) contentLength;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return contentLength;
+    }
+
     @Override
     public Permission getPermission() {
       // No permissions needed because all classes are in memory
@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.api
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermissions
+import java.util.jar.JarEntry
+import java.util.jar.JarFile
+import java.util.jar.JarOutputStream
+import spock.lang.Requires
+import spock.lang.Shared
+
+class AgentClassCacheTest extends AgentSpecification {
+
+  @Shared
+  URL testJarLocation = new File("src/test/resources/classloader-test-jar/testjar-jdk8").toURI().toURL()
+
+  def "extracted classes are loadable"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+
+    when:
+    URL cachedJar = AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+    URLClassLoader loader = new URLClassLoader([cachedJar] as URL[], (ClassLoader) null)
+
+    then:
+    loader.loadClass(className).name == className
+
+    cleanup:
+    loader?.close()
+    cacheDir.deleteDir()
+
+    where:
+    className << ["a.A", "a.b.B", "a.b.c.C"]
+  }
+
+  def "cached jar is reused"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+
+    when:
+    URL first = AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+    long lastModified = new File(first.toURI()).lastModified()
+    URL second = AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+
+    then:
+    first == second
+    new File(second.toURI()).lastModified() == lastModified
+    def jarName = new File(first.toURI()).name
+    cacheDir.list() as Set == [jarName, jarName + ".valid"] as Set
+
+    cleanup:
+    cacheDir.deleteDir()
+  }
+
+  def "cached jar is valid"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+    File agentJar = new File(testJarLocation.toURI())
+
+    when:
+    File cachedJar = new File(AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir).toURI())
+
+    then:
+    AgentClassCache.isValid(agentJar, "isolated", cachedJar)
+
+    cleanup:
+    cacheDir.deleteDir()
+  }
+
+  def "#description cached jar is extracted again"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+    File agentJar = new File(testJarLocation.toURI())
+    File cachedJar = new File(cacheDir, AgentClassCache.cachedJarName(agentJar, "isolated"))
+    new JarOutputStream(new FileOutputStream(cachedJar)).withCloseable { out ->
+      entries.each { name, content ->
+        out.putNextEntry(new JarEntry(name))
+        out.write(content)
+        out.closeEntry()
+      }
+    }
+
+    expect:
+    !AgentClassCache.isValid(agentJar, "isolated", cachedJar)
+
+    when:
+    URL url = AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+    URLClassLoader loader = new URLClassLoader([url] as URL[], (ClassLoader) null)
+
+    then:
+    new File(url.toURI()) == cachedJar
+    AgentClassCache.isValid(agentJar, "isolated", cachedJar)
+    loader.loadClass("a.b.c.C").name == "a.b.c.C"
+
+    cleanup:
+    loader?.close()
+    cacheDir.deleteDir()
+
+    where:
+    description  | entries
+    "incomplete" | ["a/A.class": classBytes("isolated/a/A.classdata")]
+    "modified"   | ["a/A.class"    : classBytes("isolated/a/A.classdata"),
+                    "a/b/B.class"  : classBytes("isolated/a/b/B.classdata"),
+                    "a/b/c/C.class": new byte[10]]
+    "extended"   | ["a/A.class"    : classBytes("isolated/a/A.classdata"),
+                    "a/b/B.class"  : classBytes("isolated/a/b/B.classdata"),
+                    "a/b/c/C.class": classBytes("isolated/a/b/c/C.classdata"),
+                    "a/D.class"    : new byte[10]]
+  }
+
+  def "cached jar changed after it was checked is extracted again"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+    File agentJar = new File(testJarLocation.toURI())
+    File cachedJar = new File(AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir).toURI())
+    new JarOutputStream(new FileOutputStream(cachedJar)).withCloseable { out ->
+      out.putNextEntry(new JarEntry("a/A.class"))
+      out.write(classBytes("isolated/a/A.classdata"))
+      out.closeEntry()
+    }
+
+    when:
+    AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+
+    then:
+    AgentClassCache.isValid(agentJar, "isolated", cachedJar)
+    AgentClassCache.validMarker(cachedJar).isFile()
+
+    cleanup:
+    cacheDir.deleteDir()
+  }
+
+  @Requires({ FileSystems.getDefault().supportedFileAttributeViews().contains("posix") })
+  def "cache directory writable by other users is not used"() {
+    setup:
+    File cacheDir = Files.createTempDirectory("agent-class-cache").toFile()
+    Files.setPosixFilePermissions(cacheDir.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"))
+
+    expect:
+    AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir) == null
+    cacheDir.list().length == 0
+
+    cleanup:
+    cacheDir.deleteDir()
+  }
+
+  @Requires({ FileSystems.getDefault().supportedFileAttributeViews().contains("posix") })
+  def "created cache directory is only accessible by its owner"() {
+    setup:
+    File parentDir = Files.createTempDirectory("agent-class-cache").toFile()
+    File cacheDir = new File(parentDir, "cache")
+
+    when:
+    AgentClassCache.getOrCreate(testJarLocation, "isolated", cacheDir)
+
+    then:
+    PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDir.toPath())) == "rwx------"
+
+    cleanup:
+    parentDir.deleteDir()
+  }
+
+  def "missing agent jar is not cached"() {
+    expect:
+    AgentClassCache.getOrCreate(null, "isolated", new File("unused")) == null
+  }
+
+  byte[] classBytes(String name) {
+    new JarFile(new File(testJarLocation.toURI())).withCloseable { jarFile ->
+      jarFile.getInputStream(jarFile.getJarEntry(name)).bytes
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.api
+
+import java.util.jar.JarEntry
+import java.util.jar.JarFile
+import java.util.jar.JarOutputStream
+import java.util.zip.ZipEntry
+import spock.lang.Shared
+import spock.lang.Specification
+
+class InternalJarIndexTest extends Specification {
+
+  @Shared
+  File jar = File.createTempFile("internal-jar-index-", ".jar")
+
+  def setupSpec() {
+    jar.deleteOnExit()
+    new JarOutputStream(new FileOutputStream(jar)).withCloseable { out ->
+      ["inst/", "inst/a/", "inst/a/b/", "other/"].each {
+        out.putNextEntry(new JarEntry(it))
+        out.closeEntry()
+      }
+      [
+        "inst/a/A.classdata"  : "class A",
+        "inst/a/b/B.classdata": "class B " * 1000,
+        "inst/a/resource.txt" : "a resource",
+        "other/C.classdata"   : "class C"
+      ].each { name, content ->
+        out.putNextEntry(new JarEntry(name))
+        out.write(content.getBytes("UTF-8"))
+        out.closeEntry()
+      }
+    }
+  }
+
+  def "index holds the entries of the internal jar that JarFile holds"() {
+    setup:
+    def index = InternalJarIndex.create(jar, "inst")
+    def jarFile = new JarFile(jar, false)
+    def internalEntries = jarFile.entries().toList().findAll { it.name.startsWith("inst/") }
+
+    expect:
+    internalEntries.every { it.method == ZipEntry.DEFLATED }
+    index.size() == internalEntries.size()
+    internalEntries.every { entry ->
+      def key = entry.name.substring("inst".length()).replaceAll(/\.classdata$/, ".class")
+      index.getSize(key) == entry.size &&
+        index.open(key).bytes == jarFile.getInputStream(entry).bytes
+    }
+
+    cleanup:
+    jarFile?.close()
+  }
+
+  def "finds a directory with and without the trailing slash"() {
+    setup:
+    def index = InternalJarIndex.create(jar, "inst")
+
+    expect:
+    index.getSize(name) == 0
+    index.open(name).bytes.length == 0
+
+    where:
+    name << ["/a/b/", "/a/b"]
+  }
+
+  def "does not find entries outside of the internal jar"() {
+    setup:
+    def index = InternalJarIndex.create(jar, "inst")
+
+    expect:
+    index.getSize(name) == -1
+    index.open(name) == null
+
+    where:
+    name << ["/C.class", "/other/C.class", "/x/X.class"]
+  }
+}
@@ -83,6 +83,22 @@ class InternalJarURLHandlerTest extends AgentSpecification {
     "isolated" | '/a/b/c/C.class'
   }
 
+  def "test content length"() {
+    setup:
+    InternalJarURLHandler handler = new InternalJarURLHandler(dir, testJarLocation)
+    when:
+    URLConnection connection = handler.openConnection(new URL('file://' + file))
+    byte[] data = connection.getInputStream().bytes
+    then:
+    connection.getContentLengthLong() == data.length
+    data.length == size
+
+    where:
+    dir        | file              | size
+    "isolated" | '/a/A.class'      | 232
+    "isolated" | '/a/b/c/C.class'  | 240
+  }
+
   def "handle not found"() {
     setup:
     InternalJarURLHandler handler = new InternalJarURLHandler(dir, testJarLocation)
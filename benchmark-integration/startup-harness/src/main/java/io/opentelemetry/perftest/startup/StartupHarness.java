@@ -0,0 +1,321 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.perftest.startup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches an application jar repeatedly, with and without java agents, and measures how long it
+ * takes to accept connections and to answer its first request. Agent runs also collect the agent's
+ * own startup phase timings, which it writes to {@code otel.startup.timings.file} on exit.
+ *
+ * <p>The first run of every configuration only warms the file system cache and is discarded.
+ * Per-run results are saved to {@code startup_results.csv} in the temp directory, and the median
+ * of each configuration is printed.
+ */
+public class StartupHarness {
+
+  private static final long STARTUP_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+  private static final String NO_AGENT = "NoAgent";
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 4) {
+      System.err.println(
+          "usage: StartupHarness runs path-to-app-jar url path-to-agent1|NoAgent ...");
+      System.err.println();
+      System.err.println("path-to-app-jar : an executable jar which starts an http server");
+      System.err.println("url             : requested once the server accepts connections");
+      System.err.println("path-to-agent*  : each must be a javaagent jar, or NoAgent");
+      System.exit(1);
+    }
+    int runs = Integer.parseInt(args[0]);
+    File app = new File(args[1]);
+    URL url = new URL(args[2]);
+    List<String> agents = Arrays.asList(args).subList(3, args.length);
+
+    List<Result> results = new ArrayList<>();
+    for (String agent : agents) {
+      String label = NO_AGENT.equals(agent) ? NO_AGENT : new File(agent).getName();
+      System.out.println("----Testing " + label + "----");
+      List<Result> agentResults = new ArrayList<>();
+      for (int run = 0; run <= runs; run++) {
+        Result result = run(app, url, NO_AGENT.equals(agent) ? null : agent, label, run);
+        if (run > 0) {
+          System.out.println(result);
+          agentResults.add(result);
+        }
+      }
+      printMedians(label, agentResults);
+      results.addAll(agentResults);
+    }
+
+    File resultsFile = new File(System.getProperty("java.io.tmpdir"), "startup_results.csv");
+    writeCsv(results, resultsFile);
+    System.out.println("DONE. Test results saved to " + resultsFile);
+  }
+
+  private static Result run(File app, URL url, String agent, String label, int run)
+      throws Exception {
+    File timingsFile = File.createTempFile("startup-timings", ".csv");
+    File outputFile = File.createTempFile("startup-output", ".log");
+    timingsFile.delete();
+
+    List<String> command = new ArrayList<>();
+    command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+    if (agent != null) {
+      command.add("-javaagent:" + agent);
+      command.add("-Dotel.startup.timings.file=" + timingsFile.getAbsolutePath());
+      command.add("-Dio.opentelemetry.javaagent.slf4j.simpleLogger.defaultLogLevel=off");
+    }
+    command.add("-jar");
+    command.add(app.getAbsolutePath());
+
+    Result result = new Result(label, run);
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(outputFile).start();
+    try {
+      long listening = waitForConnection(process, url, start, outputFile);
+      int status = request(url);
+      long responded = System.nanoTime();
+      if (status >= 400) {
+        System.err.println("WARNING: first request to " + url + " returned " + status);
+      }
+      result.startupNanos = listening - start;
+      result.firstRequestNanos = responded - listening;
+      result.timeToFirstResponseNanos = responded - start;
+    } finally {
+      // SIGTERM, so that shutdown hooks run and the agent writes its timings
+      process.destroy();
+      process.waitFor();
+    }
+    if (timingsFile.exists()) {
+      result.phaseMillis.putAll(readTimings(timingsFile));
+      timingsFile.delete();
+    }
+    outputFile.delete();
+    return result;
+  }
+
+  /** @return the time at which the server first accepted a connection */
+  private static long waitForConnection(Process process, URL url, long start, File outputFile)
+      throws InterruptedException, IOException {
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    InetSocketAddress address = new InetSocketAddress(url.getHost(), port);
+    while (System.nanoTime() - start < STARTUP_TIMEOUT_NANOS) {
+      if (hasExited(process)) {
+        throw new IllegalStateException(
+            "Server exited with " + process.exitValue() + ", see " + outputFile);
+      }
+      try (Socket socket = new Socket()) {
+        socket.connect(address, 100);
+        return System.nanoTime();
+      } catch (IOException e) {
+        Thread.sleep(5);
+      }
+    }
+    throw new IOException(
+        "Server did not accept connections on " + address + ", see " + outputFile);
+  }
+
+  private static boolean hasExited(Process process) {
+    try {
+      process.exitValue();
+      return true;
+    } catch (IllegalThreadStateException e) {
+      return false;
+    }
+  }
+
+  private static int request(URL url) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      int status = connection.getResponseCode();
+      InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+      if (body != null) {
+        byte[] buffer = new byte[8192];
+        while (body.read(buffer) != -1) {
+          // drain
+        }
+        body.close();
+      }
+      return status;
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  /** Reads the {@code phase,count,total_ms} file written by the agent. */
+  private static Map<String, Double> readTimings(File timingsFile) throws IOException {
+    Map<String, Double> timings = new LinkedHashMap<>();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(new FileInputStream(timingsFile), StandardCharsets.UTF_8))) {
+      String line = reader.readLine(); // header
+      while ((line = reader.readLine()) != null) {
+        String[] columns = line.split(",");
+        if (columns.length == 3) {
+          timings.put(columns[0], Double.parseDouble(columns[2]));
+        }
+      }
+    }
+    return timings;
+  }
+
+  private static void printMedians(String label, List<Result> results) {
+    if (results.isEmpty()) {
+      return;
+    }
+    StringBuilder line = new StringBuilder(label).append(" median:");
+    appendMedian(line, "startup_ms", results, Result.STARTUP);
+    appendMedian(line, "first_request_ms", results, Result.FIRST_REQUEST);
+    appendMedian(line, "time_to_first_response_ms", results, Result.TIME_TO_FIRST_RESPONSE);
+    for (String phase : phases(results)) {
+      appendMedian(line, phase + "_ms", results, phase);
+    }
+    System.out.println(line);
+    System.out.println();
+  }
+
+  private static void appendMedian(
+      StringBuilder line, String name, List<Result> results, String column) {
+    double[] values = new double[results.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = results.get(i).get(column);
+    }
+    Arrays.sort(values);
+    double median =
+        values.length % 2 == 1
+            ? values[values.length / 2]
+            : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+    line.append(' ').append(name).append('=').append(format(median));
+  }
+
+  private static void writeCsv(List<Result> results, File file) throws IOException {
+    Set<String> phases = phases(results);
+    try (PrintWriter out =
+        new PrintWriter(
+            new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+      StringBuilder header =
+          new StringBuilder("agent,run,startup_ms,first_request_ms,time_to_first_response_ms");
+      for (String phase : phases) {
+        header.append(',').append(phase).append("_ms");
+      }
+      out.println(header);
+      for (Result result : results) {
+        StringBuilder row =
+            new StringBuilder(result.label)
+                .append(',')
+                .append(result.run)
+                .append(',')
+                .append(format(result.get(Result.STARTUP)))
+                .append(',')
+                .append(format(result.get(Result.FIRST_REQUEST)))
+                .append(',')
+                .append(format(result.get(Result.TIME_TO_FIRST_RESPONSE)));
+        for (String phase : phases) {
+          row.append(',');
+          if (result.phaseMillis.containsKey(phase)) {
+            row.append(format(result.phaseMillis.get(phase)));
+          }
+        }
+        out.println(row);
+      }
+    }
+  }
+
+  private static Set<String> phases(List<Result> results) {
+    Set<String> phases = new LinkedHashSet<>();
+    for (Result result : results) {
+      phases.addAll(result.phaseMillis.keySet());
+    }
+    return phases;
+  }
+
+  private static String format(double millis) {
+    return String.format(Locale.ROOT, "%.1f", millis);
+  }
+
+  private static class Result {
+    static final String STARTUP = "startup";
+    static final String FIRST_REQUEST = "first_request";
+    static final String TIME_TO_FIRST_RESPONSE = "time_to_first_response";
+
+    final String label;
+    final int run;
+    long startupNanos;
+    long firstRequestNanos;
+    long timeToFirstResponseNanos;
+    final Map<String, Double> phaseMillis = new LinkedHashMap<>();
+
+    Result(String label, int run) {
+      this.label = label;
+      this.run = run;
+    }
+
+    double get(String column) {
+      switch (column) {
+        case STARTUP:
+          return startupNanos / 1e6;
+        case FIRST_REQUEST:
+          return firstRequestNanos / 1e6;
+        case TIME_TO_FIRST_RESPONSE:
+          return timeToFirstResponseNanos / 1e6;
+        default:
+          Double phase = phaseMillis.get(column);
+          return phase == null ? 0 : phase;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return label
+          + " run "
+          + run
+          + ": startup "
+          + format(get(STARTUP))
+          + "ms, first request "
+          + format(get(FIRST_REQUEST))
+          + "ms, time to first response "
+          + format(get(TIME_TO_FIRST_RESPONSE))
+          + "ms"
+          + (phaseMillis.isEmpty() ? "" : ", agent phases (ms) " + phaseMillis);
+    }
+  }
+}
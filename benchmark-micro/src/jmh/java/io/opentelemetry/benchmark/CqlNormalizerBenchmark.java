@@ -0,0 +1,61 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo;
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+public class CqlNormalizerBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    @Param({"1", "10", "100"})
+    int batchSize;
+
+    String batch;
+
+    @Setup
+    public void setUp() {
+      StringBuilder sb = new StringBuilder("BEGIN UNLOGGED BATCH\n");
+      for (int i = 0; i < batchSize; i++) {
+        sb.append("  INSERT INTO benchmark.users (id, name, age, score, avatar, created) VALUES (")
+            .append(UUID.randomUUID())
+            .append(", 'user ''")
+            .append(i)
+            .append("''', ")
+            .append(20 + i % 50)
+            .append(", ")
+            .append(i * 0.25)
+            .append(", 0xcafebabe")
+            .append(Integer.toHexString(i))
+            .append(", 1600000000000) USING TTL 86400;\n");
+      }
+      batch = sb.append("APPLY BATCH").toString();
+    }
+  }
+
+  @Benchmark
+  public CqlStatementInfo normalizeBatchedInserts(BenchmarkState state) {
+    return CqlNormalizer.normalize(state.batch);
+  }
+}
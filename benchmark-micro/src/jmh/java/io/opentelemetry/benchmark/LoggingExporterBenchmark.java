@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.javaagent.exporters.logging.LoggingExporter;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.TracerSdkProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Exports batches of 10k spans with each {@link LoggingExporter.Format} to a null stream. */
+@State(Scope.Benchmark)
+public class LoggingExporterBenchmark {
+
+  private static final int BATCH_SIZE = 10_000;
+
+  @Param({"DEFAULT", "COMPACT", "JSON"})
+  public LoggingExporter.Format format;
+
+  private LoggingExporter exporter;
+  private List<SpanData> batch;
+
+  @Setup
+  public void setUp() {
+    Tracer tracer = TracerSdkProvider.builder().build().get("benchmark");
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      Span span =
+          tracer
+              .spanBuilder("GET /users/{id}")
+              .setSpanKind(Span.Kind.SERVER)
+              .setAttribute("http.method", "GET")
+              .setAttribute("http.url", "http://localhost:8080/users/" + i + "?q=\"quoted\"")
+              .setAttribute("http.status_code", 200)
+              .setAttribute("http.flavor", "1.1")
+              .setAttribute("net.peer.port", 54321)
+              .setAttribute("error", false)
+              .startSpan();
+      span.end();
+      batch.add(((ReadableSpan) span).toSpanData());
+    }
+    exporter =
+        new LoggingExporter(
+            "Logging Exporter:",
+            format,
+            new PrintStream(
+                new OutputStream() {
+                  @Override
+                  public void write(int b) {}
+
+                  @Override
+                  public void write(byte[] b, int off, int len) {}
+                }));
+  }
+
+  @Benchmark
+  public Object exportBatch() {
+    return exporter.export(batch);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.instrumentation.auto.rmi.context.ContextPayload;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.TraceFlags;
+import io.opentelemetry.trace.TraceId;
+import io.opentelemetry.trace.TraceState;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the binary RMI context payload with the legacy serialized map payload. */
+@State(Scope.Thread)
+public class RmiContextPayloadBenchmark {
+
+  private static final String TRACE_ID = "ff000000000000000000000000000041";
+  private static final String SPAN_ID = "ff00000000000041";
+
+  private SpanContext spanContext;
+  private Map<String, String> legacyContext;
+  private byte[] binaryPayload;
+  private byte[] legacyPayload;
+
+  @Setup
+  public void setUp() throws IOException {
+    spanContext =
+        SpanContext.create(
+            TraceId.fromLowerBase16(TRACE_ID, 0),
+            SpanId.fromLowerBase16(SPAN_ID, 0),
+            TraceFlags.fromByte((byte) 1),
+            TraceState.builder().set("vendor", "value").build());
+    legacyContext = new HashMap<>();
+    legacyContext.put("traceparent", "00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+    legacyContext.put("tracestate", "vendor=value");
+
+    binaryPayload = encodeBinary();
+    legacyPayload = encodeLegacy();
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      ContextPayload.writeBinary(spanContext, out);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] encodeLegacy() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      new ContextPayload(new HashMap<>(legacyContext)).write(out);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public SpanContext decodeBinary() throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(binaryPayload))) {
+      return ContextPayload.readBinary(in);
+    }
+  }
+
+  @Benchmark
+  public ContextPayload decodeLegacy() throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(legacyPayload))) {
+      return ContextPayload.read(in);
+    }
+  }
+}
@@ -43,9 +43,14 @@ public class ClassRetransformingBenchmark {
     state.inst.retransformClasses(TracedClass.class);
   }
 
-  @Fork(
-      jvmArgsAppend =
-          "-javaagent:/path/to/opentelemetry-java-instrumentation"
-              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
   public static class WithAgent extends ClassRetransformingBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        BenchmarkJvmArgs.AGENT,
+        BenchmarkJvmArgs.FILE_EXPORTER,
+        BenchmarkJvmArgs.FILE_EXPORTER_DIRECTORY
+      })
+  public static class WithAgentAndExporter extends ClassRetransformingBenchmark {}
 }
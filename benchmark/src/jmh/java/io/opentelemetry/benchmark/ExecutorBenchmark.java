@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures submitting a task to an {@link ExecutorService} and waiting for it, both without a
+ * current span and with one (in which case the agent propagates the context to the task).
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ExecutorBenchmark {
+
+  private static final Runnable TASK =
+      new Runnable() {
+        @Override
+        public void run() {}
+      };
+
+  private final Tracer tracer = OpenTelemetry.getTracer("io.opentelemetry.benchmark");
+  private ExecutorService executor;
+  private Span span;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    span = tracer.spanBuilder("parent").startSpan();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    span.end();
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Object testSubmit() throws ExecutionException, InterruptedException {
+    return executor.submit(TASK).get();
+  }
+
+  @Benchmark
+  public Object testSubmitWithCurrentSpan() throws ExecutionException, InterruptedException {
+    try (Scope ignored = tracer.withSpan(span)) {
+      return executor.submit(TASK).get();
+    }
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends ExecutorBenchmark {}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a unary gRPC call over the in-process transport.
+ *
+ * <p>The service uses a string marshaller so that no generated protobuf code is needed.
+ */
+@State(Scope.Benchmark)
+public class GrpcBenchmark {
+
+  private static final MethodDescriptor.Marshaller<String> MARSHALLER =
+      new MethodDescriptor.Marshaller<String>() {
+        @Override
+        public InputStream stream(String value) {
+          return new ByteArrayInputStream(value.getBytes(UTF_8));
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+          try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+              out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), UTF_8);
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+      };
+
+  private static final MethodDescriptor<String, String> ECHO =
+      MethodDescriptor.<String, String>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(MethodDescriptor.generateFullMethodName("benchmark.Echo", "Echo"))
+          .setRequestMarshaller(MARSHALLER)
+          .setResponseMarshaller(MARSHALLER)
+          .build();
+
+  private Server server;
+  private ManagedChannel channel;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    ServerServiceDefinition service =
+        ServerServiceDefinition.builder("benchmark.Echo")
+            .addMethod(
+                ECHO,
+                ServerCalls.asyncUnaryCall(
+                    new ServerCalls.UnaryMethod<String, String>() {
+                      @Override
+                      public void invoke(String request, StreamObserver<String> responseObserver) {
+                        responseObserver.onNext(request);
+                        responseObserver.onCompleted();
+                      }
+                    }))
+            .build();
+    server =
+        InProcessServerBuilder.forName("benchmark")
+            .directExecutor()
+            .addService(service)
+            .build()
+            .start();
+    channel = InProcessChannelBuilder.forName("benchmark").directExecutor().build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    channel.shutdownNow();
+    server.shutdownNow();
+  }
+
+  @Benchmark
+  public String testUnaryCall() {
+    return ClientCalls.blockingUnaryCall(channel, ECHO, CallOptions.DEFAULT, "ping");
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends GrpcBenchmark {}
+}
@@ -66,10 +66,14 @@ public class HttpBenchmark {
     state.http.executeRequest();
   }
 
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends HttpBenchmark {}
+
   @Fork(
       jvmArgsAppend = {
-        "-javaagent:/path/to/opentelemetry-java-instrumentation/java-agent/build/libs/opentelemetry-javaagent.jar",
-        "-Dotel.exporter=logging"
+        BenchmarkJvmArgs.AGENT,
+        BenchmarkJvmArgs.FILE_EXPORTER,
+        BenchmarkJvmArgs.FILE_EXPORTER_DIRECTORY
       })
-  public static class WithAgent extends ClassRetransformingBenchmark {}
+  public static class WithAgentAndExporter extends HttpBenchmark {}
 }
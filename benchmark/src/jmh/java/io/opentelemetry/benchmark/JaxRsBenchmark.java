@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.benchmark.classes.DeepJaxRsResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+public class JaxRsBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    final DeepJaxRsResource resource = new DeepJaxRsResource();
+  }
+
+  @Benchmark
+  public String testDeepHierarchyResource(BenchmarkState state) {
+    return state.resource.get("42");
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends JaxRsBenchmark {}
+}
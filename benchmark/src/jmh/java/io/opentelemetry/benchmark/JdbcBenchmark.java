@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Measures a single row query against an H2 in-memory database. */
+@State(Scope.Thread)
+public class JdbcBenchmark {
+
+  private Connection connection;
+  private Statement statement;
+  private PreparedStatement preparedStatement;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY, name VARCHAR(64))");
+      ddl.execute("MERGE INTO item VALUES (1, 'one')");
+    }
+    statement = connection.createStatement();
+    preparedStatement = connection.prepareStatement("SELECT name FROM item WHERE id = ?");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    preparedStatement.close();
+    statement.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public String testStatement() throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery("SELECT name FROM item WHERE id = 1")) {
+      return resultSet.next() ? resultSet.getString(1) : null;
+    }
+  }
+
+  @Benchmark
+  public String testPreparedStatement() throws SQLException {
+    preparedStatement.setInt(1, 1);
+    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+      return resultSet.next() ? resultSet.getString(1) : null;
+    }
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends JdbcBenchmark {}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import java.util.Collections;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures polling and iterating a batch of records from a {@link MockConsumer}.
+ *
+ * <p>The agent instruments record iteration on {@link ConsumerRecords}, which {@link MockConsumer}
+ * shares with the real consumer. The producer side is not covered: the agent only instruments
+ * {@code KafkaProducer}, so a {@code MockProducer} would not be traced.
+ */
+@State(Scope.Thread)
+public class KafkaConsumerBenchmark {
+
+  private static final int BATCH_SIZE = 10;
+
+  private final TopicPartition partition = new TopicPartition("benchmark", 0);
+  private MockConsumer<String, String> consumer;
+  private long offset;
+
+  @Setup
+  public void setUp() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.assign(Collections.singletonList(partition));
+    consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+  }
+
+  @Benchmark
+  public void testPollAndIterate(Blackhole blackhole) {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      consumer.addRecord(
+          new ConsumerRecord<>(partition.topic(), partition.partition(), offset++, "key", "value"));
+    }
+    ConsumerRecords<String, String> records = consumer.poll(0);
+    for (ConsumerRecord<String, String> record : records) {
+      blackhole.consume(record.value());
+    }
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends KafkaConsumerBenchmark {}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures an HTTP request passing through a Netty server pipeline on an {@link EmbeddedChannel},
+ * from the raw request bytes to the encoded response.
+ */
+@State(Scope.Thread)
+public class NettyHttpBenchmark {
+
+  private static final ByteBuf REQUEST =
+      Unpooled.unreleasableBuffer(
+          Unpooled.copiedBuffer("GET /hello HTTP/1.1\r\nHost: localhost\r\n\r\n", US_ASCII));
+
+  private EmbeddedChannel channel;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    channel = new EmbeddedChannel(new HttpServerCodec(), new HelloHandler());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Benchmark
+  public int testRequest() {
+    channel.writeInbound(REQUEST.duplicate());
+    int bytes = 0;
+    Object response;
+    while ((response = channel.readOutbound()) != null) {
+      bytes += ((ByteBuf) response).readableBytes();
+      ReferenceCountUtil.release(response);
+    }
+    return bytes;
+  }
+
+  private static class HelloHandler extends SimpleChannelInboundHandler<HttpObject> {
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+      if (msg instanceof HttpRequest) {
+        FullHttpResponse response =
+            new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("Hello", US_ASCII));
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        ctx.writeAndFlush(response);
+      }
+    }
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends NettyHttpBenchmark {}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a request through a servlet filter chain, using Jetty's in-memory {@link
+ * LocalConnector} so that no socket is involved.
+ */
+@State(Scope.Benchmark)
+public class ServletFilterBenchmark {
+
+  private static final String REQUEST =
+      "GET /hello HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+  private static final int FILTER_COUNT = 3;
+
+  private Server server;
+  private LocalConnector connector;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    System.setProperty("org.eclipse.jetty.util.log.class", "org.eclipse.jetty.util.log.StdErrLog");
+    System.setProperty("org.eclipse.jetty.LEVEL", "WARN");
+
+    server = new Server();
+    connector = new LocalConnector(server);
+    server.addConnector(connector);
+
+    ServletContextHandler context = new ServletContextHandler();
+    for (int i = 0; i < FILTER_COUNT; i++) {
+      context.addFilter(PassThroughFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
+    }
+    context.addServlet(HelloServlet.class, "/hello");
+    server.setHandler(context);
+    server.start();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    server.stop();
+    server.destroy();
+  }
+
+  @Benchmark
+  public String testFilterChain() throws Exception {
+    return connector.getResponse(REQUEST);
+  }
+
+  public static class PassThroughFilter implements Filter {
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+      chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {}
+  }
+
+  public static class HelloServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+      resp.setContentType("text/plain");
+      resp.setStatus(HttpServletResponse.SC_OK);
+      resp.getWriter().print("Hello");
+    }
+  }
+
+  @Fork(jvmArgsAppend = {BenchmarkJvmArgs.AGENT, BenchmarkJvmArgs.NO_EXPORTER})
+  public static class WithAgent extends ServletFilterBenchmark {}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Measures class loading with a large {@code otel.trace.methods} configuration.
+ *
+ * <p>The configuration is written by the {@code generateTraceConfig} gradle task: 1000 entries
+ * (exact class names and package wildcards) of which only a handful match classes loaded by {@link
+ * TypeMatchingBenchmark#loadLotsOfClasses()}. Compare against {@link
+ * TypeMatchingBenchmark.WithAgent} to see the cost of the configuration itself.
+ */
+public class TraceConfigBenchmark {
+
+  @Fork(
+      jvmArgsAppend = {
+        BenchmarkJvmArgs.AGENT,
+        BenchmarkJvmArgs.NO_EXPORTER,
+        BenchmarkJvmArgs.TRACE_CONFIG
+      })
+  public static class WithAgent extends TypeMatchingBenchmark {}
+}
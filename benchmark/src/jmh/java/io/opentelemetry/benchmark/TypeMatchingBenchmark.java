@@ -34,7 +34,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
 
 @BenchmarkMode(Mode.SingleShotTime)
-@Fork(5)
+@Fork(value = 5, jvmArgsAppend = BenchmarkJvmArgs.TYPE_MATCHING_JARS)
 @Warmup(iterations = 0)
 @Measurement(iterations = 1)
 @OutputTimeUnit(MILLISECONDS)
@@ -44,11 +44,9 @@ public class TypeMatchingBenchmark {
 
   static {
     classNames = new HashSet<>();
-    String classPath = System.getProperty("java.class.path");
-    for (String path : classPath.split(File.pathSeparator)) {
-      if (!path.endsWith(".jar")) {
-        continue;
-      }
+    // the jars are fixed by the build, the classes themselves are loaded from the benchmark jar
+    String jars = System.getProperty("otel.benchmark.type-matching.jars");
+    for (String path : jars.split(File.pathSeparator)) {
       try (JarFile jarFile = new JarFile(path)) {
         Enumeration<JarEntry> e = jarFile.entries();
         while (e.hasMoreElements()) {
@@ -78,8 +76,19 @@ public class TypeMatchingBenchmark {
   }
 
   @Fork(
-      jvmArgsAppend =
-          "-javaagent:/path/to/opentelemetry-java-instrumentation"
-              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+      jvmArgsAppend = {
+        BenchmarkJvmArgs.TYPE_MATCHING_JARS,
+        BenchmarkJvmArgs.AGENT,
+        BenchmarkJvmArgs.NO_EXPORTER
+      })
   public static class WithAgent extends TypeMatchingBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        BenchmarkJvmArgs.TYPE_MATCHING_JARS,
+        BenchmarkJvmArgs.AGENT,
+        BenchmarkJvmArgs.FILE_EXPORTER,
+        BenchmarkJvmArgs.FILE_EXPORTER_DIRECTORY
+      })
+  public static class WithAgentAndExporter extends TypeMatchingBenchmark {}
 }
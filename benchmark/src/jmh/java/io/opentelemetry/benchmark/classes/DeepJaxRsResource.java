@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.benchmark.classes;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * JAX-RS resource whose {@code @Path} and HTTP method annotations are declared several levels up
+ * the type hierarchy, so resolving its span name requires walking all of it.
+ */
+public class DeepJaxRsResource extends DeepJaxRsResource.Level4 {
+
+  @Override
+  public String get(String id) {
+    return id;
+  }
+
+  @Path("/api")
+  public interface Api {
+    @GET
+    @Path("/items/{id}")
+    String get(@PathParam("id") String id);
+  }
+
+  public interface VersionedApi extends Api {}
+
+  public abstract static class Level1 implements VersionedApi {}
+
+  public abstract static class Level2 extends Level1 {}
+
+  public abstract static class Level3 extends Level2 {}
+
+  public abstract static class Level4 extends Level3 {}
+}
@@ -109,6 +109,50 @@ public class Config {
   public static final String SQL_NORMALIZER_ENABLED = "sql.normalizer.enabled";
   public static final boolean DEFAULT_SQL_NORMALIZER_ENABLED = true;
 
+  public static final String SERVLET_RESPONSE_CONTENT_LENGTH_ENABLED =
+      "servlet.response.content-length.enabled";
+  public static final boolean DEFAULT_SERVLET_RESPONSE_CONTENT_LENGTH_ENABLED = false;
+
+  public static final String REDIS_KEY_CAPTURE_ENABLED = "redis.key-capture.enabled";
+  public static final boolean DEFAULT_REDIS_KEY_CAPTURE_ENABLED = false;
+
+  public static final String LETTUCE_PIPELINE_TRACING_ENABLED = "lettuce.pipeline-tracing.enabled";
+  public static final boolean DEFAULT_LETTUCE_PIPELINE_TRACING_ENABLED = false;
+
+  public static final String INSTRUMENTER_LOADER_THREADS = "instrumenter.loader.threads";
+  public static final int DEFAULT_INSTRUMENTER_LOADER_THREADS = 4;
+
+  public static final String STARTUP_TIMINGS_FILE = "startup.timings.file";
+  public static final String DEFAULT_STARTUP_TIMINGS_FILE = null;
+
+  public static final String INSTRUMENTER_STATS_ENABLED = "instrumenter.stats.enabled";
+  public static final boolean DEFAULT_INSTRUMENTER_STATS_ENABLED = false;
+
+  public static final String ADVICE_METRICS_ENABLED = "advice.metrics.enabled";
+  public static final boolean DEFAULT_ADVICE_METRICS_ENABLED = false;
+
+  public static final String TAIL_SAMPLING_ENABLED = "tail.sampling.enabled";
+  public static final boolean DEFAULT_TAIL_SAMPLING_ENABLED = false;
+
+  public static final String TAIL_SAMPLING_LATENCY_THRESHOLD_MS =
+      "tail.sampling.latency.threshold.ms";
+  public static final int DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD_MS = 1000;
+
+  public static final String TAIL_SAMPLING_RATIO = "tail.sampling.ratio";
+  public static final double DEFAULT_TAIL_SAMPLING_RATIO = 0.01;
+
+  public static final String TAIL_SAMPLING_MAX_BUFFERED_SPANS = "tail.sampling.max.buffered.spans";
+  public static final int DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS = 20000;
+
+  public static final String TAIL_SAMPLING_ATTRIBUTES = "tail.sampling.attributes";
+
+  public static final String THREAD_DETAILS_ENABLED = "thread.details.enabled";
+  public static final boolean DEFAULT_THREAD_DETAILS_ENABLED = true;
+
+  public static final String THREAD_DETAILS_WITHOUT_CURRENT_SPAN_ONLY =
+      "thread.details.without.current.span.only";
+  public static final boolean DEFAULT_THREAD_DETAILS_WITHOUT_CURRENT_SPAN_ONLY = false;
+
   private final String exporterJar;
   private final String exporter;
   private final List<String> propagators;
@@ -134,6 +178,34 @@ public class Config {
 
   private final Map<String, String> endpointPeerServiceMapping;
 
+  private final boolean servletResponseContentLengthEnabled;
+
+  private final boolean redisKeyCaptureEnabled;
+
+  private final boolean lettucePipelineTracingEnabled;
+
+  private final Integer instrumenterLoaderThreads;
+
+  private final String startupTimingsFile;
+
+  private final boolean instrumenterStatsEnabled;
+
+  private final boolean adviceMetricsEnabled;
+
+  private final boolean tailSamplingEnabled;
+
+  private final Integer tailSamplingLatencyThresholdMs;
+
+  private final Double tailSamplingRatio;
+
+  private final Integer tailSamplingMaxBufferedSpans;
+
+  private final Map<String, String> tailSamplingAttributes;
+
+  private final boolean threadDetailsEnabled;
+
+  private final boolean threadDetailsWithoutCurrentSpanOnly;
+
   // Values from an optionally provided properties file
   private static Properties propertiesFromConfigFile;
 
@@ -187,6 +259,57 @@ public class Config {
 
     endpointPeerServiceMapping = getMapSettingFromEnvironment(ENDPOINT_PEER_SERVICE_MAPPING);
 
+    servletResponseContentLengthEnabled =
+        getBooleanSettingFromEnvironment(
+            SERVLET_RESPONSE_CONTENT_LENGTH_ENABLED,
+            DEFAULT_SERVLET_RESPONSE_CONTENT_LENGTH_ENABLED);
+
+    redisKeyCaptureEnabled =
+        getBooleanSettingFromEnvironment(
+            REDIS_KEY_CAPTURE_ENABLED, DEFAULT_REDIS_KEY_CAPTURE_ENABLED);
+
+    lettucePipelineTracingEnabled =
+        getBooleanSettingFromEnvironment(
+            LETTUCE_PIPELINE_TRACING_ENABLED, DEFAULT_LETTUCE_PIPELINE_TRACING_ENABLED);
+
+    instrumenterLoaderThreads =
+        getIntegerSettingFromEnvironment(
+            INSTRUMENTER_LOADER_THREADS, DEFAULT_INSTRUMENTER_LOADER_THREADS);
+
+    startupTimingsFile =
+        getSettingFromEnvironment(STARTUP_TIMINGS_FILE, DEFAULT_STARTUP_TIMINGS_FILE);
+
+    instrumenterStatsEnabled =
+        getBooleanSettingFromEnvironment(
+            INSTRUMENTER_STATS_ENABLED, DEFAULT_INSTRUMENTER_STATS_ENABLED);
+
+    adviceMetricsEnabled =
+        getBooleanSettingFromEnvironment(ADVICE_METRICS_ENABLED, DEFAULT_ADVICE_METRICS_ENABLED);
+
+    tailSamplingEnabled =
+        getBooleanSettingFromEnvironment(TAIL_SAMPLING_ENABLED, DEFAULT_TAIL_SAMPLING_ENABLED);
+
+    tailSamplingLatencyThresholdMs =
+        getIntegerSettingFromEnvironment(
+            TAIL_SAMPLING_LATENCY_THRESHOLD_MS, DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD_MS);
+
+    tailSamplingRatio =
+        getDoubleSettingFromEnvironment(TAIL_SAMPLING_RATIO, DEFAULT_TAIL_SAMPLING_RATIO);
+
+    tailSamplingMaxBufferedSpans =
+        getIntegerSettingFromEnvironment(
+            TAIL_SAMPLING_MAX_BUFFERED_SPANS, DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS);
+
+    tailSamplingAttributes = getMapSettingFromEnvironment(TAIL_SAMPLING_ATTRIBUTES);
+
+    threadDetailsEnabled =
+        getBooleanSettingFromEnvironment(THREAD_DETAILS_ENABLED, DEFAULT_THREAD_DETAILS_ENABLED);
+
+    threadDetailsWithoutCurrentSpanOnly =
+        getBooleanSettingFromEnvironment(
+            THREAD_DETAILS_WITHOUT_CURRENT_SPAN_ONLY,
+            DEFAULT_THREAD_DETAILS_WITHOUT_CURRENT_SPAN_ONLY);
+
     log.debug("New instance: {}", this);
   }
 
@@ -241,6 +364,59 @@ public class Config {
         getPropertyMapValue(
             properties, ENDPOINT_PEER_SERVICE_MAPPING, parent.endpointPeerServiceMapping);
 
+    servletResponseContentLengthEnabled =
+        getPropertyBooleanValue(
+            properties,
+            SERVLET_RESPONSE_CONTENT_LENGTH_ENABLED,
+            parent.servletResponseContentLengthEnabled);
+
+    redisKeyCaptureEnabled =
+        getPropertyBooleanValue(
+            properties, REDIS_KEY_CAPTURE_ENABLED, parent.redisKeyCaptureEnabled);
+
+    lettucePipelineTracingEnabled =
+        getPropertyBooleanValue(
+            properties, LETTUCE_PIPELINE_TRACING_ENABLED, parent.lettucePipelineTracingEnabled);
+
+    instrumenterLoaderThreads =
+        getPropertyIntegerValue(
+            properties, INSTRUMENTER_LOADER_THREADS, parent.instrumenterLoaderThreads);
+
+    startupTimingsFile = properties.getProperty(STARTUP_TIMINGS_FILE, parent.startupTimingsFile);
+
+    instrumenterStatsEnabled =
+        getPropertyBooleanValue(
+            properties, INSTRUMENTER_STATS_ENABLED, parent.instrumenterStatsEnabled);
+
+    adviceMetricsEnabled =
+        getPropertyBooleanValue(properties, ADVICE_METRICS_ENABLED, parent.adviceMetricsEnabled);
+
+    tailSamplingEnabled =
+        getPropertyBooleanValue(properties, TAIL_SAMPLING_ENABLED, parent.tailSamplingEnabled);
+
+    tailSamplingLatencyThresholdMs =
+        getPropertyIntegerValue(
+            properties, TAIL_SAMPLING_LATENCY_THRESHOLD_MS, parent.tailSamplingLatencyThresholdMs);
+
+    tailSamplingRatio =
+        getPropertyDoubleValue(properties, TAIL_SAMPLING_RATIO, parent.tailSamplingRatio);
+
+    tailSamplingMaxBufferedSpans =
+        getPropertyIntegerValue(
+            properties, TAIL_SAMPLING_MAX_BUFFERED_SPANS, parent.tailSamplingMaxBufferedSpans);
+
+    tailSamplingAttributes =
+        getPropertyMapValue(properties, TAIL_SAMPLING_ATTRIBUTES, parent.tailSamplingAttributes);
+
+    threadDetailsEnabled =
+        getPropertyBooleanValue(properties, THREAD_DETAILS_ENABLED, parent.threadDetailsEnabled);
+
+    threadDetailsWithoutCurrentSpanOnly =
+        getPropertyBooleanValue(
+            properties,
+            THREAD_DETAILS_WITHOUT_CURRENT_SPAN_ONLY,
+            parent.threadDetailsWithoutCurrentSpanOnly);
+
     log.debug("New instance: {}", this);
   }
 
@@ -322,6 +498,13 @@ public class Config {
     return getSettingFromEnvironmentWithLog(name, Integer.class, defaultValue);
   }
 
+  /**
+   * Calls {@link #getSettingFromEnvironment(String, String)} and converts the result to a Double.
+   */
+  private static Double getDoubleSettingFromEnvironment(String name, Double defaultValue) {
+    return getSettingFromEnvironmentWithLog(name, Double.class, defaultValue);
+  }
+
   private static <T> T getSettingFromEnvironmentWithLog(
       String name, Class<T> tClass, T defaultValue) {
     try {
@@ -406,6 +589,11 @@ public class Config {
     return valueOf(properties.getProperty(name), Integer.class, defaultValue);
   }
 
+  private static Double getPropertyDoubleValue(
+      Properties properties, String name, Double defaultValue) {
+    return valueOf(properties.getProperty(name), Double.class, defaultValue);
+  }
+
   private static List<String> parseList(String str) {
     if (str == null || str.trim().isEmpty()) {
       return Collections.emptyList();
@@ -571,6 +759,62 @@ public class Config {
     return endpointPeerServiceMapping;
   }
 
+  public boolean isServletResponseContentLengthEnabled() {
+    return servletResponseContentLengthEnabled;
+  }
+
+  public boolean isRedisKeyCaptureEnabled() {
+    return redisKeyCaptureEnabled;
+  }
+
+  public boolean isLettucePipelineTracingEnabled() {
+    return lettucePipelineTracingEnabled;
+  }
+
+  public Integer getInstrumenterLoaderThreads() {
+    return instrumenterLoaderThreads;
+  }
+
+  public String getStartupTimingsFile() {
+    return startupTimingsFile;
+  }
+
+  public boolean isInstrumenterStatsEnabled() {
+    return instrumenterStatsEnabled;
+  }
+
+  public boolean isAdviceMetricsEnabled() {
+    return adviceMetricsEnabled;
+  }
+
+  public boolean isTailSamplingEnabled() {
+    return tailSamplingEnabled;
+  }
+
+  public Integer getTailSamplingLatencyThresholdMs() {
+    return tailSamplingLatencyThresholdMs;
+  }
+
+  public Double getTailSamplingRatio() {
+    return tailSamplingRatio;
+  }
+
+  public Integer getTailSamplingMaxBufferedSpans() {
+    return tailSamplingMaxBufferedSpans;
+  }
+
+  public Map<String, String> getTailSamplingAttributes() {
+    return tailSamplingAttributes;
+  }
+
+  public boolean isThreadDetailsEnabled() {
+    return threadDetailsEnabled;
+  }
+
+  public boolean isThreadDetailsWithoutCurrentSpanOnly() {
+    return threadDetailsWithoutCurrentSpanOnly;
+  }
+
   @Override
   public String toString() {
     return "Config{"
@@ -615,6 +859,36 @@ public class Config {
         + kafkaClientPropagationEnabled
         + ", endpointPeerServiceMapping="
         + endpointPeerServiceMapping
+        + ", servletResponseContentLengthEnabled="
+        + servletResponseContentLengthEnabled
+        + ", redisKeyCaptureEnabled="
+        + redisKeyCaptureEnabled
+        + ", lettucePipelineTracingEnabled="
+        + lettucePipelineTracingEnabled
+        + ", instrumenterLoaderThreads="
+        + instrumenterLoaderThreads
+        + ", startupTimingsFile='"
+        + startupTimingsFile
+        + '\''
+        + ", instrumenterStatsEnabled="
+        + instrumenterStatsEnabled
+        + ", adviceMetricsEnabled="
+        + adviceMetricsEnabled
+        + ", tailSamplingEnabled="
+        + tailSamplingEnabled
+        + ", tailSamplingLatencyThresholdMs="
+        + tailSamplingLatencyThresholdMs
+        + ", tailSamplingRatio='"
+        + tailSamplingRatio
+        + '\''
+        + ", tailSamplingMaxBufferedSpans="
+        + tailSamplingMaxBufferedSpans
+        + ", tailSamplingAttributes="
+        + tailSamplingAttributes
+        + ", threadDetailsEnabled="
+        + threadDetailsEnabled
+        + ", threadDetailsWithoutCurrentSpanOnly="
+        + threadDetailsWithoutCurrentSpanOnly
         + '}';
   }
 }
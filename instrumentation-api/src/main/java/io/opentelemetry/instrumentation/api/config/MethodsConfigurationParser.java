@@ -28,7 +28,8 @@ public class MethodsConfigurationParser {
 
   private static final Logger log = LoggerFactory.getLogger(MethodsConfigurationParser.class);
 
-  static final String PACKAGE_CLASS_NAME_REGEX = "[\\w.$]+";
+  // a class name, or a package name followed by a ".*" wildcard
+  static final String PACKAGE_CLASS_NAME_REGEX = "[\\w.$]+(?:\\.\\*)?";
   private static final String METHOD_LIST_REGEX = "\\s*(?:\\w+\\s*,)*\\s*(?:\\w+\\s*,?)\\s*";
   private static final String CONFIG_FORMAT =
       "(?:\\s*"
@@ -44,7 +45,8 @@ public class MethodsConfigurationParser {
   /**
    * This method takes a string in a form of {@code
    * "io.package.ClassName[method1,method2];my.example[someMethodName];"} and returns a map where
-   * keys are class names and corresponding value is a set of methods for that class.
+   * keys are class names and corresponding value is a set of methods for that class. A key may
+   * also be a package wildcard like {@code my.example.*}, which is kept as is.
    *
    * <p>Strings of such format are used e.g. to configure {@link Config#getTraceMethods()} and
    * {@link Config#getTraceAnnotatedMethodsExclude()}
@@ -46,7 +46,7 @@ public abstract class DatabaseClientTracer<CONNECTION, QUERY> extends BaseTracer
 
     Span span =
         tracer
-            .spanBuilder(spanName(normalizedQuery))
+            .spanBuilder(spanName(connection, query, normalizedQuery))
             .setSpanKind(CLIENT)
             .setAttribute(SemanticAttributes.DB_SYSTEM.key(), dbSystem(connection))
             .startSpan();
@@ -125,6 +125,14 @@ public abstract class DatabaseClientTracer<CONNECTION, QUERY> extends BaseTracer
     span.setAttribute(SemanticAttributes.DB_STATEMENT.key(), statement);
   }
 
+  /**
+   * Override when the span name can be derived from something more meaningful than the normalized
+   * query, e.g. the operation and the table it targets.
+   */
+  protected String spanName(CONNECTION connection, QUERY query, String normalizedQuery) {
+    return spanName(normalizedQuery);
+  }
+
   // TODO: "When it's impossible to get any meaningful representation of the span name, it can be
   // populated using the same value as db.name" (c) spec
   protected String spanName(String query) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.api.tracer.utils;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a bounded, keys-only {@code db.statement} for redis commands, e.g. {@code MGET k1 k2}.
+ *
+ * <p>Values are never written: only the argument positions that the redis command table declares
+ * as keys are used. At most {@link #MAX_KEYS} keys are written, each truncated to {@link
+ * #MAX_KEY_LENGTH} bytes, and any byte outside of printable ASCII is replaced with {@code ?}.
+ */
+public final class RedisCommandKeys {
+
+  public static final int MAX_KEYS = 8;
+  public static final int MAX_KEY_LENGTH = 64;
+
+  private static final String ELLIPSIS = "...";
+
+  // first key, last key (negative values count from the end) and step, over the arguments that
+  // follow the command name; see https://redis.io/commands/command
+  private static final Map<String, int[]> KEY_POSITIONS = new HashMap<>();
+
+  static {
+    keys(
+        0,
+        0,
+        1,
+        "APPEND",
+        "BITCOUNT",
+        "BITPOS",
+        "DECR",
+        "DECRBY",
+        "DUMP",
+        "EXPIRE",
+        "EXPIREAT",
+        "GEOADD",
+        "GEODIST",
+        "GEOHASH",
+        "GEOPOS",
+        "GEORADIUS",
+        "GEORADIUSBYMEMBER",
+        "GET",
+        "GETBIT",
+        "GETRANGE",
+        "GETSET",
+        "HDEL",
+        "HEXISTS",
+        "HGET",
+        "HGETALL",
+        "HINCRBY",
+        "HINCRBYFLOAT",
+        "HKEYS",
+        "HLEN",
+        "HMGET",
+        "HMSET",
+        "HSCAN",
+        "HSET",
+        "HSETNX",
+        "HSTRLEN",
+        "HVALS",
+        "INCR",
+        "INCRBY",
+        "INCRBYFLOAT",
+        "LINDEX",
+        "LINSERT",
+        "LLEN",
+        "LPOP",
+        "LPUSH",
+        "LPUSHX",
+        "LRANGE",
+        "LREM",
+        "LSET",
+        "LTRIM",
+        "PERSIST",
+        "PEXPIRE",
+        "PEXPIREAT",
+        "PFADD",
+        "PSETEX",
+        "PTTL",
+        "RESTORE",
+        "RPOP",
+        "RPUSH",
+        "RPUSHX",
+        "SADD",
+        "SCARD",
+        "SET",
+        "SETBIT",
+        "SETEX",
+        "SETNX",
+        "SETRANGE",
+        "SISMEMBER",
+        "SMEMBERS",
+        "SORT",
+        "SPOP",
+        "SRANDMEMBER",
+        "SREM",
+        "SSCAN",
+        "STRLEN",
+        "TTL",
+        "TYPE",
+        "XADD",
+        "XDEL",
+        "XLEN",
+        "XRANGE",
+        "XREVRANGE",
+        "XTRIM",
+        "ZADD",
+        "ZCARD",
+        "ZCOUNT",
+        "ZINCRBY",
+        "ZLEXCOUNT",
+        "ZRANGE",
+        "ZRANGEBYLEX",
+        "ZRANGEBYSCORE",
+        "ZRANK",
+        "ZREM",
+        "ZREMRANGEBYLEX",
+        "ZREMRANGEBYRANK",
+        "ZREMRANGEBYSCORE",
+        "ZREVRANGE",
+        "ZREVRANGEBYLEX",
+        "ZREVRANGEBYSCORE",
+        "ZREVRANK",
+        "ZSCAN",
+        "ZSCORE");
+    keys(
+        0,
+        -1,
+        1,
+        "DEL",
+        "EXISTS",
+        "MGET",
+        "PFCOUNT",
+        "PFMERGE",
+        "SDIFF",
+        "SDIFFSTORE",
+        "SINTER",
+        "SINTERSTORE",
+        "SUNION",
+        "SUNIONSTORE",
+        "TOUCH",
+        "UNLINK",
+        "WATCH");
+    keys(0, -1, 2, "MSET", "MSETNX");
+    keys(0, -2, 1, "BLPOP", "BRPOP", "BZPOPMAX", "BZPOPMIN");
+    keys(0, 1, 1, "BRPOPLPUSH", "RENAME", "RENAMENX", "RPOPLPUSH", "SMOVE");
+    keys(1, -1, 1, "BITOP");
+  }
+
+  private static void keys(int first, int last, int step, String... commands) {
+    int[] positions = new int[] {first, last, step};
+    for (String command : commands) {
+      KEY_POSITIONS.put(command, positions);
+    }
+  }
+
+  /**
+   * Returns the command name followed by the keys found in {@code args}, or just the command name
+   * if the command is not known to take keys.
+   */
+  public static String statement(String command, byte[][] args) {
+    int[] positions = KEY_POSITIONS.get(command);
+    if (positions == null || args == null || args.length <= positions[0]) {
+      return command;
+    }
+    int last = positions[1] < 0 ? args.length + positions[1] : positions[1];
+    if (last >= args.length) {
+      last = args.length - 1;
+    }
+
+    StringBuilder sb = new StringBuilder(command.length() + 32);
+    sb.append(command);
+    int written = 0;
+    for (int i = positions[0]; i <= last; i += positions[2]) {
+      if (written == MAX_KEYS) {
+        sb.append(' ').append(ELLIPSIS);
+        break;
+      }
+      byte[] key = args[i];
+      sb.append(' ');
+      if (key != null) {
+        appendKey(sb, key);
+      }
+      written++;
+    }
+    return sb.toString();
+  }
+
+  /** Returns the command name followed by the given encoded key. */
+  public static String statement(String command, ByteBuffer key) {
+    StringBuilder sb = new StringBuilder(command.length() + 32);
+    sb.append(command).append(' ');
+    int end = Math.min(key.limit(), key.position() + MAX_KEY_LENGTH);
+    for (int i = key.position(); i < end; i++) {
+      appendSanitized(sb, key.get(i));
+    }
+    if (key.remaining() > MAX_KEY_LENGTH) {
+      sb.append(ELLIPSIS);
+    }
+    return sb.toString();
+  }
+
+  private static void appendKey(StringBuilder sb, byte[] key) {
+    int end = Math.min(key.length, MAX_KEY_LENGTH);
+    for (int i = 0; i < end; i++) {
+      appendSanitized(sb, key[i]);
+    }
+    if (key.length > MAX_KEY_LENGTH) {
+      sb.append(ELLIPSIS);
+    }
+  }
+
+  private static void appendSanitized(StringBuilder sb, byte b) {
+    sb.append(b > ' ' && b < 0x7f ? (char) b : '?');
+  }
+
+  private RedisCommandKeys() {}
+}
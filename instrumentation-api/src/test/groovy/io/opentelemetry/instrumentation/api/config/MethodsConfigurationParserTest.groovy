@@ -36,5 +36,9 @@ class MethodsConfigurationParserTest extends Specification {
     "ClassName[method1 , method2]"                                  | ["ClassName": ["method1", "method2"].toSet()]
     "Class\$1[method1 ] ; Class\$2[ method2];"                      | ["Class\$1": ["method1"].toSet(), "Class\$2": ["method2"].toSet()]
     "Duplicate[method1] ; Duplicate[method2]  ;Duplicate[method3];" | ["Duplicate": ["method3"].toSet()]
+    "some.package.*[method1,method2]"                               | ["some.package.*": ["method1", "method2"].toSet()]
+    "some.package.*[method1];ClassName[method2]"                    | ["some.package.*": ["method1"].toSet(), "ClassName": ["method2"].toSet()]
+    "some.*.ClassName[method]"                                      | [:]
+    "*[method]"                                                     | [:]
   }
 }
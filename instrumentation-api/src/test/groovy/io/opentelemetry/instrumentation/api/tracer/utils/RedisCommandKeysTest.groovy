@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.api.tracer.utils
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import spock.lang.Specification
+
+class RedisCommandKeysTest extends Specification {
+
+  def "#command #args -> #expected"() {
+    expect:
+    RedisCommandKeys.statement(command, bytes(args)) == expected
+
+    where:
+    command  | args                                 | expected
+    "GET"    | ["foo"]                              | "GET foo"
+    "SET"    | ["foo", "secret"]                    | "SET foo"
+    "HSET"   | ["hash", "field", "secret"]          | "HSET hash"
+    "MGET"   | ["a", "b", "c"]                      | "MGET a b c"
+    "MSET"   | ["a", "1", "b", "2"]                 | "MSET a b"
+    "BLPOP"  | ["a", "b", "5"]                      | "BLPOP a b"
+    "BITOP"  | ["AND", "dest", "src"]               | "BITOP dest src"
+    "DEL"    | (1..10).collect { "k$it".toString() } | "DEL k1 k2 k3 k4 k5 k6 k7 k8 ..."
+    "AUTH"   | ["password"]                         | "AUTH"
+    "EVAL"   | ["return 1", "0"]                    | "EVAL"
+    "PING"   | []                                   | "PING"
+    "GET"    | ["with space\n"]                     | "GET with?space?"
+  }
+
+  def "long keys are truncated"() {
+    setup:
+    def key = "k" * 100
+
+    expect:
+    RedisCommandKeys.statement("GET", bytes([key])) == "GET " + key.substring(0, RedisCommandKeys.MAX_KEY_LENGTH) + "..."
+  }
+
+  def "non ascii bytes are replaced"() {
+    expect:
+    RedisCommandKeys.statement("GET", bytes(["ключ"])) == "GET ????????"
+  }
+
+  def "encoded key"() {
+    setup:
+    def buffer = ByteBuffer.wrap("xxfoo".getBytes(StandardCharsets.UTF_8))
+    buffer.position(2)
+
+    expect:
+    RedisCommandKeys.statement("GET", buffer) == "GET foo"
+    buffer.position() == 2
+  }
+
+  def bytes(List<String> args) {
+    return args.collect { it.getBytes(StandardCharsets.UTF_8) } as byte[][]
+  }
+}
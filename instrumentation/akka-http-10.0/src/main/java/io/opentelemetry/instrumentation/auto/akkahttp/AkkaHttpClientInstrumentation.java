@@ -29,6 +29,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap.Depth;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +47,11 @@ public final class AkkaHttpClientInstrumentation extends Instrumenter.Default {
     super("akka-http", "akka-http-client");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("akka.http.scaladsl.HttpExt");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("akka.http.scaladsl.HttpExt");
@@ -26,6 +26,7 @@ import akka.stream.Materializer;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,6 +45,11 @@ public final class AkkaHttpServerInstrumentation extends Instrumenter.Default {
     super("akka-http", "akka-http-server");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("akka.http.scaladsl.HttpExt");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("akka.http.scaladsl.HttpExt");
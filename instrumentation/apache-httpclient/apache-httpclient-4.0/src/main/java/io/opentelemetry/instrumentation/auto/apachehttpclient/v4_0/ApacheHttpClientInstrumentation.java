@@ -50,8 +50,8 @@ public class ApacheHttpClientInstrumentation extends Instrumenter.Default {
   }
 
   @Override
-  public ElementMatcher<ClassLoader> classLoaderMatcher() {
-    // Optimization for expensive typeMatcher.
+  public ElementMatcher<ClassLoader> classLoaderTrigger() {
+    // Optimization for expensive typeMatcher, also defers building the transformers.
     return hasClassesNamed("org.apache.http.client.HttpClient");
   }
 
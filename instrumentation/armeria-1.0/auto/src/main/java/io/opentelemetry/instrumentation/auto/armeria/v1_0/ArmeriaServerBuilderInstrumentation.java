@@ -26,6 +26,7 @@ import com.google.auto.service.AutoService;
 import com.linecorp.armeria.server.ServerBuilder;
 import io.opentelemetry.instrumentation.armeria.v1_0.server.OpenTelemetryService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -37,6 +38,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 @AutoService(Instrumenter.class)
 public class ArmeriaServerBuilderInstrumentation extends AbstractArmeriaInstrumentation {
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.linecorp.armeria.server.ServerBuilder");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("com.linecorp.armeria.server.ServerBuilder");
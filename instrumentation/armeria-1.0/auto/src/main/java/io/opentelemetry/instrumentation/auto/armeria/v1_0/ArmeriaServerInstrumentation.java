@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import com.google.auto.service.AutoService;
 import com.linecorp.armeria.server.ServerBuilder;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Collections;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -33,6 +34,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 
 @AutoService(Instrumenter.class)
 public class ArmeriaServerInstrumentation extends AbstractArmeriaInstrumentation {
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.linecorp.armeria.server.Server");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("com.linecorp.armeria.server.Server");
@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import com.google.auto.service.AutoService;
 import com.linecorp.armeria.client.WebClientBuilder;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -35,6 +36,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 @AutoService(Instrumenter.class)
 public class ArmeriaWebClientBuilderInstrumentation extends AbstractArmeriaInstrumentation {
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.linecorp.armeria.client.WebClientBuilder");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("com.linecorp.armeria.client.WebClientBuilder");
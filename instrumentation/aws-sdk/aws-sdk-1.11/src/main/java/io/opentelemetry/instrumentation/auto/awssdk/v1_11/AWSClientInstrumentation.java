@@ -26,6 +26,7 @@ import com.amazonaws.handlers.RequestHandler2;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.List;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -44,6 +45,11 @@ public final class AWSClientInstrumentation extends Instrumenter.Default {
     super("aws-sdk");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.amazonaws.AmazonWebServiceClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.amazonaws.AmazonWebServiceClient")
@@ -30,6 +30,7 @@ import com.amazonaws.handlers.RequestHandler2;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
@@ -48,6 +49,11 @@ public class AWSHttpClientInstrumentation extends Instrumenter.Default {
     super("aws-sdk");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.amazonaws.http.AmazonHttpClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.amazonaws.http.AmazonHttpClient");
@@ -90,6 +96,11 @@ public class AWSHttpClientInstrumentation extends Instrumenter.Default {
   @AutoService(Instrumenter.class)
   public static final class RequestExecutorInstrumentation extends AWSHttpClientInstrumentation {
 
+    @Override
+    public NamePrecondition namePrecondition() {
+      return NamePrecondition.named("com.amazonaws.http.AmazonHttpClient$RequestExecutor");
+    }
+
     @Override
     public ElementMatcher<TypeDescription> typeMatcher() {
       return named("com.amazonaws.http.AmazonHttpClient$RequestExecutor");
@@ -28,6 +28,7 @@ import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -43,11 +44,16 @@ public final class RequestInstrumentation extends Instrumenter.Default {
   }
 
   @Override
-  public ElementMatcher<ClassLoader> classLoaderMatcher() {
-    // Optimization for expensive typeMatcher.
+  public ElementMatcher<ClassLoader> classLoaderTrigger() {
+    // Optimization for expensive typeMatcher, also defers building the transformers.
     return hasClassesNamed("com.amazonaws.AmazonWebServiceRequest");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.nameStartsWith("com.amazonaws.services.");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return nameStartsWith("com.amazonaws.services.")
@@ -25,6 +25,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,6 +45,11 @@ public final class AwsClientInstrumentation extends AbstractAwsClientInstrumenta
     return hasClassesNamed("software.amazon.awssdk.core.client.builder.SdkClientBuilder");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.nameStartsWith("software.amazon.awssdk.");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return nameStartsWith("software.amazon.awssdk.")
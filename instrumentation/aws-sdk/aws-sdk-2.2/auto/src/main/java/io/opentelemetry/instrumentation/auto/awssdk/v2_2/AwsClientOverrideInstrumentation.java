@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Collections;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -45,6 +46,12 @@ public final class AwsClientOverrideInstrumentation extends AbstractAwsClientIns
     return hasClassesNamed("software.amazon.awssdk.core.client.config.ClientOverrideConfiguration");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "software.amazon.awssdk.core.client.config.ClientOverrideConfiguration");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("software.amazon.awssdk.core.client.config.ClientOverrideConfiguration");
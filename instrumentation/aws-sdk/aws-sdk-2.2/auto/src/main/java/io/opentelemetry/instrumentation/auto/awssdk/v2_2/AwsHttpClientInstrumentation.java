@@ -29,6 +29,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
@@ -50,6 +51,11 @@ public final class AwsHttpClientInstrumentation extends AbstractAwsClientInstrum
         "software.amazon.awssdk.core.internal.http.pipeline.stages.MakeHttpRequestStage");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.nameStartsWith("software.amazon.awssdk.");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return nameStartsWith("software.amazon.awssdk.")
@@ -25,6 +25,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 import com.datastax.driver.core.Session;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
@@ -38,6 +39,11 @@ public class CassandraClientInstrumentation extends Instrumenter.Default {
     super("cassandra");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.datastax.driver.core.Cluster$Manager");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     // Note: Cassandra has a large driver and we instrument single class in it.
@@ -48,6 +54,9 @@ public class CassandraClientInstrumentation extends Instrumenter.Default {
   @Override
   public String[] helperClassNames() {
     return new String[] {
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer",
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer$TargetParser",
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo",
       packageName + ".CassandraDatabaseClientTracer",
       packageName + ".TracingSession",
       packageName + ".TracingSession$1",
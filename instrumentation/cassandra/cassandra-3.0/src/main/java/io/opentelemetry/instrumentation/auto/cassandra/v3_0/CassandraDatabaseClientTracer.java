@@ -18,24 +18,57 @@ package io.opentelemetry.instrumentation.auto.cassandra.v3_0;
 
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.Host;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.tracer.DatabaseClientTracer;
 import io.opentelemetry.instrumentation.api.tracer.utils.NetPeerUtils;
+import io.opentelemetry.instrumentation.auto.api.WeakMap;
 import io.opentelemetry.instrumentation.auto.api.jdbc.DbSystem;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo;
 import io.opentelemetry.trace.Span;
 import java.net.InetSocketAddress;
 
-public class CassandraDatabaseClientTracer extends DatabaseClientTracer<Session, String> {
+public class CassandraDatabaseClientTracer
+    extends DatabaseClientTracer<Session, CqlStatementInfo> {
   public static final CassandraDatabaseClientTracer TRACER = new CassandraDatabaseClientTracer();
 
+  private final WeakMap<PreparedStatement, CqlStatementInfo> preparedStatements =
+      WeakMap.Provider.newWeakMap();
+
   @Override
   protected String getInstrumentationName() {
     return "io.opentelemetry.auto.cassandra-3.0";
   }
 
+  public Span startSpan(Session session, String query) {
+    return startSpan(session, CqlNormalizer.normalize(query));
+  }
+
+  /** Prepared statements are normalized once and reused for every execution. */
+  public CqlStatementInfo statementInfo(PreparedStatement preparedStatement) {
+    CqlStatementInfo statementInfo = preparedStatements.get(preparedStatement);
+    if (statementInfo == null) {
+      String query = preparedStatement.getQueryString();
+      statementInfo = CqlNormalizer.normalize(query == null ? "" : query);
+      preparedStatements.put(preparedStatement, statementInfo);
+    }
+    return statementInfo;
+  }
+
+  @Override
+  protected String normalizeQuery(CqlStatementInfo statementInfo) {
+    return Config.get().isSqlNormalizerEnabled()
+        ? statementInfo.getNormalizedQuery()
+        : statementInfo.getQuery();
+  }
+
   @Override
-  protected String normalizeQuery(String query) {
-    return query;
+  protected String spanName(
+      Session session, CqlStatementInfo statementInfo, String normalizedQuery) {
+    String keyspace = session == null ? null : session.getLoggedKeyspace();
+    return spanName(statementInfo.getSpanName(keyspace));
   }
 
   @Override
@@ -33,6 +33,8 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo;
 import io.opentelemetry.trace.Span;
 import java.util.Map;
 
@@ -111,7 +113,7 @@ public class TracingSession implements Session {
 
   @Override
   public ResultSet execute(Statement statement) {
-    Span span = TRACER.startSpan(session, getQuery(statement));
+    Span span = TRACER.startSpan(session, getStatementInfo(statement));
     ResultSet resultSet;
     try (Scope ignored = TRACER.startScope(span)) {
       resultSet = session.execute(statement);
@@ -155,8 +157,7 @@ public class TracingSession implements Session {
 
   @Override
   public ResultSetFuture executeAsync(Statement statement) {
-    String query = getQuery(statement);
-    Span span = TRACER.startSpan(session, query);
+    Span span = TRACER.startSpan(session, getStatementInfo(statement));
     try (Scope ignored = TRACER.startScope(span)) {
       ResultSetFuture future = session.executeAsync(statement);
       addCallbackToEndSpan(future, span);
@@ -209,15 +210,16 @@ public class TracingSession implements Session {
     return session.getState();
   }
 
-  private static String getQuery(Statement statement) {
-    String query = null;
+  private static CqlStatementInfo getStatementInfo(Statement statement) {
     if (statement instanceof BoundStatement) {
-      query = ((BoundStatement) statement).preparedStatement().getQueryString();
-    } else if (statement instanceof RegularStatement) {
+      return TRACER.statementInfo(((BoundStatement) statement).preparedStatement());
+    }
+    String query = null;
+    if (statement instanceof RegularStatement) {
       query = ((RegularStatement) statement).getQueryString();
     }
 
-    return query == null ? "" : query;
+    return CqlNormalizer.normalize(query == null ? "" : query);
   }
 
   private void addCallbackToEndSpan(ResultSetFuture future, final Span span) {
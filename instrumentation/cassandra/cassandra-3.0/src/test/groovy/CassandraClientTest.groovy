@@ -64,11 +64,11 @@ class CassandraClientTest extends AgentTestRunner {
     assertTraces(keyspace ? 2 : 1) {
       if (keyspace) {
         trace(0, 1) {
-          cassandraSpan(it, 0, "USE $keyspace", null)
+          cassandraSpan(it, 0, "USE $keyspace", "USE $keyspace", null)
         }
       }
       trace(keyspace ? 1 : 0, 1) {
-        cassandraSpan(it, 0, statement, keyspace)
+        cassandraSpan(it, 0, spanName, normalizedStatement, keyspace)
       }
     }
 
@@ -76,12 +76,12 @@ class CassandraClientTest extends AgentTestRunner {
     session.close()
 
     where:
-    statement                                                                                         | keyspace
-    "DROP KEYSPACE IF EXISTS sync_test"                                                               | null
-    "CREATE KEYSPACE sync_test WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':3}" | null
-    "CREATE TABLE sync_test.users ( id UUID PRIMARY KEY, name text )"                                 | "sync_test"
-    "INSERT INTO sync_test.users (id, name) values (uuid(), 'alice')"                                 | "sync_test"
-    "SELECT * FROM users where name = 'alice' ALLOW FILTERING"                                        | "sync_test"
+    statement                                                                                         | keyspace    | spanName                       | normalizedStatement
+    "DROP KEYSPACE IF EXISTS sync_test"                                                               | null        | "DROP KEYSPACE sync_test"      | "DROP KEYSPACE IF EXISTS sync_test"
+    "CREATE KEYSPACE sync_test WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':3}" | null        | "CREATE KEYSPACE sync_test"    | "CREATE KEYSPACE sync_test WITH REPLICATION = {?:?, ?:?}"
+    "CREATE TABLE sync_test.users ( id UUID PRIMARY KEY, name text )"                                 | "sync_test" | "CREATE TABLE sync_test.users" | "CREATE TABLE sync_test.users ( id UUID PRIMARY KEY, name text )"
+    "INSERT INTO sync_test.users (id, name) values (uuid(), 'alice')"                                 | "sync_test" | "INSERT sync_test.users"       | "INSERT INTO sync_test.users (id, name) values (uuid(), ?)"
+    "SELECT * FROM users where name = 'alice' ALLOW FILTERING"                                        | "sync_test" | "SELECT sync_test.users"       | "SELECT * FROM users where name = ? ALLOW FILTERING"
   }
 
   def "test async"() {
@@ -95,12 +95,12 @@ class CassandraClientTest extends AgentTestRunner {
     assertTraces(keyspace ? 2 : 1) {
       if (keyspace) {
         trace(0, 1) {
-          cassandraSpan(it, 0, "USE $keyspace", null)
+          cassandraSpan(it, 0, "USE $keyspace", "USE $keyspace", null)
         }
       }
       trace(keyspace ? 1 : 0, 2) {
         basicSpan(it, 0, "parent")
-        cassandraSpan(it, 1, statement, keyspace, span(0))
+        cassandraSpan(it, 1, spanName, normalizedStatement, keyspace, span(0))
       }
     }
 
@@ -108,17 +108,17 @@ class CassandraClientTest extends AgentTestRunner {
     session.close()
 
     where:
-    statement                                                                                          | keyspace
-    "DROP KEYSPACE IF EXISTS async_test"                                                               | null
-    "CREATE KEYSPACE async_test WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':3}" | null
-    "CREATE TABLE async_test.users ( id UUID PRIMARY KEY, name text )"                                 | "async_test"
-    "INSERT INTO async_test.users (id, name) values (uuid(), 'alice')"                                 | "async_test"
-    "SELECT * FROM users where name = 'alice' ALLOW FILTERING"                                         | "async_test"
+    statement                                                                                          | keyspace     | spanName                        | normalizedStatement
+    "DROP KEYSPACE IF EXISTS async_test"                                                               | null         | "DROP KEYSPACE async_test"      | "DROP KEYSPACE IF EXISTS async_test"
+    "CREATE KEYSPACE async_test WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':3}" | null         | "CREATE KEYSPACE async_test"    | "CREATE KEYSPACE async_test WITH REPLICATION = {?:?, ?:?}"
+    "CREATE TABLE async_test.users ( id UUID PRIMARY KEY, name text )"                                 | "async_test" | "CREATE TABLE async_test.users" | "CREATE TABLE async_test.users ( id UUID PRIMARY KEY, name text )"
+    "INSERT INTO async_test.users (id, name) values (uuid(), 'alice')"                                 | "async_test" | "INSERT async_test.users"       | "INSERT INTO async_test.users (id, name) values (uuid(), ?)"
+    "SELECT * FROM users where name = 'alice' ALLOW FILTERING"                                         | "async_test" | "SELECT async_test.users"       | "SELECT * FROM users where name = ? ALLOW FILTERING"
   }
 
-  def cassandraSpan(TraceAssert trace, int index, String statement, String keyspace, Object parentSpan = null, Throwable exception = null) {
+  def cassandraSpan(TraceAssert trace, int index, String spanName, String statement, String keyspace, Object parentSpan = null, Throwable exception = null) {
     trace.span(index) {
-      operationName statement
+      operationName spanName
       spanKind CLIENT
       if (parentSpan == null) {
         parent()
@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -36,6 +37,11 @@ public class CassandraClientInstrumentation extends Instrumenter.Default {
     super("cassandra");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.datastax.oss.driver.api.core.session.SessionBuilder");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     // Note: Cassandra has a large driver and we instrument single class in it.
@@ -46,6 +52,9 @@ public class CassandraClientInstrumentation extends Instrumenter.Default {
   @Override
   public String[] helperClassNames() {
     return new String[] {
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer",
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer$TargetParser",
+      "io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo",
       packageName + ".CassandraDatabaseClientTracer",
       packageName + ".TracingCqlSession",
       packageName + ".CompletionStageFunction"
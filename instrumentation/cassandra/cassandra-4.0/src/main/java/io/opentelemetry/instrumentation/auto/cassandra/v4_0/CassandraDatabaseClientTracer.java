@@ -19,25 +19,57 @@ package io.opentelemetry.instrumentation.auto.cassandra.v4_0;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.tracer.DatabaseClientTracer;
 import io.opentelemetry.instrumentation.api.tracer.utils.NetPeerUtils;
+import io.opentelemetry.instrumentation.auto.api.WeakMap;
 import io.opentelemetry.instrumentation.auto.api.jdbc.DbSystem;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo;
 import io.opentelemetry.trace.Span;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 
-public class CassandraDatabaseClientTracer extends DatabaseClientTracer<CqlSession, String> {
+public class CassandraDatabaseClientTracer
+    extends DatabaseClientTracer<CqlSession, CqlStatementInfo> {
   public static final CassandraDatabaseClientTracer TRACER = new CassandraDatabaseClientTracer();
 
+  private final WeakMap<PreparedStatement, CqlStatementInfo> preparedStatements =
+      WeakMap.Provider.newWeakMap();
+
   @Override
   protected String getInstrumentationName() {
     return "io.opentelemetry.auto.cassandra-4.0";
   }
 
+  public Span startSpan(CqlSession session, String query) {
+    return startSpan(session, CqlNormalizer.normalize(query));
+  }
+
+  /** Prepared statements are normalized once and reused for every execution. */
+  public CqlStatementInfo statementInfo(PreparedStatement preparedStatement) {
+    CqlStatementInfo statementInfo = preparedStatements.get(preparedStatement);
+    if (statementInfo == null) {
+      String query = preparedStatement.getQuery();
+      statementInfo = CqlNormalizer.normalize(query == null ? "" : query);
+      preparedStatements.put(preparedStatement, statementInfo);
+    }
+    return statementInfo;
+  }
+
+  @Override
+  protected String normalizeQuery(CqlStatementInfo statementInfo) {
+    return Config.get().isSqlNormalizerEnabled()
+        ? statementInfo.getNormalizedQuery()
+        : statementInfo.getQuery();
+  }
+
   @Override
-  protected String normalizeQuery(String query) {
-    return query;
+  protected String spanName(
+      CqlSession session, CqlStatementInfo statementInfo, String normalizedQuery) {
+    return spanName(statementInfo.getSpanName(session == null ? null : dbName(session)));
   }
 
   @Override
@@ -35,6 +35,8 @@ import com.datastax.oss.driver.api.core.type.reflect.GenericType;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer;
+import io.opentelemetry.instrumentation.auto.cassandra.CqlStatementInfo;
 import io.opentelemetry.trace.Span;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
@@ -184,9 +186,9 @@ public class TracingCqlSession implements CqlSession {
   @Override
   @NonNull
   public ResultSet execute(@NonNull Statement<?> statement) {
-    String query = getQuery(statement);
+    CqlStatementInfo statementInfo = getStatementInfo(statement);
 
-    Span span = TRACER.startSpan(session, query);
+    Span span = TRACER.startSpan(session, statementInfo);
     try (Scope ignored = TRACER.startScope(span)) {
       try {
         ResultSet resultSet = session.execute(statement);
@@ -223,9 +225,9 @@ public class TracingCqlSession implements CqlSession {
   @Override
   @NonNull
   public CompletionStage<AsyncResultSet> executeAsync(@NonNull Statement<?> statement) {
-    String query = getQuery(statement);
+    CqlStatementInfo statementInfo = getStatementInfo(statement);
 
-    Span span = TRACER.startSpan(session, query);
+    Span span = TRACER.startSpan(session, statementInfo);
     try (Scope ignored = TRACER.startScope(span)) {
       CompletionStage<AsyncResultSet> stage = session.executeAsync(statement);
       return stage.whenComplete(
@@ -258,14 +260,15 @@ public class TracingCqlSession implements CqlSession {
     }
   }
 
-  private static String getQuery(Statement<?> statement) {
+  private static CqlStatementInfo getStatementInfo(Statement<?> statement) {
+    if (statement instanceof BoundStatement) {
+      return TRACER.statementInfo(((BoundStatement) statement).getPreparedStatement());
+    }
     String query = null;
     if (statement instanceof SimpleStatement) {
       query = ((SimpleStatement) statement).getQuery();
-    } else if (statement instanceof BoundStatement) {
-      query = ((BoundStatement) statement).getPreparedStatement().getQuery();
     }
 
-    return query == null ? "" : query;
+    return CqlNormalizer.normalize(query == null ? "" : query);
   }
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.cassandra;
+
+import java.util.Locale;
+
+/**
+ * Single pass CQL scanner which replaces string, numeric, uuid, blob and duration literals with
+ * {@code ?} and, while doing so, picks up the operation and the keyspace/table the statement
+ * targets.
+ *
+ * <p>Unlike the JDBC normalizer this does not go through a generated lexer: CQL has a much smaller
+ * literal syntax and statements tend to be executed at a high rate, so the scan is done by hand
+ * without allocating a token per character run.
+ */
+public final class CqlNormalizer {
+
+  public static final int LIMIT = 32 * 1024;
+
+  public static CqlStatementInfo normalize(String query) {
+    int length = query.length();
+    StringBuilder sb = new StringBuilder(Math.min(length, LIMIT));
+    TargetParser target = new TargetParser();
+
+    int i = 0;
+    while (i < length && sb.length() <= LIMIT) {
+      char c = query.charAt(i);
+      int next;
+      if (c == '\'') {
+        next = skipQuoted(query, i, '\'');
+        sb.append('?');
+        target.onOther();
+      } else if (c == '$' && startsWith(query, i, '$', '$')) {
+        int end = query.indexOf("$$", i + 2);
+        next = end < 0 ? length : end + 2;
+        sb.append('?');
+        target.onOther();
+      } else if (c == '"') {
+        next = skipQuoted(query, i, '"');
+        sb.append(query, i, next);
+        target.onIdentifier(unquote(query, i, next), true);
+      } else if (Character.isWhitespace(c)) {
+        next = i + 1;
+        while (next < length && Character.isWhitespace(query.charAt(next))) {
+          next++;
+        }
+        sb.append(' ');
+      } else if (startsWith(query, i, '-', '-') || startsWith(query, i, '/', '/')) {
+        int end = query.indexOf('\n', i);
+        next = end < 0 ? length : end;
+        sb.append(query, i, next);
+      } else if (startsWith(query, i, '/', '*')) {
+        int end = query.indexOf("*/", i + 2);
+        next = end < 0 ? length : end + 2;
+        sb.append(query, i, next);
+      } else if (isUuid(query, i)) {
+        next = i + 36;
+        sb.append('?');
+        target.onOther();
+      } else if (isNumberStart(query, i)) {
+        next = skipNumber(query, i + 1);
+        sb.append('?');
+        target.onOther();
+      } else if (isIdentifierStart(c)) {
+        next = i + 1;
+        while (next < length && isIdentifierPart(query.charAt(next))) {
+          next++;
+        }
+        String identifier = query.substring(i, next);
+        sb.append(identifier);
+        target.onIdentifier(identifier, false);
+      } else {
+        next = i + 1;
+        sb.append(c);
+        target.onSymbol(c);
+      }
+      i = next;
+    }
+
+    if (sb.length() > LIMIT) {
+      sb.setLength(LIMIT);
+    }
+    return target.toStatementInfo(query, sb.toString());
+  }
+
+  private static boolean startsWith(String query, int i, char first, char second) {
+    return query.charAt(i) == first && i + 1 < query.length() && query.charAt(i + 1) == second;
+  }
+
+  /** Returns the index just past the closing quote, treating a doubled quote as an escape. */
+  private static int skipQuoted(String query, int start, char quote) {
+    int length = query.length();
+    int i = start + 1;
+    while (i < length) {
+      if (query.charAt(i) == quote) {
+        if (i + 1 < length && query.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return length;
+  }
+
+  private static String unquote(String query, int start, int end) {
+    String identifier = query.substring(start + 1, Math.max(start + 1, end - 1));
+    return identifier.indexOf('"') < 0 ? identifier : identifier.replace("\"\"", "\"");
+  }
+
+  private static boolean isNumberStart(String query, int i) {
+    char c = query.charAt(i);
+    if (isDigit(c)) {
+      return true;
+    }
+    if (c != '-' && c != '+' && c != '.') {
+      return false;
+    }
+    int length = query.length();
+    if (i + 1 < length && isDigit(query.charAt(i + 1))) {
+      return true;
+    }
+    return c != '.'
+        && i + 2 < length
+        && query.charAt(i + 1) == '.'
+        && isDigit(query.charAt(i + 2));
+  }
+
+  /** Covers integers, decimals, exponents, hex blobs ({@code 0x...}) and durations. */
+  private static int skipNumber(String query, int i) {
+    int length = query.length();
+    while (i < length) {
+      char c = query.charAt(i);
+      if (Character.isLetterOrDigit(c) || c == '.') {
+        i++;
+      } else if ((c == '+' || c == '-')
+          && (query.charAt(i - 1) == 'e' || query.charAt(i - 1) == 'E')) {
+        i++;
+      } else {
+        break;
+      }
+    }
+    return i;
+  }
+
+  private static boolean isUuid(String query, int i) {
+    int end = i + 36;
+    if (end > query.length() || (end < query.length() && isIdentifierPart(query.charAt(end)))) {
+      return false;
+    }
+    for (int j = 0; j < 36; j++) {
+      char c = query.charAt(i + j);
+      if (j == 8 || j == 13 || j == 18 || j == 23) {
+        if (c != '-') {
+          return false;
+        }
+      } else if (!isHexDigit(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return Character.isLetter(c) || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  /** Small state machine fed with the significant tokens of the statement. */
+  private static final class TargetParser {
+
+    private static final int OPERATION = 0;
+    private static final int EXPECT_FROM = 1;
+    private static final int EXPECT_INTO = 2;
+    private static final int OBJECT_TYPE = 3;
+    private static final int OBJECT_TYPE_SECOND_WORD = 4;
+    private static final int OBJECT_NAME = 5;
+    private static final int NAME = 6;
+    private static final int AFTER_NAME = 7;
+    private static final int QUALIFIED_NAME = 8;
+    private static final int DONE = 9;
+
+    private int state = OPERATION;
+    private boolean keyspaceTarget;
+    private String operation;
+    private String name;
+    private String keyspace;
+    private String table;
+
+    void onIdentifier(String identifier, boolean quoted) {
+      switch (state) {
+        case OPERATION:
+          onOperation(quoted ? null : upperCase(identifier));
+          break;
+        case EXPECT_FROM:
+          if (!quoted && identifier.equalsIgnoreCase("FROM")) {
+            state = NAME;
+          }
+          break;
+        case EXPECT_INTO:
+          if (!quoted && identifier.equalsIgnoreCase("INTO")) {
+            state = NAME;
+          }
+          break;
+        case OBJECT_TYPE:
+          if (quoted) {
+            state = DONE;
+          } else if (!identifier.equalsIgnoreCase("OR")
+              && !identifier.equalsIgnoreCase("REPLACE")
+              && !identifier.equalsIgnoreCase("CUSTOM")) {
+            String type = upperCase(identifier);
+            operation = operation + ' ' + type;
+            keyspaceTarget = type.equals("KEYSPACE");
+            state = type.equals("MATERIALIZED") ? OBJECT_TYPE_SECOND_WORD : OBJECT_NAME;
+          }
+          break;
+        case OBJECT_TYPE_SECOND_WORD:
+          operation = operation + ' ' + upperCase(identifier);
+          state = OBJECT_NAME;
+          break;
+        case OBJECT_NAME:
+          if (quoted
+              || !(identifier.equalsIgnoreCase("IF")
+                  || identifier.equalsIgnoreCase("NOT")
+                  || identifier.equalsIgnoreCase("EXISTS")
+                  || identifier.equalsIgnoreCase("ON"))) {
+            onName(identifier);
+          }
+          break;
+        case NAME:
+          if (quoted
+              || !(identifier.equalsIgnoreCase("TABLE")
+                  || identifier.equalsIgnoreCase("COLUMNFAMILY"))) {
+            onName(identifier);
+          }
+          break;
+        case QUALIFIED_NAME:
+          keyspace = name;
+          table = identifier;
+          state = DONE;
+          break;
+        case AFTER_NAME:
+          onOther();
+          break;
+        default:
+          break;
+      }
+    }
+
+    void onSymbol(char c) {
+      if (state == AFTER_NAME && c == '.') {
+        state = QUALIFIED_NAME;
+      } else if (state != EXPECT_FROM && state != EXPECT_INTO) {
+        onOther();
+      }
+    }
+
+    void onOther() {
+      if (state == AFTER_NAME || state == QUALIFIED_NAME) {
+        table = name;
+      }
+      if (state != EXPECT_FROM && state != EXPECT_INTO) {
+        state = DONE;
+      }
+    }
+
+    private void onOperation(String operation) {
+      this.operation = operation;
+      if (operation == null) {
+        state = DONE;
+        return;
+      }
+      switch (operation) {
+        case "SELECT":
+        case "DELETE":
+          state = EXPECT_FROM;
+          break;
+        case "INSERT":
+          state = EXPECT_INTO;
+          break;
+        case "UPDATE":
+        case "TRUNCATE":
+          state = NAME;
+          break;
+        case "USE":
+          keyspaceTarget = true;
+          state = NAME;
+          break;
+        case "CREATE":
+        case "DROP":
+        case "ALTER":
+          state = OBJECT_TYPE;
+          break;
+        case "BEGIN":
+          this.operation = "BATCH";
+          state = DONE;
+          break;
+        default:
+          state = DONE;
+          break;
+      }
+    }
+
+    private void onName(String identifier) {
+      if (keyspaceTarget) {
+        keyspace = identifier;
+        state = DONE;
+      } else {
+        name = identifier;
+        state = AFTER_NAME;
+      }
+    }
+
+    CqlStatementInfo toStatementInfo(String query, String normalizedQuery) {
+      if (state == AFTER_NAME || state == QUALIFIED_NAME) {
+        table = name;
+      }
+      return new CqlStatementInfo(query, normalizedQuery, operation, keyspace, table);
+    }
+
+    private static String upperCase(String identifier) {
+      return identifier.toUpperCase(Locale.ROOT);
+    }
+  }
+
+  private CqlNormalizer() {}
+}
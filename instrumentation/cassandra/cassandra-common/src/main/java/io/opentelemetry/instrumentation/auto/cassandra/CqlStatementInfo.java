@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.cassandra;
+
+/**
+ * The result of normalizing a CQL statement: the statement with its literals replaced by {@code
+ * ?}, plus the operation and the keyspace/table it targets, which are used to build a low
+ * cardinality span name.
+ */
+public final class CqlStatementInfo {
+
+  private final String query;
+  private final String normalizedQuery;
+  private final String operation;
+  private final String keyspace;
+  private final String table;
+  // span name when it does not depend on the session keyspace, null otherwise
+  private final String fixedSpanName;
+
+  CqlStatementInfo(
+      String query, String normalizedQuery, String operation, String keyspace, String table) {
+    this.query = query;
+    this.normalizedQuery = normalizedQuery;
+    this.operation = operation;
+    this.keyspace = keyspace;
+    this.table = table;
+    if (operation == null) {
+      fixedSpanName = null;
+    } else if (table == null) {
+      fixedSpanName = keyspace == null ? operation : operation + ' ' + keyspace;
+    } else if (keyspace != null) {
+      fixedSpanName = operation + ' ' + keyspace + '.' + table;
+    } else {
+      fixedSpanName = null;
+    }
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public String getNormalizedQuery() {
+    return normalizedQuery;
+  }
+
+  /** Returns the upper-cased operation, e.g. {@code SELECT} or {@code CREATE TABLE}. */
+  public String getOperation() {
+    return operation;
+  }
+
+  /** Returns the keyspace explicitly named in the statement, if any. */
+  public String getKeyspace() {
+    return keyspace;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  /**
+   * Returns {@code "<operation> <keyspace>.<table>"}, using {@code sessionKeyspace} when the
+   * statement does not qualify the table name, or null if the statement could not be parsed.
+   */
+  public String getSpanName(String sessionKeyspace) {
+    if (fixedSpanName != null || operation == null) {
+      return fixedSpanName;
+    }
+    if (sessionKeyspace == null) {
+      return operation + ' ' + table;
+    }
+    return operation + ' ' + sessionKeyspace + '.' + table;
+  }
+}
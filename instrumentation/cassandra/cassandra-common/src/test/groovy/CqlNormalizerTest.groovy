@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import io.opentelemetry.instrumentation.auto.cassandra.CqlNormalizer
+import spock.lang.Timeout
+
+@Timeout(20)
+class CqlNormalizerTest extends AgentSpecification {
+
+  def "normalize #originalCql"() {
+    setup:
+    def statementInfo = CqlNormalizer.normalize(originalCql)
+
+    expect:
+    statementInfo.normalizedQuery == normalizedCql
+    statementInfo.getSpanName("session_ks") == spanName
+
+    where:
+    originalCql                                                                      | normalizedCql                                                | spanName
+    // Literals
+    "SELECT * FROM t WHERE k = 1234"                                                 | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k >= -12.5e-3"                                            | "SELECT * FROM t WHERE k >= ?"                               | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k = 'it''s'"                                              | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k = \$\$it's\$\$"                                         | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k = 0xCAFEbabe"                                           | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k = 123e4567-e89b-12d3-a456-426655440000"                 | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k = a23e4567-e89b-12d3-a456-426655440000"                 | "SELECT * FROM t WHERE k = ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE d < 1h30m"                                                | "SELECT * FROM t WHERE d < ?"                                | "SELECT session_ks.t"
+    "SELECT * FROM t WHERE k IN (1, 2,3)"                                            | "SELECT * FROM t WHERE k IN (?, ?,?)"                        | "SELECT session_ks.t"
+
+    // Not literals
+    "SELECT a + b FROM table_v2"                                                     | "SELECT a + b FROM table_v2"                                 | "SELECT session_ks.table_v2"
+    "SELECT \"Quoted 'Column'\" FROM t"                                              | "SELECT \"Quoted 'Column'\" FROM t"                          | "SELECT session_ks.t"
+    "SELECT * FROM t -- don't"                                                       | "SELECT * FROM t -- don't"                                   | "SELECT session_ks.t"
+    "SELECT deadbeef FROM t"                                                         | "SELECT deadbeef FROM t"                                     | "SELECT session_ks.t"
+    "SELECT  *\n\tFROM   t"                                                          | "SELECT * FROM t"                                            | "SELECT session_ks.t"
+
+    // Targets
+    "select count(*) from ks.t limit 10"                                             | "select count(*) from ks.t limit ?"                          | "SELECT ks.t"
+    "SELECT * FROM \"Ks\".\"MyTable\""                                               | "SELECT * FROM \"Ks\".\"MyTable\""                           | "SELECT Ks.MyTable"
+    "INSERT INTO ks.t (a, b) VALUES (1, 'b') USING TTL 86400"                        | "INSERT INTO ks.t (a, b) VALUES (?, ?) USING TTL ?"          | "INSERT ks.t"
+    "UPDATE t SET a = 1 WHERE k = 2"                                                 | "UPDATE t SET a = ? WHERE k = ?"                             | "UPDATE session_ks.t"
+    "DELETE a FROM t WHERE k = 2"                                                    | "DELETE a FROM t WHERE k = ?"                                | "DELETE session_ks.t"
+    "TRUNCATE TABLE ks.t"                                                            | "TRUNCATE TABLE ks.t"                                        | "TRUNCATE ks.t"
+    "USE ks"                                                                         | "USE ks"                                                     | "USE ks"
+    "CREATE KEYSPACE IF NOT EXISTS ks WITH REPLICATION = {'class':'SimpleStrategy'}" | "CREATE KEYSPACE IF NOT EXISTS ks WITH REPLICATION = {?:?}" | "CREATE KEYSPACE ks"
+    "CREATE MATERIALIZED VIEW ks.v AS SELECT a FROM t"                               | "CREATE MATERIALIZED VIEW ks.v AS SELECT a FROM t"           | "CREATE MATERIALIZED VIEW ks.v"
+    "DROP TABLE IF EXISTS t"                                                         | "DROP TABLE IF EXISTS t"                                     | "DROP TABLE session_ks.t"
+    "BEGIN BATCH INSERT INTO t (a) VALUES (1); APPLY BATCH"                          | "BEGIN BATCH INSERT INTO t (a) VALUES (?); APPLY BATCH"      | "BATCH"
+    "SELECT now()"                                                                   | "SELECT now()"                                               | "SELECT"
+    ""                                                                               | ""                                                           | null
+  }
+
+  def "unqualified table without session keyspace"() {
+    expect:
+    CqlNormalizer.normalize("SELECT * FROM t").getSpanName(null) == "SELECT t"
+  }
+
+  def "very long statements are truncated"() {
+    setup:
+    def s = "SELECT * FROM t WHERE "
+    for (int i = 0; i < 10000; i++) {
+      s += " k" + i + " = " + i
+    }
+
+    expect:
+    CqlNormalizer.normalize(s).normalizedQuery.length() <= CqlNormalizer.LIMIT
+  }
+}
@@ -27,6 +27,7 @@ import com.couchbase.client.java.CouchbaseCluster;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +44,13 @@ public class CouchbaseBucketInstrumentation extends Instrumenter.Default {
     super("couchbase");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "com.couchbase.client.java.bucket.DefaultAsyncBucketManager",
+        "com.couchbase.client.java.CouchbaseAsyncBucket");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return namedOneOf(
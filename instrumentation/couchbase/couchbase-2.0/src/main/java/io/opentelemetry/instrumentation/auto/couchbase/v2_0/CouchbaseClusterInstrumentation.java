@@ -28,6 +28,7 @@ import com.couchbase.client.java.CouchbaseCluster;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.lang.reflect.Method;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -43,6 +44,13 @@ public class CouchbaseClusterInstrumentation extends Instrumenter.Default {
     super("couchbase");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "com.couchbase.client.java.cluster.DefaultAsyncClusterManager",
+        "com.couchbase.client.java.CouchbaseAsyncCluster");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return namedOneOf(
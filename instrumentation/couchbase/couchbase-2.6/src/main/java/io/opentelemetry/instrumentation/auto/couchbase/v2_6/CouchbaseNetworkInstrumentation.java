@@ -32,6 +32,7 @@ import io.opentelemetry.instrumentation.api.tracer.utils.NetPeerUtils;
 import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.attributes.SemanticAttributes;
 import java.util.Map;
@@ -52,6 +53,11 @@ public class CouchbaseNetworkInstrumentation extends Instrumenter.Default {
     return hasClassesNamed("com.couchbase.client.core.endpoint.AbstractGenericHandler");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.nameStartsWith("com.couchbase.client.");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     // Exact class because private fields are used
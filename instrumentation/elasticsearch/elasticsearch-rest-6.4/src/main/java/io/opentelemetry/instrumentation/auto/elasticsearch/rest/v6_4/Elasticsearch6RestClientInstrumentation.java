@@ -28,6 +28,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -52,6 +53,11 @@ public class Elasticsearch6RestClientInstrumentation extends Instrumenter.Defaul
     };
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("org.elasticsearch.client.RestClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("org.elasticsearch.client.RestClient");
@@ -16,15 +16,20 @@
 
 package io.opentelemetry.instrumentation.auto.traceannotation;
 
-import static io.opentelemetry.javaagent.tooling.ClassLoaderMatcher.hasClassesNamed;
+import static io.opentelemetry.javaagent.tooling.ClassLoaderMatcher.hasAnyClassesNamed;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.safeHasSuperType;
-import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.isBootstrapClassLoader;
+import static net.bytebuddy.matcher.ElementMatchers.not;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.config.MethodsConfigurationParser;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import net.bytebuddy.agent.builder.AgentBuilder;
@@ -37,11 +42,13 @@ import org.slf4j.LoggerFactory;
 /**
  * TraceConfig Instrumentation does not extend Default.
  *
- * <p>Instead it directly implements Instrumenter#instrument() and adds one default Instrumenter for
- * every configured class+method-list.
+ * <p>Instead it directly implements Instrumenter#instrument() and adds a single default
+ * Instrumenter for the whole configured class+method-list. The configuration is compiled into a
+ * hash index once, so the cost of matching a loaded type does not grow with the number of
+ * configured classes.
  *
- * <p>If this becomes a more common use case the building logic should be abstracted out into a
- * super class.
+ * <p>Besides exact class names, package wildcards like {@code com.example.*[method]} are supported.
+ * They match every class in {@code com.example} and its sub-packages.
  */
 @AutoService(Instrumenter.class)
 public class TraceConfigInstrumentation implements Instrumenter {
@@ -61,6 +68,13 @@ public class TraceConfigInstrumentation implements Instrumenter {
         tracedMethods.removeAll(entry.getValue());
       }
     }
+
+    Iterator<Set<String>> iterator = classMethodsToTrace.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().isEmpty()) {
+        iterator.remove();
+      }
+    }
   }
 
   @Override
@@ -69,39 +83,56 @@ public class TraceConfigInstrumentation implements Instrumenter {
       return agentBuilder;
     }
 
-    for (Map.Entry<String, Set<String>> entry : classMethodsToTrace.entrySet()) {
-      TracerClassInstrumentation tracerConfigClass =
-          new TracerClassInstrumentation(entry.getKey(), entry.getValue());
-      agentBuilder = tracerConfigClass.instrument(agentBuilder);
-    }
-    return agentBuilder;
+    log.debug("Tracing {} configured classes and packages", classMethodsToTrace.size());
+    return new TracerClassInstrumentation(classMethodsToTrace).instrument(agentBuilder);
   }
 
   // Not Using AutoService to hook up this instrumentation
   public static class TracerClassInstrumentation extends Default {
-    private final String className;
-    private final Set<String> methodNames;
+    private static final String WILDCARD_SUFFIX = ".*";
+
+    /** Exact class name -> traced method names. */
+    private final Map<String, Set<String>> classMethods = new HashMap<>();
+    /** Package prefixes including the trailing dot, e.g. {@code com.example.} -> method names. */
+    private final PackageTrie packageMethods = new PackageTrie();
+    /** Union of all configured method names, used to reject most methods without a type walk. */
+    private final Set<String> methodNames = new HashSet<>();
 
     /** No-arg constructor only used by muzzle and tests. */
     public TracerClassInstrumentation() {
-      this("io.opentracing.contrib.dropwizard.Trace", Collections.singleton("noop"));
+      this(
+          Collections.singletonMap(
+              "io.opentracing.contrib.dropwizard.Trace", Collections.singleton("noop")));
     }
 
-    public TracerClassInstrumentation(String className, Set<String> methodNames) {
+    public TracerClassInstrumentation(Map<String, Set<String>> classMethodsToTrace) {
       super("trace", "trace-config");
-      this.className = className;
-      this.methodNames = methodNames;
+      for (Map.Entry<String, Set<String>> entry : classMethodsToTrace.entrySet()) {
+        String className = entry.getKey();
+        if (className.endsWith(WILDCARD_SUFFIX)) {
+          packageMethods.add(
+              className.substring(0, className.length() - WILDCARD_SUFFIX.length() + 1),
+              entry.getValue());
+        } else {
+          classMethods.put(className, entry.getValue());
+        }
+        methodNames.addAll(entry.getValue());
+      }
     }
 
     @Override
     public ElementMatcher<ClassLoader> classLoaderMatcher() {
+      if (!packageMethods.isEmpty()) {
+        // Package wildcards cannot be checked by looking up a class resource.
+        return not(isBootstrapClassLoader());
+      }
       // Optimization for expensive typeMatcher.
-      return hasClassesNamed(className);
+      return hasAnyClassesNamed(classMethods.keySet().toArray(new String[0]));
     }
 
     @Override
     public ElementMatcher<TypeDescription> typeMatcher() {
-      return safeHasSuperType(named(className));
+      return safeHasSuperType(new ConfiguredTypeMatcher());
     }
 
     @Override
@@ -113,17 +144,105 @@ public class TraceConfigInstrumentation implements Instrumenter {
 
     @Override
     public Map<ElementMatcher<? super MethodDescription>, String> transformers() {
-      ElementMatcher.Junction<MethodDescription> methodMatchers = null;
-      for (String methodName : methodNames) {
-        if (methodMatchers == null) {
-          methodMatchers = named(methodName);
-        } else {
-          methodMatchers = methodMatchers.or(named(methodName));
+      return Collections.<ElementMatcher<? super MethodDescription>, String>singletonMap(
+          new ConfiguredMethodMatcher(), packageName + ".TraceAdvice");
+    }
+
+    /**
+     * Returns {@code true} if {@code methodName} is configured for {@code typeName}, or for any
+     * class in general if {@code methodName} is {@code null}.
+     */
+    private boolean isTraced(String typeName, String methodName) {
+      Set<String> methods = classMethods.get(typeName);
+      if (methods != null && (methodName == null || methods.contains(methodName))) {
+        return true;
+      }
+      return packageMethods.isTraced(typeName, methodName);
+    }
+
+    /**
+     * Character trie of the wildcard package prefixes. Matching walks the type name once and does
+     * not allocate, since it runs for every loaded type.
+     */
+    private static class PackageTrie {
+      private char[] keys = new char[0];
+      private PackageTrie[] children = new PackageTrie[0];
+      /** Methods traced in the package ending at this node, or {@code null}. */
+      private Set<String> methods;
+
+      boolean isEmpty() {
+        return keys.length == 0;
+      }
+
+      void add(String packagePrefix, Set<String> tracedMethods) {
+        PackageTrie node = this;
+        for (int i = 0; i < packagePrefix.length(); i++) {
+          char c = packagePrefix.charAt(i);
+          PackageTrie child = node.child(c);
+          if (child == null) {
+            child = new PackageTrie();
+            node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+            node.children = Arrays.copyOf(node.children, node.children.length + 1);
+            node.keys[node.keys.length - 1] = c;
+            node.children[node.children.length - 1] = child;
+          }
+          node = child;
         }
+        if (node.methods == null) {
+          node.methods = new HashSet<>();
+        }
+        node.methods.addAll(tracedMethods);
       }
 
-      return Collections.<ElementMatcher<? super MethodDescription>, String>singletonMap(
-          methodMatchers, packageName + ".TraceAdvice");
+      boolean isTraced(String typeName, String methodName) {
+        PackageTrie node = this;
+        for (int i = 0; i < typeName.length(); i++) {
+          node = node.child(typeName.charAt(i));
+          if (node == null) {
+            return false;
+          }
+          if (node.methods != null && (methodName == null || node.methods.contains(methodName))) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      private PackageTrie child(char c) {
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i] == c) {
+            return children[i];
+          }
+        }
+        return null;
+      }
+    }
+
+    private class ConfiguredTypeMatcher
+        extends ElementMatcher.Junction.AbstractBase<TypeDescription> {
+      @Override
+      public boolean matches(TypeDescription target) {
+        return isTraced(target.getName(), null);
+      }
+    }
+
+    private class ConfiguredMethodMatcher
+        extends ElementMatcher.Junction.AbstractBase<MethodDescription> {
+      @Override
+      public boolean matches(MethodDescription target) {
+        final String methodName = target.getName();
+        if (!methodNames.contains(methodName)) {
+          return false;
+        }
+        return safeHasSuperType(
+                new ElementMatcher.Junction.AbstractBase<TypeDescription>() {
+                  @Override
+                  public boolean matches(TypeDescription type) {
+                    return isTraced(type.getName(), methodName);
+                  }
+                })
+            .matches(target.getDeclaringType().asErasure());
+      }
     }
   }
 }
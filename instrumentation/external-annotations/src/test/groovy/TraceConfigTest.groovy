@@ -16,13 +16,14 @@
 
 import io.opentelemetry.auto.test.AgentTestRunner
 import io.opentelemetry.auto.test.utils.ConfigUtils
+import io.opentelemetry.test.traceconfig.WildcardTracedClass
 import java.util.concurrent.Callable
 
 class TraceConfigTest extends AgentTestRunner {
 
   static {
     ConfigUtils.updateConfig {
-      System.setProperty("otel.trace.methods", "package.ClassName[method1,method2];${ConfigTracedCallable.name}[call]")
+      System.setProperty("otel.trace.methods", "package.ClassName[method1,method2];${ConfigTracedCallable.name}[call];io.opentelemetry.test.*[sayHello]")
     }
   }
 
@@ -54,4 +55,21 @@ class TraceConfigTest extends AgentTestRunner {
       }
     }
   }
+
+  def "test package wildcard configuration"() {
+    expect:
+    new WildcardTracedClass().sayHello() == "hello!"
+    new WildcardTracedClass().sayGoodbye() == "goodbye!"
+
+    and:
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          operationName "WildcardTracedClass.sayHello"
+          attributes {
+          }
+        }
+      }
+    }
+  }
 }
@@ -35,6 +35,7 @@ import com.twitter.util.FutureEventListener;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -62,6 +63,11 @@ public class FinatraInstrumentation extends Instrumenter.Default {
     return hasClassesNamed("com.twitter.finatra.http.internal.routing.Route");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.nameStartsWith("com.twitter.finatra.");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return nameStartsWith("com.twitter.finatra.")
@@ -33,6 +33,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Status;
 import io.opentelemetry.trace.TracingContextUtils;
@@ -49,6 +50,11 @@ public class GoogleHttpClientInstrumentation extends Instrumenter.Default {
     super("google-http-client");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.google.api.client.http.HttpRequest");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     // HttpRequest is a final class.  Only need to instrument it exactly
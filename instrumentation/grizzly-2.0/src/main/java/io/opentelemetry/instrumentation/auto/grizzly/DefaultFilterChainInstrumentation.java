@@ -23,6 +23,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Collections;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
@@ -36,6 +37,11 @@ public class DefaultFilterChainInstrumentation extends Instrumenter.Default {
     super("grizzly");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("org.glassfish.grizzly.filterchain.DefaultFilterChain");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("org.glassfish.grizzly.filterchain.DefaultFilterChain");
@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.Pair;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -41,6 +42,11 @@ public final class GrizzlyClientRequestInstrumentation extends Instrumenter.Defa
     return singletonMap("com.ning.http.client.AsyncHandler", Pair.class.getName());
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.ning.http.client.AsyncHttpClient");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("com.ning.http.client.AsyncHttpClient");
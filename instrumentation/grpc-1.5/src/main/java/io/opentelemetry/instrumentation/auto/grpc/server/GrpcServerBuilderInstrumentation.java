@@ -23,6 +23,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import com.google.auto.service.AutoService;
 import io.grpc.ServerInterceptor;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.List;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -37,6 +38,11 @@ public class GrpcServerBuilderInstrumentation extends Instrumenter.Default {
     super("grpc", "grpc-server");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.grpc.internal.AbstractServerImplBuilder");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("io.grpc.internal.AbstractServerImplBuilder");
@@ -16,25 +16,80 @@
 
 package io.opentelemetry.instrumentation.auto.hystrix;
 
+import com.netflix.hystrix.HystrixCommandGroupKey;
+import com.netflix.hystrix.HystrixCommandKey;
 import com.netflix.hystrix.HystrixInvokableInfo;
 import io.opentelemetry.instrumentation.api.decorator.BaseDecorator;
 import io.opentelemetry.trace.Span;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class HystrixDecorator extends BaseDecorator {
   public static final HystrixDecorator DECORATE = new HystrixDecorator();
 
+  // command keys are normally a small, fixed set, this only guards against unbounded growth
+  private static final int MAX_CACHED_COMMANDS = 1000;
+
+  private final ConcurrentMap<HystrixCommandKey, CommandNames> commandNames =
+      new ConcurrentHashMap<>();
+
   public void onCommand(Span span, HystrixInvokableInfo<?> command, String methodName) {
     if (command != null) {
-      String commandName = command.getCommandKey().name();
-      String groupName = command.getCommandGroup().name();
+      HystrixCommandKey commandKey = command.getCommandKey();
+      HystrixCommandGroupKey groupKey = command.getCommandGroup();
       boolean circuitOpen = command.isCircuitBreakerOpen();
 
-      String spanName = groupName + "." + commandName + "." + methodName;
-
-      span.updateName(spanName);
-      span.setAttribute("hystrix.command", commandName);
-      span.setAttribute("hystrix.group", groupName);
+      CommandNames names = commandNames(commandKey, groupKey);
+      if (names != null) {
+        span.updateName(names.spanName(methodName));
+        span.setAttribute("hystrix.command", names.commandName);
+        span.setAttribute("hystrix.group", names.groupName);
+      } else {
+        String commandName = commandKey.name();
+        String groupName = groupKey.name();
+        span.updateName(groupName + "." + commandName + "." + methodName);
+        span.setAttribute("hystrix.command", commandName);
+        span.setAttribute("hystrix.group", groupName);
+      }
       span.setAttribute("hystrix.circuit-open", circuitOpen);
     }
   }
+
+  /** @return the cached names of the command, or {@code null} once the cache is full. */
+  private CommandNames commandNames(HystrixCommandKey commandKey, HystrixCommandGroupKey groupKey) {
+    CommandNames names = commandNames.get(commandKey);
+    if (names != null && names.groupKey.equals(groupKey)) {
+      return names;
+    }
+    if (names == null && commandNames.size() >= MAX_CACHED_COMMANDS) {
+      return null;
+    }
+    names = new CommandNames(commandKey, groupKey);
+    commandNames.put(commandKey, names);
+    return names;
+  }
+
+  /** Span name and attribute values of a command, computed once per command key. */
+  private static final class CommandNames {
+    final HystrixCommandGroupKey groupKey;
+    final String commandName;
+    final String groupName;
+    // method name -> span name, there are only a handful of instrumented methods
+    private final ConcurrentMap<String, String> spanNames = new ConcurrentHashMap<>();
+
+    CommandNames(HystrixCommandKey commandKey, HystrixCommandGroupKey groupKey) {
+      this.groupKey = groupKey;
+      commandName = commandKey.name();
+      groupName = groupKey.name();
+    }
+
+    String spanName(String methodName) {
+      String spanName = spanNames.get(methodName);
+      if (spanName == null) {
+        spanName = groupName + "." + commandName + "." + methodName;
+        spanNames.put(methodName, spanName);
+      }
+      return spanName;
+    }
+  }
 }
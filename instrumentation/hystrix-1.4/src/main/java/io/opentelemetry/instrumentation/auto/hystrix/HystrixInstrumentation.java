@@ -67,6 +67,7 @@ public class HystrixInstrumentation extends Instrumenter.Default {
       "io.opentelemetry.instrumentation.auto.rxjava.TracedSubscriber",
       "io.opentelemetry.instrumentation.auto.rxjava.TracedOnSubscribe",
       packageName + ".HystrixDecorator",
+      packageName + ".HystrixDecorator$CommandNames",
       packageName + ".HystrixInstrumentation$HystrixOnSubscribe",
     };
   }
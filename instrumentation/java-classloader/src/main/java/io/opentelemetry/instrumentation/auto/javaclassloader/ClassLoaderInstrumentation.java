@@ -90,6 +90,11 @@ public final class ClassLoaderInstrumentation extends Instrumenter.Default {
   public static class LoadClassAdvice {
     @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
     public static Class<?> onEnter(@Advice.Argument(0) String name) {
+      // this advice runs for every class loaded by every non-delegating class loader, so reject
+      // the vast majority of names before touching the thread local below
+      if (name == null || !name.startsWith(Constants.BOOTSTRAP_PACKAGE_COMMON_PREFIX)) {
+        return null;
+      }
       // need to use call depth here to prevent re-entry from call to Class.forName() below
       // because on some JVMs (e.g. IBM's, though IBM bootstrap loader is explicitly excluded above)
       // Class.forName() ends up calling loadClass() on the bootstrap loader which would then come
@@ -22,6 +22,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -117,6 +118,13 @@ public abstract class AbstractExecutorInstrumentation extends Instrumenter.Defau
     }
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return TRACE_ALL_EXECUTORS
+        ? null
+        : NamePrecondition.of(WHITELISTED_EXECUTORS, WHITELISTED_EXECUTORS_PREFIXES);
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     ElementMatcher.Junction<TypeDescription> matcher = any();
@@ -26,6 +26,7 @@ import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.instrumentation.auto.api.concurrent.State;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -91,6 +92,11 @@ public final class FutureInstrumentation extends Instrumenter.Default {
     super(AbstractExecutorInstrumentation.EXEC_NAME);
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(WHITELISTED_FUTURES);
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     final ElementMatcher.Junction<TypeDescription> hasFutureInterfaceMatcher =
@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.HashMap;
 import java.util.Map;
@@ -48,6 +49,11 @@ public final class ResteasyClientConnectionErrorInstrumentation extends Instrume
     super("jax-rs", "jaxrs", "jax-rs-client");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("org.jboss.resteasy.client.jaxrs.internal.ClientInvocation");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("org.jboss.resteasy.client.jaxrs.internal.ClientInvocation");
@@ -32,6 +32,7 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
+import io.opentelemetry.instrumentation.auto.jaxrs.JaxRsPathSpanNames;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
 import io.opentelemetry.trace.Span;
 import java.lang.reflect.Method;
@@ -73,6 +74,11 @@ public final class JaxRsAnnotationsInstrumentation extends Instrumenter.Default
     };
   }
 
+  @Override
+  protected Advice.WithCustomMapping adviceMapping() {
+    return JaxRsPathSpanNames.adviceMapping();
+  }
+
   @Override
   public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
     return singletonMap(
@@ -94,12 +100,20 @@ public final class JaxRsAnnotationsInstrumentation extends Instrumenter.Default
   public static class JaxRsAnnotationsAdvice {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
-    public static SpanWithScope nameSpan(@Advice.This Object target, @Advice.Origin Method method) {
+    public static SpanWithScope nameSpan(
+        @Advice.This Object target,
+        @Advice.Origin Class<?> instrumentedClass,
+        @Advice.Origin Method method,
+        @JaxRsPathSpanNames.PathSpanName String pathSpanName) {
       if (CallDepthThreadLocalMap.incrementCallDepth(Path.class) > 0) {
         return null;
       }
 
-      Span span = TRACER.startSpan(target.getClass(), method);
+      // the precomputed name only applies when the method is not inherited by a subclass
+      Class<?> targetClass = target.getClass();
+      Span span =
+          TRACER.startSpan(
+              targetClass, method, targetClass == instrumentedClass ? pathSpanName : null);
 
       return new SpanWithScope(span, currentContextWith(span));
     }
@@ -36,7 +36,16 @@ public class JaxRsAnnotationsTracer extends BaseTracer {
   private final WeakMap<Class<?>, Map<Method, String>> spanNames = newWeakMap();
 
   public Span startSpan(Class<?> target, Method method) {
-    String pathBasedSpanName = getPathSpanName(target, method);
+    return startSpan(target, method, null);
+  }
+
+  /**
+   * @param pathSpanName span name precomputed at transformation time, or {@code null} if it has to
+   *     be resolved from {@code target} and {@code method}.
+   */
+  public Span startSpan(Class<?> target, Method method, String pathSpanName) {
+    String pathBasedSpanName =
+        pathSpanName != null ? pathSpanName : getPathSpanName(target, method);
     Span serverSpan = BaseTracer.getCurrentServerSpan();
 
     // When jax-rs is the root, we want to name using the path, otherwise use the class/method.
@@ -33,6 +33,7 @@ import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
+import io.opentelemetry.instrumentation.auto.jaxrs.JaxRsPathSpanNames;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
 import io.opentelemetry.trace.Span;
 import java.lang.reflect.Method;
@@ -80,6 +81,11 @@ public final class JaxRsAnnotationsInstrumentation extends Instrumenter.Default
     };
   }
 
+  @Override
+  protected Advice.WithCustomMapping adviceMapping() {
+    return JaxRsPathSpanNames.adviceMapping();
+  }
+
   @Override
   public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
     return singletonMap(
@@ -103,7 +109,9 @@ public final class JaxRsAnnotationsInstrumentation extends Instrumenter.Default
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static SpanWithScope nameSpan(
         @Advice.This Object target,
+        @Advice.Origin Class<?> instrumentedClass,
         @Advice.Origin Method method,
+        @JaxRsPathSpanNames.PathSpanName String pathSpanName,
         @Advice.AllArguments Object[] args,
         @Advice.Local("asyncResponse") AsyncResponse asyncResponse) {
       ContextStore<AsyncResponse, Span> contextStore = null;
@@ -128,7 +136,11 @@ public final class JaxRsAnnotationsInstrumentation extends Instrumenter.Default
         return null;
       }
 
-      Span span = TRACER.startSpan(target.getClass(), method);
+      // the precomputed name only applies when the method is not inherited by a subclass
+      Class<?> targetClass = target.getClass();
+      Span span =
+          TRACER.startSpan(
+              targetClass, method, targetClass == instrumentedClass ? pathSpanName : null);
 
       if (contextStore != null && asyncResponse != null) {
         contextStore.put(asyncResponse, span);
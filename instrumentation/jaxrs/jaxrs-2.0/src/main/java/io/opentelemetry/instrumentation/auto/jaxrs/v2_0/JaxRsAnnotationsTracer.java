@@ -40,17 +40,31 @@ public class JaxRsAnnotationsTracer extends BaseTracer {
   private final WeakMap<Class<?>, Map<Method, String>> spanNames = newWeakMap();
 
   public Span startSpan(Class<?> target, Method method) {
+    return startSpan(target, method, null);
+  }
+
+  /**
+   * @param pathSpanName span name precomputed at transformation time, or {@code null} if it has to
+   *     be resolved from {@code target} and {@code method}.
+   */
+  public Span startSpan(Class<?> target, Method method, String pathSpanName) {
     // We create span and immediately update its name
     // We do that in order to reuse logic inside updateSpanNames method, which is used externally as
     // well.
     Span span = tracer.spanBuilder("jax-rs.request").startSpan();
-    updateSpanNames(span, BaseTracer.getCurrentServerSpan(), target, method);
+    updateSpanNames(span, BaseTracer.getCurrentServerSpan(), target, method, pathSpanName);
     return span;
   }
 
   public void updateSpanNames(Span span, Span serverSpan, Class<?> target, Method method) {
+    updateSpanNames(span, serverSpan, target, method, null);
+  }
+
+  private void updateSpanNames(
+      Span span, Span serverSpan, Class<?> target, Method method, String pathSpanName) {
     // When jax-rs is the root, we want to name using the path, otherwise use the class/method.
-    String pathBasedSpanName = getPathSpanName(target, method);
+    String pathBasedSpanName =
+        pathSpanName != null ? pathSpanName : getPathSpanName(target, method);
     if (serverSpan == null) {
       updateSpanName(span, pathBasedSpanName);
     } else {
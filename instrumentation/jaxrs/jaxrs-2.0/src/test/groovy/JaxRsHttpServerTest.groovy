@@ -139,11 +139,6 @@ abstract class JaxRsHttpServerTest<S> extends HttpServerTest<S> {
         "${SemanticAttributes.HTTP_FLAVOR.key()}" "HTTP/1.1"
         "${SemanticAttributes.HTTP_USER_AGENT.key()}" TEST_USER_AGENT
         "${SemanticAttributes.HTTP_CLIENT_IP.key()}" TEST_CLIENT_IP
-        if (responseContentLength) {
-          "${SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH.key()}" responseContentLength
-        } else {
-          "${SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH.key()}" Long
-        }
         "servlet.path" String
         "servlet.context" String
         if (query) {
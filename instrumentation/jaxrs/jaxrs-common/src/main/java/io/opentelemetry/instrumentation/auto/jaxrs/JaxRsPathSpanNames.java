@@ -0,0 +1,229 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.jaxrs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the path based span name of a JAX-RS resource method while the resource class is being
+ * transformed, so that it can be inlined into the advice as a constant.
+ *
+ * <p>This class is only used by the agent during transformation and must not be injected as a
+ * helper.
+ */
+public final class JaxRsPathSpanNames {
+  private static final Logger log = LoggerFactory.getLogger(JaxRsPathSpanNames.class);
+
+  private static final String PATH_ANNOTATION = "javax.ws.rs.Path";
+  private static final String HTTP_METHOD_ANNOTATION = "javax.ws.rs.HttpMethod";
+
+  /**
+   * Binds the path based span name of the instrumented method to a {@code String} advice parameter,
+   * or {@code null} if it could not be computed at transformation time.
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.PARAMETER)
+  public @interface PathSpanName {}
+
+  public static Advice.WithCustomMapping adviceMapping() {
+    return Advice.withCustomMapping().bind(new Factory());
+  }
+
+  /**
+   * Mirrors {@code JaxRsAnnotationsTracer#getPathSpanName} using type descriptions instead of
+   * reflection.
+   *
+   * @return the span name, possibly empty, or {@code null} if the hierarchy could not be resolved.
+   */
+  static String computeSpanName(TypeDescription target, MethodDescription method) {
+    String httpMethod = null;
+    String methodPath = null;
+    String classPath = null;
+    for (TypeDescription currentType : typeHierarchy(target)) {
+      if (classPath == null) {
+        classPath = findPath(currentType.getDeclaredAnnotations());
+      }
+
+      if (httpMethod != null && methodPath != null) {
+        continue;
+      }
+      MethodDescription currentMethod;
+      if (currentType.equals(target)) {
+        currentMethod = method;
+      } else {
+        currentMethod = findMatchingMethod(method, currentType);
+      }
+
+      if (currentMethod != null) {
+        if (httpMethod == null) {
+          httpMethod = locateHttpMethod(currentMethod);
+        }
+        if (methodPath == null) {
+          methodPath = findPath(currentMethod.getDeclaredAnnotations());
+        }
+      }
+    }
+    return buildSpanName(httpMethod, classPath, methodPath);
+  }
+
+  /** Same traversal order as {@code ClassHierarchyIterable}. */
+  private static Iterable<TypeDescription> typeHierarchy(TypeDescription target) {
+    Set<TypeDescription> queuedInterfaces = new HashSet<>();
+    Queue<TypeDescription> typesToExpand = new ArrayDeque<>();
+    Queue<TypeDescription> result = new ArrayDeque<>();
+    typesToExpand.add(target);
+    while (!typesToExpand.isEmpty()) {
+      TypeDescription next = typesToExpand.remove();
+      result.add(next);
+      for (TypeDefinition iface : next.getInterfaces()) {
+        TypeDescription erasure = iface.asErasure();
+        if (queuedInterfaces.add(erasure)) {
+          typesToExpand.add(erasure);
+        }
+      }
+      TypeDescription.Generic superClass = next.getSuperClass();
+      if (superClass != null) {
+        typesToExpand.add(superClass.asErasure());
+      }
+    }
+    return result;
+  }
+
+  private static String locateHttpMethod(MethodDescription method) {
+    String httpMethod = null;
+    for (AnnotationDescription annotation : method.getDeclaredAnnotations()) {
+      TypeDescription annotationType = annotation.getAnnotationType();
+      for (AnnotationDescription meta : annotationType.getDeclaredAnnotations()) {
+        if (meta.getAnnotationType().getName().equals(HTTP_METHOD_ANNOTATION)) {
+          httpMethod = annotationType.getSimpleName();
+        }
+      }
+    }
+    return httpMethod;
+  }
+
+  private static String findPath(Iterable<AnnotationDescription> annotations) {
+    for (AnnotationDescription annotation : annotations) {
+      if (annotation.getAnnotationType().getName().equals(PATH_ANNOTATION)) {
+        return annotation.getValue("value").resolve(String.class);
+      }
+    }
+    return null;
+  }
+
+  private static MethodDescription findMatchingMethod(
+      MethodDescription baseMethod, TypeDescription type) {
+    for (MethodDescription method : type.getDeclaredMethods()) {
+      if (method.getName().equals(baseMethod.getName())
+          && method.getReturnType().asErasure().equals(baseMethod.getReturnType().asErasure())
+          && method
+              .getParameters()
+              .asTypeList()
+              .asErasures()
+              .equals(baseMethod.getParameters().asTypeList().asErasures())) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static String buildSpanName(String httpMethod, String classPath, String methodPath) {
+    StringBuilder spanNameBuilder = new StringBuilder();
+    if (httpMethod != null) {
+      spanNameBuilder.append(httpMethod);
+      spanNameBuilder.append(" ");
+    }
+    boolean skipSlash = false;
+    if (classPath != null) {
+      if (!classPath.startsWith("/")) {
+        spanNameBuilder.append("/");
+      }
+      spanNameBuilder.append(classPath);
+      skipSlash = classPath.endsWith("/");
+    }
+
+    if (methodPath != null) {
+      String path = methodPath;
+      if (skipSlash) {
+        if (path.startsWith("/")) {
+          path = path.length() == 1 ? "" : path.substring(1);
+        }
+      } else if (!path.startsWith("/")) {
+        spanNameBuilder.append("/");
+      }
+      spanNameBuilder.append(path);
+    }
+
+    return spanNameBuilder.toString().trim();
+  }
+
+  private static class Factory implements Advice.OffsetMapping.Factory<PathSpanName> {
+
+    @Override
+    public Class<PathSpanName> getAnnotationType() {
+      return PathSpanName.class;
+    }
+
+    @Override
+    public Advice.OffsetMapping make(
+        ParameterDescription.InDefinedShape target,
+        AnnotationDescription.Loadable<PathSpanName> annotation,
+        AdviceType adviceType) {
+      if (!target.getType().asErasure().represents(String.class)) {
+        throw new IllegalStateException(target + " must be of type String");
+      }
+      return new Advice.OffsetMapping() {
+        @Override
+        public Target resolve(
+            TypeDescription instrumentedType,
+            MethodDescription instrumentedMethod,
+            Assigner assigner,
+            Advice.ArgumentHandler argumentHandler,
+            Sort sort) {
+          String spanName;
+          try {
+            spanName = computeSpanName(instrumentedType, instrumentedMethod);
+          } catch (Exception e) {
+            // fall back to computing the name at runtime
+            log.debug("Unable to compute span name for {}", instrumentedMethod, e);
+            spanName = null;
+          }
+          return new Target.ForStackManipulation(
+              spanName == null ? NullConstant.INSTANCE : new TextConstant(spanName));
+        }
+      };
+    }
+  }
+}
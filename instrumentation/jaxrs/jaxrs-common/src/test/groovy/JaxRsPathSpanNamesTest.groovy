@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.opentelemetry.instrumentation.auto.jaxrs.JaxRsPathSpanNames
+import javax.ws.rs.GET
+import javax.ws.rs.POST
+import javax.ws.rs.Path
+import net.bytebuddy.description.type.TypeDescription
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class JaxRsPathSpanNamesTest extends Specification {
+
+  @Unroll
+  def "span name of #type.simpleName is '#expected'"() {
+    setup:
+    def typeDescription = TypeDescription.ForLoadedType.of(type)
+    def method = typeDescription.declaredMethods.filter { it.name == "call" }.getOnly()
+
+    expect:
+    JaxRsPathSpanNames.computeSpanName(typeDescription, method) == expected
+
+    where:
+    type                         | expected
+    ClassAndMethodPath           | "GET /class/method"
+    ClassPathWithTrailingSlash   | "GET /class/method"
+    RootMethodPath               | "GET /class/"
+    RelativePaths                | "POST /class/method"
+    MethodPathOnly               | "GET /method"
+    ClassPathOnly                | "GET /class"
+    NoAnnotations                | ""
+    InterfaceAnnotated           | "GET /interface/method"
+    SuperClassAnnotated          | "POST /parent/method"
+    OverridesClassPath           | "POST /child/method"
+  }
+}
+
+@Path("/class")
+class ClassAndMethodPath {
+  @GET
+  @Path("/method")
+  void call() {}
+}
+
+@Path("/class/")
+class ClassPathWithTrailingSlash {
+  @GET
+  @Path("/method")
+  void call() {}
+}
+
+@Path("/class/")
+class RootMethodPath {
+  @GET
+  @Path("/")
+  void call() {}
+}
+
+@Path("class")
+class RelativePaths {
+  @POST
+  @Path("method")
+  void call() {}
+}
+
+class MethodPathOnly {
+  @GET
+  @Path("method")
+  void call() {}
+}
+
+@Path("/class")
+class ClassPathOnly {
+  @GET
+  void call() {}
+}
+
+class NoAnnotations {
+  void call() {}
+}
+
+@Path("/interface")
+interface AnnotatedInterface {
+  @GET
+  @Path("/method")
+  void call()
+}
+
+class InterfaceAnnotated implements AnnotatedInterface {
+  void call() {}
+}
+
+@Path("/parent")
+class AnnotatedParent {
+  @POST
+  @Path("/method")
+  void call() {}
+}
+
+class SuperClassAnnotated extends AnnotatedParent {
+  void call() {}
+}
+
+@Path("/child")
+class OverridesClassPath extends AnnotatedParent {
+  void call() {}
+}
@@ -17,16 +17,29 @@
 package io.opentelemetry.instrumentation.auto.jedis.v1_4;
 
 import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.decorator.DatabaseClientDecorator;
+import io.opentelemetry.instrumentation.api.tracer.utils.RedisCommandKeys;
 import io.opentelemetry.instrumentation.auto.api.jdbc.DbSystem;
 import io.opentelemetry.trace.Tracer;
+import java.util.EnumMap;
+import java.util.Map;
 import redis.clients.jedis.Connection;
+import redis.clients.jedis.Protocol.Command;
 
 public class JedisClientDecorator extends DatabaseClientDecorator<Connection> {
   public static final JedisClientDecorator DECORATE = new JedisClientDecorator();
 
   public static final Tracer TRACER = OpenTelemetry.getTracer("io.opentelemetry.auto.jedis-1.4");
 
+  private static final Map<Command, String> COMMAND_NAMES = new EnumMap<>(Command.class);
+
+  static {
+    for (Command command : Command.values()) {
+      COMMAND_NAMES.put(command, command.name().intern());
+    }
+  }
+
   @Override
   protected String dbSystem() {
     return DbSystem.REDIS;
@@ -46,4 +59,15 @@ public class JedisClientDecorator extends DatabaseClientDecorator<Connection> {
   protected String dbConnectionString(Connection connection) {
     return connection.getHost() + ":" + connection.getPort();
   }
+
+  public String commandName(Command command) {
+    return COMMAND_NAMES.get(command);
+  }
+
+  /** Returns the command name, followed by its keys when key capture is enabled. */
+  public String statement(String commandName, byte[][] args) {
+    return Config.get().isRedisKeyCaptureEnabled()
+        ? RedisCommandKeys.statement(commandName, args)
+        : commandName;
+  }
 }
@@ -17,16 +17,32 @@
 package io.opentelemetry.instrumentation.auto.jedis.v3_0;
 
 import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.decorator.DatabaseClientDecorator;
+import io.opentelemetry.instrumentation.api.tracer.utils.RedisCommandKeys;
 import io.opentelemetry.instrumentation.auto.api.jdbc.DbSystem;
 import io.opentelemetry.trace.Tracer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
 import redis.clients.jedis.Connection;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.commands.ProtocolCommand;
 
 public class JedisClientDecorator extends DatabaseClientDecorator<Connection> {
   public static final JedisClientDecorator DECORATE = new JedisClientDecorator();
 
   public static final Tracer TRACER = OpenTelemetry.getTracer("io.opentelemetry.auto.jedis-1.4");
 
+  private static final Map<Protocol.Command, String> COMMAND_NAMES =
+      new EnumMap<>(Protocol.Command.class);
+
+  static {
+    for (Protocol.Command command : Protocol.Command.values()) {
+      COMMAND_NAMES.put(command, command.name().intern());
+    }
+  }
+
   @Override
   protected String dbSystem() {
     return DbSystem.REDIS;
@@ -46,4 +62,20 @@ public class JedisClientDecorator extends DatabaseClientDecorator<Connection> {
   protected String dbConnectionString(Connection connection) {
     return connection.getHost() + ":" + connection.getPort();
   }
+
+  public String commandName(ProtocolCommand command) {
+    if (command instanceof Protocol.Command) {
+      return COMMAND_NAMES.get(command);
+    }
+    // Protocol.Command is the only implementation in the Jedis lib as of 3.1 but this will save
+    // us if that changes
+    return new String(command.getRaw(), StandardCharsets.UTF_8);
+  }
+
+  /** Returns the command name, followed by its keys when key capture is enabled. */
+  public String statement(String commandName, byte[][] args) {
+    return Config.get().isRedisKeyCaptureEnabled()
+        ? RedisCommandKeys.statement(commandName, args)
+        : commandName;
+  }
 }
@@ -20,24 +20,24 @@ import static io.opentelemetry.instrumentation.auto.jedis.v3_0.JedisClientDecora
 import static io.opentelemetry.instrumentation.auto.jedis.v3_0.JedisClientDecorator.TRACER;
 import static io.opentelemetry.trace.Span.Kind.CLIENT;
 import static io.opentelemetry.trace.TracingContextUtils.currentContextWith;
-import static java.util.Collections.singletonMap;
 import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
-import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import redis.clients.jedis.Connection;
-import redis.clients.jedis.Protocol;
 import redis.clients.jedis.commands.ProtocolCommand;
 
 @AutoService(Instrumenter.class)
@@ -47,6 +47,11 @@ public final class JedisInstrumentation extends Instrumenter.Default {
     super("jedis", "redis");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("redis.clients.jedis.Connection");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("redis.clients.jedis.Connection");
@@ -61,12 +66,23 @@ public final class JedisInstrumentation extends Instrumenter.Default {
 
   @Override
   public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
-    return singletonMap(
+    Map<ElementMatcher<? super MethodDescription>, String> transformers = new HashMap<>();
+    // the binary variant is the one the client methods end up calling, it's the only one which
+    // has the arguments in a shape that allows capturing keys cheaply
+    transformers.put(
+        isMethod()
+            .and(named("sendCommand"))
+            .and(takesArgument(0, named("redis.clients.jedis.commands.ProtocolCommand")))
+            .and(takesArgument(1, byte[][].class)),
+        JedisInstrumentation.class.getName() + "$JedisBinaryArgumentsAdvice");
+    transformers.put(
         isMethod()
             .and(named("sendCommand"))
-            .and(takesArgument(0, named("redis.clients.jedis.commands.ProtocolCommand"))),
+            .and(takesArgument(0, named("redis.clients.jedis.commands.ProtocolCommand")))
+            .and(not(takesArgument(1, byte[][].class))),
         JedisInstrumentation.class.getName() + "$JedisAdvice");
     // FIXME: This instrumentation only incorporates sending the command, not processing the result.
+    return transformers;
   }
 
   public static class JedisAdvice {
@@ -79,18 +95,47 @@ public final class JedisInstrumentation extends Instrumenter.Default {
         return null;
       }
 
-      String query;
-      if (command instanceof Protocol.Command) {
-        query = ((Protocol.Command) command).name();
-      } else {
-        // Protocol.Command is the only implementation in the Jedis lib as of 3.1 but this will save
-        // us if that changes
-        query = new String(command.getRaw(), StandardCharsets.UTF_8);
+      String commandName = DECORATE.commandName(command);
+      Span span = TRACER.spanBuilder(commandName).setSpanKind(CLIENT).startSpan();
+      DECORATE.afterStart(span);
+      DECORATE.onConnection(span, connection);
+      DECORATE.onStatement(span, commandName);
+      return new SpanWithScope(span, currentContextWith(span));
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void stopSpan(
+        @Advice.Enter SpanWithScope spanWithScope, @Advice.Thrown Throwable throwable) {
+      if (spanWithScope == null) {
+        return;
       }
-      Span span = TRACER.spanBuilder(query).setSpanKind(CLIENT).startSpan();
+      CallDepthThreadLocalMap.reset(Connection.class);
+
+      Span span = spanWithScope.getSpan();
+      DECORATE.onError(span, throwable);
+      DECORATE.beforeFinish(span);
+      span.end();
+      spanWithScope.closeScope();
+    }
+  }
+
+  public static class JedisBinaryArgumentsAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static SpanWithScope onEnter(
+        @Advice.This Connection connection,
+        @Advice.Argument(0) ProtocolCommand command,
+        @Advice.Argument(1) byte[][] args) {
+      int callDepth = CallDepthThreadLocalMap.incrementCallDepth(Connection.class);
+      if (callDepth > 0) {
+        return null;
+      }
+
+      String commandName = DECORATE.commandName(command);
+      Span span = TRACER.spanBuilder(commandName).setSpanKind(CLIENT).startSpan();
       DECORATE.afterStart(span);
       DECORATE.onConnection(span, connection);
-      DECORATE.onStatement(span, query);
+      DECORATE.onStatement(span, DECORATE.statement(commandName, args));
       return new SpanWithScope(span, currentContextWith(span));
     }
 
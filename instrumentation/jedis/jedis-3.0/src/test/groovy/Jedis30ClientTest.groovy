@@ -14,10 +14,12 @@
  * limitations under the License.
  */
 
+import static io.opentelemetry.auto.test.utils.ConfigUtils.withConfigOverride
 import static io.opentelemetry.trace.Span.Kind.CLIENT
 
 import io.opentelemetry.auto.test.AgentTestRunner
 import io.opentelemetry.auto.test.utils.PortUtils
+import io.opentelemetry.instrumentation.api.config.Config
 import io.opentelemetry.trace.attributes.SemanticAttributes
 import redis.clients.jedis.Jedis
 import redis.embedded.RedisServer
@@ -73,6 +75,28 @@ class Jedis30ClientTest extends AgentTestRunner {
     }
   }
 
+  def "set command with key capture"() {
+    when:
+    withConfigOverride(Config.REDIS_KEY_CAPTURE_ENABLED, "true") {
+      jedis.set("foo", "secret value")
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          operationName "SET"
+          spanKind CLIENT
+          attributes {
+            "${SemanticAttributes.DB_SYSTEM.key()}" "redis"
+            "${SemanticAttributes.DB_CONNECTION_STRING.key()}" "localhost:$port"
+            "${SemanticAttributes.DB_STATEMENT.key()}" "SET foo"
+          }
+        }
+      }
+    }
+  }
+
   def "get command"() {
     when:
     jedis.set("foo", "bar")
@@ -20,8 +20,6 @@ import static io.opentelemetry.instrumentation.auto.jetty.JettyHttpServerTracer.
 
 import io.grpc.Context;
 import io.opentelemetry.context.Scope;
-import io.opentelemetry.instrumentation.auto.servlet.v3_0.CountingHttpServletRequest;
-import io.opentelemetry.instrumentation.auto.servlet.v3_0.CountingHttpServletResponse;
 import io.opentelemetry.instrumentation.auto.servlet.v3_0.TagSettingAsyncListener;
 import io.opentelemetry.trace.Span;
 import java.lang.reflect.Method;
@@ -36,8 +34,7 @@ public class JettyHandlerAdvice {
   public static void onEnter(
       @Advice.Origin Method method,
       @Advice.This Object source,
-      @Advice.Argument(value = 2, readOnly = false) HttpServletRequest request,
-      @Advice.Argument(value = 3, readOnly = false) HttpServletResponse response,
+      @Advice.Argument(2) HttpServletRequest request,
       @Advice.Local("otelSpan") Span span,
       @Advice.Local("otelScope") Scope scope) {
 
@@ -49,11 +46,6 @@ public class JettyHandlerAdvice {
 
     span = TRACER.startSpan(request, request, method);
     scope = TRACER.startScope(span, request);
-
-    if (!(response instanceof CountingHttpServletResponse)) {
-      response = new CountingHttpServletResponse(response);
-      request = new CountingHttpServletRequest(request, response);
-    }
   }
 
   @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
@@ -80,16 +72,18 @@ public class JettyHandlerAdvice {
       return;
     }
 
-    AtomicBoolean responseHandled = new AtomicBoolean(false);
+    if (!request.isAsyncStarted()) {
+      TRACER.end(span, response);
+      return;
+    }
 
     // In case of async servlets wait for the actual response to be ready
-    if (request.isAsyncStarted()) {
-      try {
-        request.getAsyncContext().addListener(new TagSettingAsyncListener(responseHandled, span));
-      } catch (IllegalStateException e) {
-        // org.eclipse.jetty.server.Request may throw an exception here if request became
-        // finished after check above. We just ignore that exception and move on.
-      }
+    AtomicBoolean responseHandled = new AtomicBoolean(false);
+    try {
+      request.getAsyncContext().addListener(new TagSettingAsyncListener(responseHandled, span));
+    } catch (IllegalStateException e) {
+      // org.eclipse.jetty.server.Request may throw an exception here if request became
+      // finished after check above. We just ignore that exception and move on.
     }
 
     // Check again in case the request finished before adding the listener.
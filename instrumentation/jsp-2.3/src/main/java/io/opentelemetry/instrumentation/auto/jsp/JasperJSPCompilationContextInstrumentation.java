@@ -27,6 +27,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -42,6 +43,11 @@ public final class JasperJSPCompilationContextInstrumentation extends Instrument
     super("jsp", "jsp-compile");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("org.apache.jasper.JspCompilationContext");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("org.apache.jasper.JspCompilationContext");
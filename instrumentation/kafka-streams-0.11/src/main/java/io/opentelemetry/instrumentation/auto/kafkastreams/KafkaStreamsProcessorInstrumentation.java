@@ -34,6 +34,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.SpanWithScope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -67,6 +68,11 @@ public class KafkaStreamsProcessorInstrumentation {
       super("kafka", "kafka-streams");
     }
 
+    @Override
+    public NamePrecondition namePrecondition() {
+      return NamePrecondition.named("org.apache.kafka.streams.processor.internals.PartitionGroup");
+    }
+
     @Override
     public ElementMatcher<TypeDescription> typeMatcher() {
       return named("org.apache.kafka.streams.processor.internals.PartitionGroup");
@@ -124,6 +130,11 @@ public class KafkaStreamsProcessorInstrumentation {
       super("kafka", "kafka-streams");
     }
 
+    @Override
+    public NamePrecondition namePrecondition() {
+      return NamePrecondition.named("org.apache.kafka.streams.processor.internals.StreamTask");
+    }
+
     @Override
     public ElementMatcher<TypeDescription> typeMatcher() {
       return named("org.apache.kafka.streams.processor.internals.StreamTask");
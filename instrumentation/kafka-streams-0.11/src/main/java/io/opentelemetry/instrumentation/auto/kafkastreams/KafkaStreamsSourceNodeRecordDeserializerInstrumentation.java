@@ -25,6 +25,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
@@ -41,6 +42,12 @@ public class KafkaStreamsSourceNodeRecordDeserializerInstrumentation extends Ins
     super("kafka", "kafka-streams");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "org.apache.kafka.streams.processor.internals.SourceNodeRecordDeserializer");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("org.apache.kafka.streams.processor.internals.SourceNodeRecordDeserializer");
@@ -23,6 +23,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -35,6 +36,11 @@ public class LettuceAsyncCommandsInstrumentation extends Instrumenter.Default {
     super("lettuce", "lettuce-4", "lettuce-4-async");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.lambdaworks.redis.AbstractRedisAsyncCommands");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.lambdaworks.redis.AbstractRedisAsyncCommands");
@@ -22,6 +22,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -34,6 +35,11 @@ public final class LettuceClientInstrumentation extends Instrumenter.Default {
     super("lettuce", "lettuce-4");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.lambdaworks.redis.RedisClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.lambdaworks.redis.RedisClient");
@@ -19,9 +19,12 @@ package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
 import static io.opentelemetry.instrumentation.auto.lettuce.v5_0.LettuceDatabaseClientTracer.TRACER;
 import static io.opentelemetry.instrumentation.auto.lettuce.v5_0.LettuceInstrumentationUtil.expectsResponse;
 
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.protocol.AsyncCommand;
 import io.lettuce.core.protocol.RedisCommand;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.trace.Span;
 import net.bytebuddy.asm.Advice;
 
@@ -30,9 +33,23 @@ public class LettuceAsyncCommandsAdvice {
   @Advice.OnMethodEnter(suppress = Throwable.class)
   public static void onEnter(
       @Advice.Argument(0) RedisCommand<?, ?, ?> command,
+      @Advice.FieldValue("connection") StatefulConnection<?, ?> connection,
+      @Advice.Local("otelPipeline") LettucePipeline pipeline,
       @Advice.Local("otelSpan") Span span,
       @Advice.Local("otelScope") Scope scope) {
 
+    // pipelines are only collected when enabled, the default path skips the context store
+    if (LettucePipeline.isEnabled() && connection instanceof RedisChannelHandler) {
+      pipeline =
+          InstrumentationContext.get(RedisChannelHandler.class, LettucePipeline.class)
+              .get((RedisChannelHandler<?, ?>) connection);
+      if (pipeline != null && pipeline.isManualFlush()) {
+        // reported as part of the pipeline span when the commands get flushed
+        return;
+      }
+      pipeline = null;
+    }
+
     span = TRACER.startSpan(null, command);
     scope = TRACER.startScope(span);
   }
@@ -42,8 +59,16 @@ public class LettuceAsyncCommandsAdvice {
       @Advice.Argument(0) RedisCommand<?, ?, ?> command,
       @Advice.Thrown Throwable throwable,
       @Advice.Return AsyncCommand<?, ?, ?> asyncCommand,
+      @Advice.Local("otelPipeline") LettucePipeline pipeline,
       @Advice.Local("otelSpan") Span span,
       @Advice.Local("otelScope") Scope scope) {
+    if (pipeline != null) {
+      if (throwable == null) {
+        pipeline.add(command, asyncCommand);
+      }
+      return;
+    }
+
     scope.close();
 
     if (throwable != null) {
@@ -25,6 +25,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -42,6 +43,11 @@ public class LettuceAsyncCommandsInstrumentation extends Instrumenter.Default {
     return not(hasClassesNamed("io.lettuce.core.tracing.Tracing"));
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.lettuce.core.AbstractRedisAsyncCommands");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("io.lettuce.core.AbstractRedisAsyncCommands");
@@ -54,10 +60,16 @@ public class LettuceAsyncCommandsInstrumentation extends Instrumenter.Default {
       packageName + ".LettuceConnectionDatabaseClientTracer",
       packageName + ".LettuceDatabaseClientTracer",
       packageName + ".LettuceAsyncBiFunction",
-      packageName + ".LettuceInstrumentationUtil"
+      packageName + ".LettuceInstrumentationUtil",
+      packageName + ".LettucePipeline"
     };
   }
 
+  @Override
+  public Map<String, String> contextStore() {
+    return singletonMap("io.lettuce.core.RedisChannelHandler", packageName + ".LettucePipeline");
+  }
+
   @Override
   public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
     return singletonMap(
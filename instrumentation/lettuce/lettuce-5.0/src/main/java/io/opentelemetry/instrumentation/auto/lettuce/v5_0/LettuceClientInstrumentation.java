@@ -29,6 +29,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -46,6 +47,11 @@ public final class LettuceClientInstrumentation extends Instrumenter.Default {
     return not(hasClassesNamed("io.lettuce.core.tracing.Tracing"));
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.lettuce.core.RedisClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("io.lettuce.core.RedisClient");
@@ -16,7 +16,12 @@
 
 package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
 
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.protocol.CommandArgs;
 import io.lettuce.core.protocol.RedisCommand;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.tracer.utils.RedisCommandKeys;
+import java.nio.ByteBuffer;
 
 public class LettuceDatabaseClientTracer
     extends LettuceAbstractDatabaseClientTracer<RedisCommand<?, ?, ?>> {
@@ -24,6 +29,19 @@ public class LettuceDatabaseClientTracer
 
   @Override
   protected String normalizeQuery(RedisCommand<?, ?, ?> command) {
+    String commandName = LettuceInstrumentationUtil.getCommandName(command);
+    if (!Config.get().isRedisKeyCaptureEnabled() || command == null) {
+      return commandName;
+    }
+    // lettuce only tells keys apart from values for the first key
+    CommandArgs<?, ?> args = command.getArgs();
+    ByteBuffer key = args == null ? null : args.getFirstEncodedKey();
+    return key == null ? commandName : RedisCommandKeys.statement(commandName, key);
+  }
+
+  @Override
+  protected String spanName(
+      RedisURI connection, RedisCommand<?, ?, ?> command, String normalizedQuery) {
     return LettuceInstrumentationUtil.getCommandName(command);
   }
 }
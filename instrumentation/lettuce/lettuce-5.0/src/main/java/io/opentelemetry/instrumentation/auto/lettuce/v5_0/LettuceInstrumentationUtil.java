@@ -16,9 +16,14 @@
 
 package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
 
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
 import io.lettuce.core.protocol.RedisCommand;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 public class LettuceInstrumentationUtil {
@@ -29,6 +34,22 @@ public class LettuceInstrumentationUtil {
   public static final Set<String> nonInstrumentingCommands =
       new HashSet<>(Arrays.asList(NON_INSTRUMENTING_COMMAND_WORDS));
 
+  private static final String UNKNOWN_COMMAND = "Redis Command";
+
+  // resolved once so that the hot path is a table lookup instead of string manipulation
+  private static final Map<CommandType, String> COMMAND_NAMES = new EnumMap<>(CommandType.class);
+  private static final Set<CommandType> NO_RESPONSE_COMMANDS = EnumSet.noneOf(CommandType.class);
+
+  static {
+    for (CommandType type : CommandType.values()) {
+      String name = type.name().trim().intern();
+      COMMAND_NAMES.put(type, name);
+      if (nonInstrumentingCommands.contains(name)) {
+        NO_RESPONSE_COMMANDS.add(type);
+      }
+    }
+  }
+
   /**
    * Determines whether a redis command should finish its relevant span early (as soon as tags are
    * added and the command is executed) because these commands have no return values/call backs, so
@@ -38,8 +59,11 @@ public class LettuceInstrumentationUtil {
    * @return false if the span should finish early (the command will not have a return value)
    */
   public static boolean expectsResponse(RedisCommand command) {
-    String commandName = LettuceInstrumentationUtil.getCommandName(command);
-    return !nonInstrumentingCommands.contains(commandName);
+    ProtocolKeyword type = command == null ? null : command.getType();
+    if (type instanceof CommandType) {
+      return !NO_RESPONSE_COMMANDS.contains(type);
+    }
+    return !nonInstrumentingCommands.contains(getCommandName(command));
   }
 
   /**
@@ -49,14 +73,14 @@ public class LettuceInstrumentationUtil {
    * @return the redis command as a string
    */
   public static String getCommandName(RedisCommand command) {
-    String commandName = "Redis Command";
-    if (command != null) {
-
-      // get the redis command name (i.e. GET, SET, HMSET, etc)
-      if (command.getType() != null) {
-        commandName = command.getType().name().trim();
-      }
+    if (command == null) {
+      return UNKNOWN_COMMAND;
+    }
+    // get the redis command name (i.e. GET, SET, HMSET, etc)
+    ProtocolKeyword type = command.getType();
+    if (type instanceof CommandType) {
+      return COMMAND_NAMES.get(type);
     }
-    return commandName;
+    return type == null ? UNKNOWN_COMMAND : type.name().trim();
   }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
+
+import static io.opentelemetry.instrumentation.auto.lettuce.v5_0.LettuceConnectionDatabaseClientTracer.TRACER;
+
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.RedisCommand;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.trace.Span;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Collects the commands dispatched on a connection while it has auto flushing disabled, so that a
+ * pipeline is reported as a single span per {@code flushCommands()} instead of one span per
+ * command.
+ */
+public class LettucePipeline {
+
+  public static final String PIPELINE = "PIPELINE";
+
+  private volatile boolean manualFlush;
+
+  private List<AsyncCommand<?, ?, ?>> pendingCommands = new ArrayList<>();
+  // insertion ordered so that the histogram reads in dispatch order
+  private Map<String, int[]> commandCounts = new LinkedHashMap<>();
+  private int commandCount;
+
+  public static boolean isEnabled() {
+    return Config.get().isLettucePipelineTracingEnabled();
+  }
+
+  public boolean isManualFlush() {
+    return manualFlush;
+  }
+
+  public void setManualFlush(boolean manualFlush) {
+    this.manualFlush = manualFlush;
+  }
+
+  public synchronized void add(RedisCommand<?, ?, ?> command, AsyncCommand<?, ?, ?> asyncCommand) {
+    String commandName = LettuceInstrumentationUtil.getCommandName(command);
+    int[] count = commandCounts.get(commandName);
+    if (count == null) {
+      count = new int[1];
+      commandCounts.put(commandName, count);
+    }
+    count[0]++;
+    commandCount++;
+
+    // commands that never get a reply would keep the pipeline span open forever
+    if (LettuceInstrumentationUtil.expectsResponse(command)) {
+      pendingCommands.add(asyncCommand);
+    }
+  }
+
+  /** Starts a span covering the commands collected since the last flush. */
+  public void flush() {
+    List<AsyncCommand<?, ?, ?>> commands;
+    Map<String, int[]> counts;
+    int count;
+    synchronized (this) {
+      if (commandCount == 0) {
+        return;
+      }
+      commands = pendingCommands;
+      counts = commandCounts;
+      count = commandCount;
+      pendingCommands = new ArrayList<>();
+      commandCounts = new LinkedHashMap<>();
+      commandCount = 0;
+    }
+
+    Span span = TRACER.startSpan(null, PIPELINE);
+    span.setAttribute("db.redis.pipeline.commands", count);
+    span.setAttribute("db.redis.pipeline.command_types", histogram(counts));
+
+    AsyncCommand<?, ?, ?>[] futures = commands.toArray(new AsyncCommand<?, ?, ?>[0]);
+    CompletableFuture.allOf(futures).whenComplete((result, throwable) -> end(span, futures));
+  }
+
+  private static void end(Span span, AsyncCommand<?, ?, ?>[] commands) {
+    Throwable firstError = null;
+    int errors = 0;
+    for (AsyncCommand<?, ?, ?> command : commands) {
+      if (command.isCompletedExceptionally()) {
+        errors++;
+        if (firstError == null) {
+          firstError = getError(command);
+        }
+      }
+    }
+
+    if (errors > 0) {
+      span.setAttribute("db.redis.pipeline.errors", errors);
+    }
+    if (firstError instanceof CancellationException) {
+      span.setAttribute("db.command.cancelled", true);
+      TRACER.end(span);
+    } else if (firstError != null) {
+      TRACER.endExceptionally(span, firstError);
+    } else {
+      TRACER.end(span);
+    }
+  }
+
+  private static Throwable getError(AsyncCommand<?, ?, ?> command) {
+    try {
+      command.getNow(null);
+      return null;
+    } catch (CompletionException e) {
+      return e.getCause() != null ? e.getCause() : e;
+    } catch (CancellationException e) {
+      return e;
+    }
+  }
+
+  private static String histogram(Map<String, int[]> counts) {
+    StringBuilder sb = new StringBuilder(counts.size() * 12);
+    for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+      if (sb.length() > 0) {
+        sb.append(',');
+      }
+      sb.append(entry.getKey()).append('=').append(entry.getValue()[0]);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
+
+import static io.opentelemetry.javaagent.tooling.ClassLoaderMatcher.hasClassesNamed;
+import static java.util.Collections.singletonMap;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
+import java.util.HashMap;
+import java.util.Map;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Tracks whether a connection has auto flushing disabled and reports the commands collected in
+ * the meantime when they are flushed, see {@link LettucePipeline}.
+ */
+@AutoService(Instrumenter.class)
+public class LettucePipelineInstrumentation extends Instrumenter.Default {
+
+  public LettucePipelineInstrumentation() {
+    super("lettuce", "lettuce-5", "lettuce-5-async");
+  }
+
+  @Override
+  public ElementMatcher<ClassLoader> classLoaderMatcher() {
+    return not(hasClassesNamed("io.lettuce.core.tracing.Tracing"));
+  }
+
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.lettuce.core.RedisChannelHandler");
+  }
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("io.lettuce.core.RedisChannelHandler");
+  }
+
+  @Override
+  public String[] helperClassNames() {
+    return new String[] {
+      packageName + ".LettuceAbstractDatabaseClientTracer",
+      packageName + ".LettuceConnectionDatabaseClientTracer",
+      packageName + ".LettuceInstrumentationUtil",
+      packageName + ".LettucePipeline"
+    };
+  }
+
+  @Override
+  public Map<String, String> contextStore() {
+    return singletonMap("io.lettuce.core.RedisChannelHandler", packageName + ".LettucePipeline");
+  }
+
+  @Override
+  public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
+    Map<ElementMatcher<? super MethodDescription>, String> transformers = new HashMap<>();
+    // Cannot reference class directly here because it would lead to class load failure on Java7
+    transformers.put(
+        isMethod()
+            .and(named("setAutoFlushCommands"))
+            .and(takesArguments(1))
+            .and(takesArgument(0, boolean.class)),
+        packageName + ".LettuceSetAutoFlushCommandsAdvice");
+    transformers.put(
+        isMethod().and(named("flushCommands")).and(takesArguments(0)),
+        packageName + ".LettuceFlushCommandsAdvice");
+    return transformers;
+  }
+}
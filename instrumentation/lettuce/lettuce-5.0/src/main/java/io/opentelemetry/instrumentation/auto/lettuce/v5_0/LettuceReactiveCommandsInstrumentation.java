@@ -28,6 +28,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
@@ -46,6 +47,11 @@ public class LettuceReactiveCommandsInstrumentation extends Instrumenter.Default
     return not(hasClassesNamed("io.lettuce.core.tracing.Tracing"));
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.lettuce.core.AbstractRedisReactiveCommands");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("io.lettuce.core.AbstractRedisReactiveCommands");
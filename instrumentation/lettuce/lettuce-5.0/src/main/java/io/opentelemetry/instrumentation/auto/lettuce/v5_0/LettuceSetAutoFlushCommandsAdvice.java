@@ -0,0 +1,40 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.lettuce.v5_0;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.opentelemetry.instrumentation.auto.api.ContextStore;
+import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
+import net.bytebuddy.asm.Advice;
+
+public class LettuceSetAutoFlushCommandsAdvice {
+
+  @Advice.OnMethodExit(suppress = Throwable.class)
+  public static void onExit(
+      @Advice.This RedisChannelHandler<?, ?> handler, @Advice.Argument(0) boolean autoFlush) {
+    ContextStore<RedisChannelHandler, LettucePipeline> contextStore =
+        InstrumentationContext.get(RedisChannelHandler.class, LettucePipeline.class);
+    LettucePipeline pipeline = contextStore.get(handler);
+    if (pipeline == null) {
+      if (autoFlush || !LettucePipeline.isEnabled()) {
+        return;
+      }
+      pipeline = contextStore.putIfAbsent(handler, new LettucePipeline());
+    }
+    pipeline.setManualFlush(!autoFlush);
+  }
+}
@@ -14,6 +14,7 @@
  * limitations under the License.
  */
 
+import static io.opentelemetry.auto.test.utils.ConfigUtils.withConfigOverride
 import static io.opentelemetry.trace.Span.Kind.CLIENT
 
 import io.lettuce.core.ClientOptions
@@ -28,6 +29,7 @@ import io.lettuce.core.codec.StringCodec
 import io.lettuce.core.protocol.AsyncCommand
 import io.opentelemetry.auto.test.AgentTestRunner
 import io.opentelemetry.auto.test.utils.PortUtils
+import io.opentelemetry.instrumentation.api.config.Config
 import io.opentelemetry.trace.attributes.SemanticAttributes
 import java.util.concurrent.CancellationException
 import java.util.concurrent.CompletionException
@@ -421,6 +423,43 @@ class LettuceAsyncClientTest extends AgentTestRunner {
     }
   }
 
+  def "pipelined commands produce a single span per flush"() {
+    setup:
+    withConfigOverride(Config.LETTUCE_PIPELINE_TRACING_ENABLED, "true") {
+      asyncCommands.setAutoFlushCommands(false)
+    }
+    List<RedisFuture> futures = [
+      asyncCommands.set("PIPELINEKEY", "1"),
+      asyncCommands.incr("PIPELINEKEY"),
+      asyncCommands.incr("PIPELINEKEY"),
+      asyncCommands.del("PIPELINEKEY")
+    ]
+    ((AsyncCommand) futures[3]).completeExceptionally(new IllegalStateException("TestException"))
+
+    when:
+    asyncCommands.flushCommands()
+    futures[2].get(3, TimeUnit.SECONDS)
+
+    then:
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          operationName "PIPELINE"
+          spanKind CLIENT
+          errored true
+          errorEvent(IllegalStateException, "TestException")
+          attributes {
+            "${SemanticAttributes.DB_SYSTEM.key()}" "redis"
+            "${SemanticAttributes.DB_STATEMENT.key()}" "PIPELINE"
+            "db.redis.pipeline.commands" 4
+            "db.redis.pipeline.command_types" "SET=1,INCR=2,DEL=1"
+            "db.redis.pipeline.errors" 1
+          }
+        }
+      }
+    }
+  }
+
   def "cancel command before it finishes"() {
     setup:
     asyncCommands.setAutoFlushCommands(false)
@@ -14,6 +14,7 @@
  * limitations under the License.
  */
 
+import static io.opentelemetry.auto.test.utils.ConfigUtils.withConfigOverride
 import static io.opentelemetry.trace.Span.Kind.CLIENT
 
 import io.lettuce.core.ClientOptions
@@ -23,6 +24,7 @@ import io.lettuce.core.api.StatefulConnection
 import io.lettuce.core.api.sync.RedisCommands
 import io.opentelemetry.auto.test.AgentTestRunner
 import io.opentelemetry.auto.test.utils.PortUtils
+import io.opentelemetry.instrumentation.api.config.Config
 import io.opentelemetry.trace.attributes.SemanticAttributes
 import java.util.concurrent.CompletionException
 import redis.embedded.RedisServer
@@ -180,6 +182,36 @@ class LettuceSyncClientTest extends AgentTestRunner {
     }
   }
 
+  def "#command command with key capture"() {
+    when:
+    withConfigOverride(Config.REDIS_KEY_CAPTURE_ENABLED, "true") {
+      execute.call(syncCommands)
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          operationName command
+          spanKind CLIENT
+          errored false
+          attributes {
+            "${SemanticAttributes.DB_SYSTEM.key()}" "redis"
+            "${SemanticAttributes.DB_STATEMENT.key()}" statement
+          }
+        }
+      }
+    }
+
+    where:
+    command | execute                                       | statement
+    "SET"   | { it.set("TESTSETKEY", "secret value") }      | "SET TESTSETKEY"
+    "MSET"  | { it.mset([key1: "value1", key2: "value2"]) } | "MSET key1"
+    "MGET"  | { it.mget("key1", "key2") }                   | "MGET key1"
+    "GET"   | { it.get("k" * 100) }                         | "GET " + "k" * 64 + "..."
+    "GET"   | { it.get("new\nline") }                       | "GET new?line"
+  }
+
   def "get command"() {
     setup:
     String res = syncCommands.get("TESTKEY")
@@ -26,6 +26,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import com.google.auto.service.AutoService;
 import io.lettuce.core.resource.DefaultClientResources;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
@@ -44,6 +45,11 @@ public class LettuceClientResourcesInstrumentation extends Instrumenter.Default
     return hasClassesNamed("io.lettuce.core.tracing.Tracing");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("io.lettuce.core.resource.DefaultClientResources");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("io.lettuce.core.resource.DefaultClientResources");
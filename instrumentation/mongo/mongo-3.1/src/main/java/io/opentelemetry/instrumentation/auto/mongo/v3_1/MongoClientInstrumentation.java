@@ -28,6 +28,7 @@ import com.mongodb.MongoClientOptions;
 import com.mongodb.event.CommandListener;
 import io.opentelemetry.instrumentation.auto.mongo.TracingCommandListener;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.List;
@@ -44,6 +45,11 @@ public final class MongoClientInstrumentation extends Instrumenter.Default {
     super("mongo");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.mongodb.MongoClientOptions$Builder");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.mongodb.MongoClientOptions$Builder")
@@ -29,6 +29,7 @@ import com.mongodb.async.client.MongoClientSettings;
 import com.mongodb.event.CommandListener;
 import io.opentelemetry.instrumentation.auto.mongo.TracingCommandListener;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +46,11 @@ public final class MongoAsyncClientInstrumentation extends Instrumenter.Default
     super("mongo");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("com.mongodb.async.client.MongoClientSettings$Builder");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("com.mongodb.async.client.MongoClientSettings$Builder")
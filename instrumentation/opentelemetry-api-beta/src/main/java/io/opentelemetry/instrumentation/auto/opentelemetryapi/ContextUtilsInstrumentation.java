@@ -29,6 +29,7 @@ import io.opentelemetry.instrumentation.auto.api.ContextStore;
 import io.opentelemetry.instrumentation.auto.api.InstrumentationContext;
 import io.opentelemetry.instrumentation.auto.opentelemetryapi.context.ContextUtils;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -39,6 +40,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 @AutoService(Instrumenter.class)
 public class ContextUtilsInstrumentation extends AbstractInstrumentation {
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("application.io.opentelemetry.context.ContextUtils");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("application.io.opentelemetry.context.ContextUtils");
@@ -26,6 +26,7 @@ import application.io.grpc.Context;
 import application.io.opentelemetry.correlationcontext.CorrelationContext;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -38,6 +39,12 @@ import net.bytebuddy.matcher.ElementMatcher;
 // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/973
 @AutoService(Instrumenter.class)
 public class CorrelationsContextUtilsInstrumentation extends AbstractInstrumentation {
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "application.io.opentelemetry.correlationcontext.CorrelationsContextUtils");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("application.io.opentelemetry.correlationcontext.CorrelationsContextUtils");
@@ -25,6 +25,7 @@ import application.io.opentelemetry.trace.Span;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.opentelemetryapi.trace.Bridging;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.DefaultSpan;
 import java.util.Collections;
 import java.util.Map;
@@ -35,6 +36,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 
 @AutoService(Instrumenter.class)
 public class DefaultSpanInstrumentation extends AbstractInstrumentation {
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("application.io.opentelemetry.trace.DefaultSpan");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("application.io.opentelemetry.trace.DefaultSpan");
@@ -31,6 +31,7 @@ import io.opentelemetry.instrumentation.auto.opentelemetryapi.context.propagatio
 import io.opentelemetry.instrumentation.auto.opentelemetryapi.metrics.ApplicationMeterProvider;
 import io.opentelemetry.instrumentation.auto.opentelemetryapi.trace.ApplicationTracerProvider;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -41,6 +42,11 @@ import net.bytebuddy.matcher.ElementMatcher;
 @AutoService(Instrumenter.class)
 public class OpenTelemetryApiInstrumentation extends AbstractInstrumentation {
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("application.io.opentelemetry.OpenTelemetry");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("application.io.opentelemetry.OpenTelemetry");
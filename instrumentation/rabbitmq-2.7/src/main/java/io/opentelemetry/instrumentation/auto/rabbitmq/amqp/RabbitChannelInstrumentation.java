@@ -74,8 +74,8 @@ public class RabbitChannelInstrumentation extends Instrumenter.Default {
   }
 
   @Override
-  public ElementMatcher<ClassLoader> classLoaderMatcher() {
-    // Optimization for expensive typeMatcher.
+  public ElementMatcher<ClassLoader> classLoaderTrigger() {
+    // Optimization for expensive typeMatcher, also defers building the transformers.
     return hasClassesNamed("com.rabbitmq.client.Channel");
   }
 
@@ -23,6 +23,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.Map;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -35,6 +36,11 @@ public class ServerRegistryInstrumentation extends Instrumenter.Default {
     super("ratpack");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("ratpack.server.internal.ServerRegistry");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("ratpack.server.internal.ServerRegistry");
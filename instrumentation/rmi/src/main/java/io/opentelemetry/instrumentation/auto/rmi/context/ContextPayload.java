@@ -22,20 +22,41 @@ import io.grpc.Context;
 import io.opentelemetry.OpenTelemetry;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.TraceFlags;
+import io.opentelemetry.trace.TraceId;
+import io.opentelemetry.trace.TraceState;
 import io.opentelemetry.trace.Tracer;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** ContextPayload wraps context information shared between client and server */
+/**
+ * ContextPayload wraps context information shared between client and server
+ *
+ * <p>Two formats are supported:
+ *
+ * <ul>
+ *   <li>binary: version, trace id, span id, trace flags and trace state written with primitive
+ *       {@link ObjectOutput} methods, see {@link #writeBinary(SpanContext, ObjectOutput)}
+ *   <li>legacy: a serialized {@code HashMap} filled by the configured propagators, still read from
+ *       and sent to peers which only understand the old format
+ * </ul>
+ */
 public class ContextPayload {
 
   private static final Logger log = LoggerFactory.getLogger(ContextPayload.class);
 
+  static final byte BINARY_FORMAT_VERSION = 1;
+  // W3C trace context allows at most 32 list members
+  private static final int MAX_TRACE_STATE_ENTRIES = 32;
+
   public static final Tracer TRACER = OpenTelemetry.getTracer("io.opentelemetry.auto.rmi");
 
   private final Map<String, String> context;
@@ -70,6 +91,65 @@ public class ContextPayload {
     return null;
   }
 
+  /** Writes {@code spanContext} in the binary format. */
+  public static void writeBinary(SpanContext spanContext, ObjectOutput out) throws IOException {
+    byte[] buffer = new byte[TraceId.getSize()];
+    out.writeByte(BINARY_FORMAT_VERSION);
+    spanContext.getTraceId().copyBytesTo(buffer, 0);
+    out.write(buffer, 0, TraceId.getSize());
+    spanContext.getSpanId().copyBytesTo(buffer, 0);
+    out.write(buffer, 0, SpanId.getSize());
+    out.writeByte(spanContext.getTraceFlags().getByte());
+
+    List<TraceState.Entry> entries = spanContext.getTraceState().getEntries();
+    int entryCount = Math.min(entries.size(), MAX_TRACE_STATE_ENTRIES);
+    out.writeByte(entryCount);
+    for (int i = 0; i < entryCount; i++) {
+      TraceState.Entry entry = entries.get(i);
+      out.writeUTF(entry.getKey());
+      out.writeUTF(entry.getValue());
+    }
+  }
+
+  /**
+   * Reads a span context written by {@link #writeBinary(SpanContext, ObjectOutput)}.
+   *
+   * @return the remote span context or {@code null} if the payload version is not supported.
+   */
+  public static SpanContext readBinary(ObjectInput in) throws IOException {
+    byte version = in.readByte();
+    if (version != BINARY_FORMAT_VERSION) {
+      log.debug("Unsupported context payload version {}", version);
+      return null;
+    }
+    byte[] buffer = new byte[TraceId.getSize()];
+    in.readFully(buffer, 0, TraceId.getSize());
+    TraceId traceId = TraceId.fromBytes(buffer, 0);
+    in.readFully(buffer, 0, SpanId.getSize());
+    SpanId spanId = SpanId.fromBytes(buffer, 0);
+    TraceFlags traceFlags = TraceFlags.fromByte(in.readByte());
+
+    int entryCount = in.readUnsignedByte();
+    TraceState traceState = TraceState.getDefault();
+    if (entryCount > 0) {
+      TraceState.Builder builder = TraceState.builder();
+      // entries are written in list order and set() prepends, so add them back to front
+      String[] keysAndValues = new String[entryCount * 2];
+      for (int i = 0; i < keysAndValues.length; i++) {
+        keysAndValues[i] = in.readUTF();
+      }
+      try {
+        for (int i = keysAndValues.length - 2; i >= 0; i -= 2) {
+          builder.set(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        traceState = builder.build();
+      } catch (IllegalArgumentException e) {
+        log.debug("Dropping invalid trace state", e);
+      }
+    }
+    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, traceState);
+  }
+
   public Map<String, String> getContext() {
     return context;
   }
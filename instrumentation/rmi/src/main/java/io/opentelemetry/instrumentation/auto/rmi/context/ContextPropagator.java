@@ -37,9 +37,17 @@ public class ContextPropagator {
   private static final ObjID DGC_ID = new ObjID(ObjID.DGC_ID);
   private static final ObjID REGISTRY_ID = new ObjID(ObjID.REGISTRY_ID);
 
-  // RMI object id used to identify agent instrumentation
+  // RMI object id used to identify agent instrumentation, its calls carry the legacy map payload
   public static final ObjID CONTEXT_CALL_ID =
       new ObjID("io.opentelemetry.auto.v1.context_call".hashCode());
+  // RMI object id used by servers which accept the binary payload
+  public static final ObjID BINARY_CONTEXT_CALL_ID =
+      new ObjID("io.opentelemetry.auto.v2.context_call".hashCode());
+
+  // Values cached per connection
+  public static final int NO_PROPAGATION = 0;
+  public static final int LEGACY_PROPAGATION = 1;
+  public static final int BINARY_PROPAGATION = 2;
 
   // Operation id used for checking context propagation is possible
   // RMI expects these operations to have negative identifier, as positive ones mean legacy
@@ -59,35 +67,47 @@ public class ContextPropagator {
   }
 
   public void attemptToPropagateContext(
-      ContextStore<Connection, Boolean> knownConnections, Connection c, Span span) {
-    if (checkIfContextCanBePassed(knownConnections, c)) {
-      if (!syntheticCall(c, ContextPayload.from(span), CONTEXT_PAYLOAD_OPERATION_ID)) {
+      ContextStore<Connection, Integer> knownConnections, Connection c, Span span) {
+    int propagation = checkIfContextCanBePassed(knownConnections, c);
+    if (propagation != NO_PROPAGATION) {
+      if (!syntheticCall(c, propagation, span, CONTEXT_PAYLOAD_OPERATION_ID)) {
         log.debug("Couldn't send context payload");
       }
     }
   }
 
-  private boolean checkIfContextCanBePassed(
-      ContextStore<Connection, Boolean> knownConnections, Connection c) {
-    Boolean storedResult = knownConnections.get(c);
+  private int checkIfContextCanBePassed(
+      ContextStore<Connection, Integer> knownConnections, Connection c) {
+    Integer storedResult = knownConnections.get(c);
     if (storedResult != null) {
       return storedResult;
     }
 
-    boolean result = syntheticCall(c, null, CONTEXT_CHECK_CALL_OPERATION_ID);
+    // servers instrumented by older agent versions only know the legacy object id and reject the
+    // binary one with NoSuchObjectException, just like uninstrumented servers reject both
+    int result = NO_PROPAGATION;
+    if (syntheticCall(c, BINARY_PROPAGATION, null, CONTEXT_CHECK_CALL_OPERATION_ID)) {
+      result = BINARY_PROPAGATION;
+    } else if (syntheticCall(c, LEGACY_PROPAGATION, null, CONTEXT_CHECK_CALL_OPERATION_ID)) {
+      result = LEGACY_PROPAGATION;
+    }
     knownConnections.put(c, result);
     return result;
   }
 
   /** @return true when no error happened during call */
-  private boolean syntheticCall(Connection c, ContextPayload payload, int operationId) {
+  private boolean syntheticCall(Connection c, int propagation, Span span, int operationId) {
     StreamRemoteCall shareContextCall = new StreamRemoteCall(c);
     try {
       c.getOutputStream().write(TransportConstants.Call);
 
       ObjectOutput out = shareContextCall.getOutputStream();
 
-      CONTEXT_CALL_ID.write(out);
+      if (propagation == BINARY_PROPAGATION) {
+        BINARY_CONTEXT_CALL_ID.write(out);
+      } else {
+        CONTEXT_CALL_ID.write(out);
+      }
 
       // call header, part 2 (read by Dispatcher)
       out.writeInt(operationId); // in normal call this is method number (operation index)
@@ -98,8 +118,12 @@ public class ContextPropagator {
       // if method is not found by un-instrumented code then writing payload will cause an exception
       // in RMI server - as the payload will be interpreted as another call
       // but it will not be parsed correctly - closing connection
-      if (payload != null) {
-        payload.write(out);
+      if (span != null) {
+        if (propagation == BINARY_PROPAGATION) {
+          ContextPayload.writeBinary(span.getContext(), out);
+        } else {
+          ContextPayload.from(span).write(out);
+        }
       }
 
       try {
@@ -44,13 +44,13 @@ import sun.rmi.transport.Connection;
  * backwards compatible check to ensure if the other side is prepared to receive context propagation
  * messages then if successful sends a context propagation message
  *
- * <p>Context propagation consist of a Serialized HashMap with all data set by usual context
- * injection, which includes things like sampling priority, trace and parent id
- *
- * <p>As well as optional baggage items
+ * <p>Context propagation consists of a compact binary encoding of the span context: trace id, span
+ * id, trace flags and trace state. Servers instrumented by older agent versions are sent a
+ * Serialized HashMap with all data set by usual context injection instead, which includes things
+ * like sampling priority, trace and parent id as well as optional baggage items
  *
  * <p>On the other side of the communication a special Dispatcher is created when a message with
- * CONTEXT_CALL_ID is received.
+ * BINARY_CONTEXT_CALL_ID or CONTEXT_CALL_ID is received.
  *
  * <p>If the server is not instrumented first call will gracefully fail just like any other unknown
  * call. With small caveat that this first call needs to *not* have any parameters, since those will
@@ -73,7 +73,7 @@ public class RmiClientContextInstrumentation extends Instrumenter.Default {
   @Override
   public Map<String, String> contextStore() {
     // caching if a connection can support enhanced format
-    return singletonMap("sun.rmi.transport.Connection", "java.lang.Boolean");
+    return singletonMap("sun.rmi.transport.Connection", "java.lang.Integer");
   }
 
   @Override
@@ -109,8 +109,8 @@ public class RmiClientContextInstrumentation extends Instrumenter.Default {
         return;
       }
 
-      ContextStore<Connection, Boolean> knownConnections =
-          InstrumentationContext.get(Connection.class, Boolean.class);
+      ContextStore<Connection, Integer> knownConnections =
+          InstrumentationContext.get(Connection.class, Integer.class);
 
       PROPAGATOR.attemptToPropagateContext(knownConnections, c, activeSpan);
     }
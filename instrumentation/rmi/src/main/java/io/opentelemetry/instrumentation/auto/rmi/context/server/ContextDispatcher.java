@@ -19,6 +19,7 @@ package io.opentelemetry.instrumentation.auto.rmi.context.server;
 import static io.opentelemetry.instrumentation.api.decorator.BaseDecorator.extract;
 import static io.opentelemetry.instrumentation.auto.api.rmi.ThreadLocalContext.THREAD_LOCAL_CONTEXT;
 import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPayload.GETTER;
+import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPropagator.BINARY_CONTEXT_CALL_ID;
 import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPropagator.CONTEXT_CALL_ID;
 import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPropagator.PROPAGATOR;
 
@@ -41,15 +42,30 @@ import sun.rmi.transport.Target;
  *
  * <p>Because caching of the result after first call on a connection, only payload calls are
  * expected
+ *
+ * <p>Calls to BINARY_CONTEXT_CALL_ID carry the binary payload, calls to CONTEXT_CALL_ID come from
+ * clients instrumented by older agent versions and carry the legacy map payload
  */
 public class ContextDispatcher implements Dispatcher {
-  private static final ContextDispatcher CONTEXT_DISPATCHER = new ContextDispatcher();
+  private static final ContextDispatcher CONTEXT_DISPATCHER = new ContextDispatcher(false);
+  private static final ContextDispatcher BINARY_CONTEXT_DISPATCHER = new ContextDispatcher(true);
   private static final NoopRemote NOOP_REMOTE = new NoopRemote();
 
+  private final boolean binary;
+
+  private ContextDispatcher(boolean binary) {
+    this.binary = binary;
+  }
+
   public static Target newDispatcherTarget() {
     return new Target(NOOP_REMOTE, CONTEXT_DISPATCHER, NOOP_REMOTE, CONTEXT_CALL_ID, false);
   }
 
+  public static Target newBinaryDispatcherTarget() {
+    return new Target(
+        NOOP_REMOTE, BINARY_CONTEXT_DISPATCHER, NOOP_REMOTE, BINARY_CONTEXT_CALL_ID, false);
+  }
+
   @Override
   public void dispatch(Remote obj, RemoteCall call) throws IOException {
     ObjectInput in = call.getInputStream();
@@ -57,9 +73,16 @@ public class ContextDispatcher implements Dispatcher {
     in.readLong(); // skip 8 bytes
 
     if (PROPAGATOR.isOperationWithPayload(operationId)) {
-      ContextPayload payload = ContextPayload.read(in);
-      if (payload != null) {
-        SpanContext context = extract(payload, GETTER);
+      SpanContext context = null;
+      if (binary) {
+        context = ContextPayload.readBinary(in);
+      } else {
+        ContextPayload payload = ContextPayload.read(in);
+        if (payload != null) {
+          context = extract(payload, GETTER);
+        }
+      }
+      if (context != null) {
         if (context.isValid()) {
           THREAD_LOCAL_CONTEXT.set(context);
         } else {
@@ -16,6 +16,7 @@
 
 package io.opentelemetry.instrumentation.auto.rmi.context.server;
 
+import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPropagator.BINARY_CONTEXT_CALL_ID;
 import static io.opentelemetry.instrumentation.auto.rmi.context.ContextPropagator.CONTEXT_CALL_ID;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.extendsClass;
 import static java.util.Collections.singletonMap;
@@ -76,10 +77,12 @@ public class RmiServerContextInstrumentation extends Instrumenter.Default {
       // ObjID and ObjectEndpoint objects
       // ObjectEndpoint#toString() only returns this.objId.toString() value which is exactly
       // what we're interested in here.
-      if (!CONTEXT_CALL_ID.toString().equals(oe.toString())) {
-        return;
+      String id = oe.toString();
+      if (BINARY_CONTEXT_CALL_ID.toString().equals(id)) {
+        result = ContextDispatcher.newBinaryDispatcherTarget();
+      } else if (CONTEXT_CALL_ID.toString().equals(id)) {
+        result = ContextDispatcher.newDispatcherTarget();
       }
-      result = ContextDispatcher.newDispatcherTarget();
     }
   }
 }
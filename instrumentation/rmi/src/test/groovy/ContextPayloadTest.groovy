@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import io.opentelemetry.instrumentation.auto.rmi.context.ContextPayload
+import io.opentelemetry.trace.SpanContext
+import io.opentelemetry.trace.SpanId
+import io.opentelemetry.trace.TraceFlags
+import io.opentelemetry.trace.TraceId
+import io.opentelemetry.trace.TraceState
+
+class ContextPayloadTest extends AgentSpecification {
+
+  def "binary payload round trip with #traceState"() {
+    setup:
+    def spanContext = SpanContext.create(
+      TraceId.fromLowerBase16("ff000000000000000000000000000041", 0),
+      SpanId.fromLowerBase16("ff00000000000041", 0),
+      TraceFlags.fromByte((byte) 1),
+      traceState)
+
+    when:
+    def bytes = new ByteArrayOutputStream()
+    def out = new ObjectOutputStream(bytes)
+    ContextPayload.writeBinary(spanContext, out)
+    out.close()
+    def result = ContextPayload.readBinary(new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+
+    then:
+    result.traceId == spanContext.traceId
+    result.spanId == spanContext.spanId
+    result.traceFlags == spanContext.traceFlags
+    result.traceState == traceState
+    result.remote
+
+    where:
+    traceState << [
+      TraceState.getDefault(),
+      TraceState.builder().set("foo", "bar").set("baz", "qux").build()
+    ]
+  }
+
+  def "unsupported binary payload version is ignored"() {
+    when:
+    def bytes = new ByteArrayOutputStream()
+    def out = new ObjectOutputStream(bytes)
+    out.writeByte(42)
+    out.close()
+
+    then:
+    ContextPayload.readBinary(new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) == null
+  }
+
+  def "legacy map payload is still readable"() {
+    when:
+    def bytes = new ByteArrayOutputStream()
+    def out = new ObjectOutputStream(bytes)
+    new ContextPayload(["traceparent": "00-ff000000000000000000000000000041-ff00000000000041-01"]).write(out)
+    out.close()
+    def payload = ContextPayload.read(new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+
+    then:
+    payload.context == ["traceparent": "00-ff000000000000000000000000000041-ff00000000000041-01"]
+  }
+}
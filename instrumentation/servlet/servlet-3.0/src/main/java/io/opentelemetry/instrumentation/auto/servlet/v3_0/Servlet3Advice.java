@@ -35,8 +35,8 @@ public class Servlet3Advice {
   @Advice.OnMethodEnter(suppress = Throwable.class)
   public static void onEnter(
       @Advice.Origin Method method,
-      @Advice.Argument(value = 0, readOnly = false) ServletRequest request,
-      @Advice.Argument(value = 1, readOnly = false) ServletResponse response,
+      @Advice.Argument(0) ServletRequest request,
+      @Advice.Argument(1) ServletResponse response,
       @Advice.Local("otelSpan") Span span,
       @Advice.Local("otelScope") Scope scope) {
     if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
@@ -56,12 +56,6 @@ public class Servlet3Advice {
 
     span = TRACER.startSpan(httpServletRequest, httpServletRequest, method);
     scope = TRACER.startScope(span, httpServletRequest);
-    if (!(response instanceof CountingHttpServletResponse)) {
-      response = new CountingHttpServletResponse((HttpServletResponse) response);
-      request =
-          new CountingHttpServletRequest(
-              (HttpServletRequest) request, (HttpServletResponse) response);
-    }
   }
 
   @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
@@ -87,16 +81,18 @@ public class Servlet3Advice {
       return;
     }
 
-    AtomicBoolean responseHandled = new AtomicBoolean(false);
+    if (!request.isAsyncStarted()) {
+      TRACER.end(span, (HttpServletResponse) response);
+      return;
+    }
 
     // In case of async servlets wait for the actual response to be ready
-    if (request.isAsyncStarted()) {
-      try {
-        request.getAsyncContext().addListener(new TagSettingAsyncListener(responseHandled, span));
-      } catch (IllegalStateException e) {
-        // org.eclipse.jetty.server.Request may throw an exception here if request became
-        // finished after check above. We just ignore that exception and move on.
-      }
+    AtomicBoolean responseHandled = new AtomicBoolean(false);
+    try {
+      request.getAsyncContext().addListener(new TagSettingAsyncListener(responseHandled, span));
+    } catch (IllegalStateException e) {
+      // org.eclipse.jetty.server.Request may throw an exception here if request became
+      // finished after check above. We just ignore that exception and move on.
     }
 
     // Check again in case the request finished before adding the listener.
@@ -19,6 +19,7 @@ package io.opentelemetry.instrumentation.auto.servlet.v3_0;
 import static io.opentelemetry.trace.TracingContextUtils.getSpan;
 
 import io.grpc.Context;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.servlet.ServletHttpServerTracer;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Status;
@@ -30,6 +31,9 @@ public class Servlet3HttpServerTracer extends ServletHttpServerTracer<HttpServle
 
   public static final Servlet3HttpServerTracer TRACER = new Servlet3HttpServerTracer();
 
+  private static final boolean CAPTURE_CONTENT_LENGTH =
+      Config.get().isServletResponseContentLengthEnabled();
+
   @Override
   protected String getInstrumentationName() {
     return "io.opentelemetry.auto.servlet-3.0";
@@ -73,9 +77,12 @@ public class Servlet3HttpServerTracer extends ServletHttpServerTracer<HttpServle
   }
 
   private static void captureContentLength(Span span, HttpServletResponse response) {
-    if (response instanceof CountingHttpServletResponse) {
-      SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH.set(
-          span, ((CountingHttpServletResponse) response).getContentLength());
+    if (!CAPTURE_CONTENT_LENGTH || response == null) {
+      return;
+    }
+    long contentLength = ServletResponseContentLength.get(response);
+    if (contentLength >= 0) {
+      SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH.set(span, contentLength);
     }
   }
 
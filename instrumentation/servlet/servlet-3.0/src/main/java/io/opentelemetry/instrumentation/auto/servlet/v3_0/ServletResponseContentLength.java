@@ -0,0 +1,125 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.instrumentation.auto.servlet.v3_0;
+
+import static io.opentelemetry.instrumentation.auto.api.WeakMap.Provider.newWeakMap;
+
+import io.opentelemetry.instrumentation.auto.api.WeakMap;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+
+/**
+ * Reads the number of response body bytes written so far from the servlet container's own
+ * bookkeeping, instead of wrapping the response streams to count them.
+ *
+ * <p>Supported containers are Tomcat, Jetty and Undertow. For other containers the content length
+ * is not captured.
+ */
+public final class ServletResponseContentLength {
+
+  /** Chains of public no-arg getters that lead to a container byte counter. */
+  private static final String[][] COUNTER_GETTERS = {
+    // Tomcat: org.apache.catalina.connector.ResponseFacade / Response
+    {"getContentWritten"},
+    // Jetty 9+: org.eclipse.jetty.server.Response -> HttpOutput
+    {"getHttpOutput", "getWritten"},
+    // Jetty 7/8: org.eclipse.jetty.server.Response
+    {"getContentCount"},
+    // Undertow: io.undertow.servlet.spec.HttpServletResponseImpl -> HttpServerExchange
+    {"getExchange", "getResponseBytesSent"},
+  };
+
+  private static final Method[] UNSUPPORTED = new Method[0];
+
+  private static final WeakMap<Class<?>, Method[]> counters = newWeakMap();
+
+  /** @return the number of body bytes written, or {@code -1} if the container is not supported. */
+  public static long get(ServletResponse response) {
+    while (response instanceof ServletResponseWrapper) {
+      response = ((ServletResponseWrapper) response).getResponse();
+    }
+    if (response == null) {
+      return -1;
+    }
+
+    Method[] chain = counters.get(response.getClass());
+    if (chain == null) {
+      chain = resolve(response.getClass());
+      counters.put(response.getClass(), chain);
+    }
+    if (chain.length == 0) {
+      return -1;
+    }
+
+    try {
+      Object value = response;
+      for (Method method : chain) {
+        value = method.invoke(value);
+        if (value == null) {
+          return -1;
+        }
+      }
+      return ((Number) value).longValue();
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  private static Method[] resolve(Class<?> responseClass) {
+    nextChain:
+    for (String[] getters : COUNTER_GETTERS) {
+      Method[] chain = new Method[getters.length];
+      Class<?> currentClass = responseClass;
+      for (int i = 0; i < getters.length; i++) {
+        Method method = findPublicMethod(currentClass, getters[i]);
+        if (method == null) {
+          continue nextChain;
+        }
+        chain[i] = method;
+        currentClass = method.getReturnType();
+      }
+      if (Number.class.isAssignableFrom(currentClass) || isIntegral(currentClass)) {
+        return chain;
+      }
+    }
+    return UNSUPPORTED;
+  }
+
+  private static Method findPublicMethod(Class<?> clazz, String name) {
+    try {
+      Method method = clazz.getMethod(name);
+      // the declaring class may not be public even though the method is
+      if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+        method.setAccessible(true);
+      }
+      return method;
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (RuntimeException e) {
+      // SecurityException, or InaccessibleObjectException when the container's module is not open
+      return null;
+    }
+  }
+
+  private static boolean isIntegral(Class<?> type) {
+    return type == long.class || type == int.class;
+  }
+
+  private ServletResponseContentLength() {}
+}
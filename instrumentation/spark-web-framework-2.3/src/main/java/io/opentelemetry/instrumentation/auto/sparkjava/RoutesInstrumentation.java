@@ -26,6 +26,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.OpenTelemetry;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Tracer;
 import java.util.Map;
@@ -42,6 +43,11 @@ public class RoutesInstrumentation extends Instrumenter.Default {
     super("sparkjava", "sparkjava-2.4");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named("spark.route.Routes");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("spark.route.Routes");
@@ -26,6 +26,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.trace.Span;
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -48,6 +49,12 @@ public final class SpringRepositoryInstrumentation extends Instrumenter.Default
     super("spring-data");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "org.springframework.data.repository.core.support.RepositoryFactorySupport");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named("org.springframework.data.repository.core.support.RepositoryFactorySupport");
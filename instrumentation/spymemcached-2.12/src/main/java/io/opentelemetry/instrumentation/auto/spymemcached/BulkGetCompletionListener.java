@@ -17,6 +17,8 @@
 package io.opentelemetry.instrumentation.auto.spymemcached;
 
 import io.opentelemetry.trace.Span;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import net.spy.memcached.MemcachedConnection;
 import net.spy.memcached.internal.BulkGetFuture;
@@ -24,8 +26,16 @@ import net.spy.memcached.internal.BulkGetFuture;
 public class BulkGetCompletionListener extends CompletionListener<BulkGetFuture<?>>
     implements net.spy.memcached.internal.BulkGetCompletionListener {
 
-  public BulkGetCompletionListener(MemcachedConnection connection, String methodName) {
+  static final String BULK_KEYS = "memcached.bulk.keys";
+  static final String BULK_HITS = "memcached.bulk.hits";
+  static final String BULK_BYTES = "memcached.bulk.bytes";
+
+  private final int keyCount;
+
+  public BulkGetCompletionListener(
+      MemcachedConnection connection, String methodName, Object[] arguments) {
     super(connection, methodName);
+    keyCount = keyCount(arguments);
   }
 
   @Override
@@ -36,10 +46,70 @@ public class BulkGetCompletionListener extends CompletionListener<BulkGetFuture<
   @Override
   protected void processResult(Span span, BulkGetFuture<?> future)
       throws ExecutionException, InterruptedException {
-    /*
-    Note: for now we do not have an affective way of representing results of bulk operations,
-    i.e. we cannot say that we got 4 hits out of 10. So we will just ignore results for now.
-    */
-    future.get();
+    if (keyCount >= 0) {
+      span.setAttribute(BULK_KEYS, keyCount);
+    }
+    Map<String, ?> result = future.get();
+    if (result != null) {
+      span.setAttribute(BULK_HITS, result.size());
+      span.setAttribute(BULK_BYTES, valueBytes(result));
+    }
+  }
+
+  /**
+   * Returns the number of requested keys, or -1 when the keys were passed as an {@code Iterator}
+   * which cannot be counted without consuming it.
+   */
+  private static int keyCount(Object[] arguments) {
+    for (Object argument : arguments) {
+      if (argument instanceof Collection) {
+        return ((Collection<?>) argument).size();
+      }
+      if (argument instanceof String[]) {
+        return ((String[]) argument).length;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Values are already decoded by the transcoder at this point, so only {@code byte[]} and {@code
+   * String} values are counted, the latter by their UTF-8 length, which is how the default
+   * transcoder stores them.
+   */
+  private static long valueBytes(Map<String, ?> result) {
+    long bytes = 0;
+    for (Object value : result.values()) {
+      if (value instanceof byte[]) {
+        bytes += ((byte[]) value).length;
+      } else if (value instanceof CharSequence) {
+        bytes += utf8Length((CharSequence) value);
+      }
+    }
+    return bytes;
+  }
+
+  /** Encoded length of {@code value} in UTF-8, computed without encoding it. */
+  static long utf8Length(CharSequence value) {
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        // encoded as the '?' replacement
+        length += 1;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
   }
 }
@@ -26,6 +26,7 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.auto.api.CallDepthThreadLocalMap;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -46,6 +47,11 @@ public final class MemcachedClientInstrumentation extends Instrumenter.Default {
     super("spymemcached");
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(MEMCACHED_PACKAGE + ".MemcachedClient");
+  }
+
   @Override
   public ElementMatcher<TypeDescription> typeMatcher() {
     return named(MEMCACHED_PACKAGE + ".MemcachedClient");
@@ -152,6 +158,7 @@ public final class MemcachedClientInstrumentation extends Instrumenter.Default {
         @Advice.Enter int callDepth,
         @Advice.This MemcachedClient client,
         @Advice.Origin("#m") String methodName,
+        @Advice.AllArguments Object[] arguments,
         @Advice.Return BulkFuture future) {
       if (callDepth > 0) {
         return;
@@ -160,7 +167,7 @@ public final class MemcachedClientInstrumentation extends Instrumenter.Default {
 
       if (future != null) {
         BulkGetCompletionListener listener =
-            new BulkGetCompletionListener(client.getConnection(), methodName);
+            new BulkGetCompletionListener(client.getConnection(), methodName, arguments);
         future.addListener(listener);
       }
     }
@@ -0,0 +1,32 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.opentelemetry.instrumentation.auto.spymemcached.BulkGetCompletionListener
+import java.nio.charset.StandardCharsets
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class BulkGetCompletionListenerTest extends Specification {
+
+  @Unroll
+  def "utf-8 length of '#value' matches its encoding"() {
+    expect:
+    BulkGetCompletionListener.utf8Length(value) == value.getBytes(StandardCharsets.UTF_8).length
+
+    where:
+    value << ["", "ascii", "café", "€100", "😀 smile", "lone \uD800 surrogate", "\uDC00"]
+  }
+}
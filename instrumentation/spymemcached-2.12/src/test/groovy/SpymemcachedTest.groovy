@@ -21,6 +21,7 @@ import static net.spy.memcached.ConnectionFactoryBuilder.Protocol.BINARY
 import com.google.common.util.concurrent.MoreExecutors
 import io.opentelemetry.auto.test.AgentTestRunner
 import io.opentelemetry.auto.test.asserts.TraceAssert
+import io.opentelemetry.instrumentation.auto.spymemcached.BulkGetCompletionListener
 import io.opentelemetry.instrumentation.auto.spymemcached.CompletionListener
 import io.opentelemetry.trace.attributes.SemanticAttributes
 import java.time.Duration
@@ -222,14 +223,30 @@ class SpymemcachedTest extends AgentTestRunner {
     when:
     runUnderTrace(parentOperation) {
       def expected = [(key("test-get")): "get test", (key("test-get-2")): "get test 2"]
-      assert expected == memcached.getBulk(key("test-get"), key("test-get-2"))
+      assert expected == memcached.getBulk(key("test-get"), key("test-get-2"), key("test-get-missing"))
     }
 
     then:
     assertTraces(1) {
       trace(0, 2) {
         getParentSpan(it, 0)
-        getSpan(it, 1, "getBulk", null, null)
+        getSpan(it, 1, "getBulk", null, null, [keys: 3, hits: 2, bytes: 18])
+      }
+    }
+  }
+
+  def "test bulk get with collection"() {
+    when:
+    runUnderTrace(parentOperation) {
+      def expected = [(key("test-get")): "get test"]
+      assert expected == memcached.getBulk([key("test-get"), key("test-get-missing")])
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        getParentSpan(it, 0)
+        getSpan(it, 1, "getBulk", null, null, [keys: 2, hits: 1, bytes: 8])
       }
     }
   }
@@ -627,7 +644,7 @@ class SpymemcachedTest extends AgentTestRunner {
     }
   }
 
-  def getSpan(TraceAssert trace, int index, String operation, String error = null, String result = null) {
+  def getSpan(TraceAssert trace, int index, String operation, String error = null, String result = null, Map bulk = null) {
     return trace.span(index) {
       if (index > 0) {
         childOf(trace.span(0))
@@ -663,6 +680,12 @@ class SpymemcachedTest extends AgentTestRunner {
         if (result == "miss") {
           "${CompletionListener.MEMCACHED_RESULT}" CompletionListener.MISS
         }
+
+        if (bulk != null) {
+          "${BulkGetCompletionListener.BULK_KEYS}" bulk.keys
+          "${BulkGetCompletionListener.BULK_HITS}" bulk.hits
+          "${BulkGetCompletionListener.BULK_BYTES}" bulk.bytes
+        }
       }
     }
   }
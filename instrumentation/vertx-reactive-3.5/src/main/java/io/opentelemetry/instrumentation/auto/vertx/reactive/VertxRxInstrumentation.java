@@ -24,6 +24,7 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import com.google.auto.service.AutoService;
 import io.grpc.Context;
 import io.opentelemetry.javaagent.tooling.Instrumenter;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import java.util.HashMap;
@@ -49,6 +50,13 @@ public class VertxRxInstrumentation extends Instrumenter.Default {
         .or(hasClassesNamed("io.vertx.reactivex.impl.AsyncResultSingle"));
   }
 
+  @Override
+  public NamePrecondition namePrecondition() {
+    return NamePrecondition.named(
+        "io.vertx.reactivex.core.impl.AsyncResultSingle",
+        "io.vertx.reactivex.impl.AsyncResultSingle");
+  }
+
   @Override
   public ElementMatcher<? super TypeDescription> typeMatcher() {
     return named("io.vertx.reactivex.core.impl.AsyncResultSingle")
@@ -0,0 +1,201 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.metrics.LongValueRecorder;
+import io.opentelemetry.metrics.LongValueRecorder.BoundLongValueRecorder;
+import io.opentelemetry.metrics.Meter;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Measures the wall time and, where the JVM supports it, the allocations of instrumentation advice
+ * when {@code otel.advice.metrics.enabled} is set.
+ *
+ * <p>The agent surrounds each advice with two timing advices: an outer one applied after it and an
+ * inner one applied before it, so that an instrumented method runs
+ *
+ * <pre>
+ *   outer enter, advice enter, inner enter, method, inner exit, advice exit, outer exit
+ * </pre>
+ *
+ * <p>Each outer/inner pair brackets one piece of advice code, and nested instrumented calls nest
+ * these pairs, so the timestamps of a thread are kept on a stack. When an advice skips the method
+ * body, the inner advice doesn't run at all and the enter and exit code of that call can't be told
+ * apart, so they are recorded together as the {@code enter_and_exit} phase. The outer exit restores
+ * the stack depth it saw on enter so later calls are measured correctly.
+ */
+public final class AdviceOverhead {
+
+  private static final String INSTRUMENTATION_LABEL = "instrumentation";
+  private static final String PHASE_LABEL = "phase";
+
+  private static final ConcurrentMap<String, Recorders> RECORDERS = new ConcurrentHashMap<>();
+
+  private static final ThreadLocal<Timestamps> TIMESTAMPS =
+      new ThreadLocal<Timestamps>() {
+        @Override
+        protected Timestamps initialValue() {
+          return new Timestamps();
+        }
+      };
+
+  // set once JMX may be initialized, see enableAllocationTracking
+  private static volatile com.sun.management.ThreadMXBean allocationBean;
+
+  /** Called by the outer timing advice on method enter, before the advice's enter code. */
+  public static int outerEnter() {
+    Timestamps timestamps = TIMESTAMPS.get();
+    int depth = timestamps.depth;
+    timestamps.push(System.nanoTime(), allocatedBytes(), false);
+    return depth;
+  }
+
+  /** Called by the inner timing advice on method enter, after the advice's enter code. */
+  public static void innerEnter(String instrumentation) {
+    Timestamps timestamps = TIMESTAMPS.get();
+    if (timestamps.depth > 0) {
+      timestamps.depth--;
+      recorders(instrumentation).enter.record(timestamps, System.nanoTime(), allocatedBytes());
+    }
+  }
+
+  /** Called by the inner timing advice on method exit, before the advice's exit code. */
+  public static void innerExit() {
+    TIMESTAMPS.get().push(System.nanoTime(), allocatedBytes(), true);
+  }
+
+  /**
+   * Called by the outer timing advice on method exit, after the advice's exit code.
+   *
+   * @param depth the value returned by {@link #outerEnter()}
+   */
+  public static void outerExit(String instrumentation, int depth) {
+    Timestamps timestamps = TIMESTAMPS.get();
+    if (timestamps.depth > depth) {
+      timestamps.depth--;
+      Recorders recorders = recorders(instrumentation);
+      // without an inner exit on top, the method body was skipped
+      PhaseRecorders phase =
+          timestamps.innerExit[timestamps.depth] ? recorders.exit : recorders.enterAndExit;
+      phase.record(timestamps, System.nanoTime(), allocatedBytes());
+    }
+    timestamps.depth = depth;
+  }
+
+  /**
+   * Also records the bytes allocated by advice. Called by the agent once JMX may be initialized,
+   * which is after the application had a chance to set up a custom log manager.
+   */
+  public static void enableAllocationTracking(com.sun.management.ThreadMXBean threadBean) {
+    allocationBean = threadBean;
+  }
+
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean bean = allocationBean;
+    return bean == null ? -1 : bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static Recorders recorders(String instrumentation) {
+    Recorders recorders = RECORDERS.get(instrumentation);
+    if (recorders == null) {
+      recorders = new Recorders(instrumentation);
+      Recorders existing = RECORDERS.putIfAbsent(instrumentation, recorders);
+      if (existing != null) {
+        recorders = existing;
+      }
+    }
+    return recorders;
+  }
+
+  /** Created on first use, once the meter provider of the agent is installed. */
+  private static class Instruments {
+    static final LongValueRecorder DURATION =
+        meter()
+            .longValueRecorderBuilder("otel.javaagent.advice.duration")
+            .setDescription("Wall time spent in instrumentation advice")
+            .setUnit("ns")
+            .build();
+
+    static final LongValueRecorder ALLOCATED =
+        meter()
+            .longValueRecorderBuilder("otel.javaagent.advice.allocated")
+            .setDescription("Bytes allocated by instrumentation advice")
+            .setUnit("By")
+            .build();
+
+    private static Meter meter() {
+      return OpenTelemetry.getMeter("io.opentelemetry.auto.advice-overhead");
+    }
+  }
+
+  private static class Timestamps {
+    long[] nanos = new long[16];
+    long[] bytes = new long[16];
+    boolean[] innerExit = new boolean[16];
+    int depth;
+
+    void push(long nanoTime, long allocatedBytes, boolean fromInnerExit) {
+      if (depth == nanos.length) {
+        nanos = Arrays.copyOf(nanos, depth * 2);
+        bytes = Arrays.copyOf(bytes, depth * 2);
+        innerExit = Arrays.copyOf(innerExit, depth * 2);
+      }
+      nanos[depth] = nanoTime;
+      bytes[depth] = allocatedBytes;
+      innerExit[depth] = fromInnerExit;
+      depth++;
+    }
+  }
+
+  private static class Recorders {
+    final PhaseRecorders enter;
+    final PhaseRecorders exit;
+    final PhaseRecorders enterAndExit;
+
+    Recorders(String instrumentation) {
+      enter = new PhaseRecorders(instrumentation, "enter");
+      exit = new PhaseRecorders(instrumentation, "exit");
+      enterAndExit = new PhaseRecorders(instrumentation, "enter_and_exit");
+    }
+  }
+
+  private static class PhaseRecorders {
+    final BoundLongValueRecorder duration;
+    final BoundLongValueRecorder allocated;
+
+    PhaseRecorders(String instrumentation, String phase) {
+      Labels labels = Labels.of(INSTRUMENTATION_LABEL, instrumentation, PHASE_LABEL, phase);
+      duration = Instruments.DURATION.bind(labels);
+      allocated = Instruments.ALLOCATED.bind(labels);
+    }
+
+    /** Records the time and allocations since the timestamps at the top of the stack. */
+    void record(Timestamps timestamps, long nanoTime, long allocatedBytes) {
+      duration.record(nanoTime - timestamps.nanos[timestamps.depth]);
+      long startBytes = timestamps.bytes[timestamps.depth];
+      if (allocatedBytes >= 0 && startBytes >= 0) {
+        allocated.record(allocatedBytes - startBytes);
+      }
+    }
+  }
+
+  private AdviceOverhead() {}
+}
@@ -16,6 +16,8 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings.Phase;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -85,6 +87,25 @@ public class AgentInitializer {
     } else {
       installAgentTracer();
     }
+
+    /*
+     * The platform MBean server initializes java.util.logging.LogManager, so MBeans are registered
+     * only once the application has loaded its custom log manager.
+     */
+    if (isMBeanRegistrationNeeded()) {
+      if (appUsingCustomLogManager) {
+        log.debug("Custom logger detected. Delaying MBean registration.");
+        registerLogManagerCallback(new RegisterMBeansCallback());
+      } else {
+        registerMBeans();
+      }
+    }
+  }
+
+  /** Only the instrumenter stats and the advice metrics need JMX. */
+  private static boolean isMBeanRegistrationNeeded() {
+    Config config = Config.get();
+    return config.isInstrumenterStatsEnabled() || config.isAdviceMetricsEnabled();
   }
 
   private static void registerLogManagerCallback(ClassLoadCallBack callback) {
@@ -143,15 +164,33 @@ public class AgentInitializer {
     }
   }
 
+  protected static class RegisterMBeansCallback extends ClassLoadCallBack {
+
+    @Override
+    public String getName() {
+      return "register-mbeans";
+    }
+
+    @Override
+    public void execute() {
+      registerMBeans();
+    }
+  }
+
   private static synchronized void startAgent(Instrumentation inst, URL bootstrapURL) {
     if (AGENT_CLASSLOADER == null) {
       try {
+        long start = System.nanoTime();
         ClassLoader agentClassLoader = createAgentClassLoader("inst", bootstrapURL);
+        StartupTimings.record(Phase.AGENT_CLASSLOADER, System.nanoTime() - start);
+
+        start = System.nanoTime();
         Class<?> agentInstallerClass =
             agentClassLoader.loadClass("io.opentelemetry.javaagent.tooling.AgentInstaller");
         Method agentInstallerMethod =
             agentInstallerClass.getMethod("installBytebuddyAgent", Instrumentation.class);
         agentInstallerMethod.invoke(null, inst);
+        StartupTimings.record(Phase.INSTALL_BYTEBUDDY_AGENT, System.nanoTime() - start);
         AGENT_CLASSLOADER = agentClassLoader;
       } catch (Throwable ex) {
         log.error("Throwable thrown while installing the agent", ex);
@@ -166,11 +205,13 @@ public class AgentInitializer {
     // TracerInstaller.installAgentTracer can be called multiple times without any problem
     // so there is no need to have a 'agentTracerInstalled' flag here.
     try {
+      long start = System.nanoTime();
       // install global tracer
       Class<?> tracerInstallerClass =
           AGENT_CLASSLOADER.loadClass("io.opentelemetry.javaagent.tooling.TracerInstaller");
       Method tracerInstallerMethod = tracerInstallerClass.getMethod("installAgentTracer");
       tracerInstallerMethod.invoke(null);
+      StartupTimings.record(Phase.INSTALL_AGENT_TRACER, System.nanoTime() - start);
       Method logVersionInfoMethod = tracerInstallerClass.getMethod("logVersionInfo");
       logVersionInfoMethod.invoke(null);
     } catch (Throwable ex) {
@@ -178,6 +219,31 @@ public class AgentInitializer {
     }
   }
 
+  private static synchronized void registerMBeans() {
+    if (AGENT_CLASSLOADER == null) {
+      throw new IllegalStateException("Agent should have been started already");
+    }
+    try {
+      Config config = Config.get();
+      if (config.isInstrumenterStatsEnabled()) {
+        Class<?> instrumenterStatsClass =
+            AGENT_CLASSLOADER.loadClass("io.opentelemetry.javaagent.tooling.InstrumenterStats");
+        Method registerMBeansMethod = instrumenterStatsClass.getMethod("registerMBeans");
+        registerMBeansMethod.invoke(null);
+      }
+
+      if (config.isAdviceMetricsEnabled()) {
+        Class<?> adviceTimingClass =
+            AGENT_CLASSLOADER.loadClass("io.opentelemetry.javaagent.tooling.AdviceTiming");
+        Method enableAllocationTrackingMethod =
+            adviceTimingClass.getMethod("enableAllocationTracking");
+        enableAllocationTrackingMethod.invoke(null);
+      }
+    } catch (Throwable ex) {
+      log.error("Throwable thrown while registering MBeans", ex);
+    }
+  }
+
   private static void configureLogger() {
     setSystemPropertyDefault(SIMPLE_LOGGER_SHOW_DATE_TIME_PROPERTY, "true");
     setSystemPropertyDefault(
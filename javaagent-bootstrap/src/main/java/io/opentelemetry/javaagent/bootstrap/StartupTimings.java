@@ -0,0 +1,85 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Accumulates the time the agent spends in each phase of its startup.
+ *
+ * <p>Helper injection and muzzle checks also happen whenever the application loads new classes,
+ * so their totals keep growing after premain has returned.
+ */
+public final class StartupTimings {
+
+  public enum Phase {
+    /** The whole of {@code OpenTelemetryAgent.premain}. */
+    PREMAIN,
+    AGENT_CLASSLOADER,
+    INSTALL_BYTEBUDDY_AGENT,
+    INSTALL_AGENT_TRACER,
+    HELPER_INJECTION,
+    MUZZLE_MATCHING
+  }
+
+  private static final Phase[] PHASES = Phase.values();
+  private static final AtomicLongArray COUNTS = new AtomicLongArray(PHASES.length);
+  private static final AtomicLongArray NANOS = new AtomicLongArray(PHASES.length);
+
+  private static volatile boolean enabled;
+
+  /** Called by {@code AgentInstaller} when a startup timings file is configured. */
+  public static void enable() {
+    enabled = true;
+  }
+
+  /**
+   * Phases that repeat for every class loader, helper injection and muzzle matching, are only timed
+   * when this returns true. The one-off premain phases are always recorded, they run before the
+   * configuration is read.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void record(Phase phase, long nanos) {
+    COUNTS.incrementAndGet(phase.ordinal());
+    NANOS.addAndGet(phase.ordinal(), nanos);
+  }
+
+  /** Called reflectively by {@code OpenTelemetryAgent}, which must not reference this class. */
+  public static void recordPremain(long nanos) {
+    record(Phase.PREMAIN, nanos);
+  }
+
+  /** @return the timings as CSV with a {@code phase,count,total_ms} header */
+  public static String toCsv() {
+    StringBuilder csv = new StringBuilder("phase,count,total_ms\n");
+    for (Phase phase : PHASES) {
+      csv.append(phase.name().toLowerCase(Locale.ROOT))
+          .append(',')
+          .append(COUNTS.get(phase.ordinal()))
+          .append(',')
+          .append(NANOS.get(phase.ordinal()) / 1000 / 1000d)
+          .append('\n');
+    }
+    return csv.toString();
+  }
+
+  private StartupTimings() {}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the spooled span batches of a {@link FileSpanExporter} to an OTLP collector, deleting each
+ * segment once all of its batches were accepted. Segments still being written by a running agent
+ * are skipped. Batches of a segment that failed part way are sent again by the next run.
+ *
+ * <p>Usage: {@code java -jar javaagent-exporters-file-replay.jar <spool directory> [<host:port>]}
+ */
+public final class SpoolReplay {
+
+  static final String DEFAULT_ENDPOINT = "localhost:55680";
+  private static final long DEADLINE_SECONDS = 10;
+
+  private final TraceServiceGrpc.TraceServiceBlockingStub stub;
+
+  SpoolReplay(TraceServiceGrpc.TraceServiceBlockingStub stub) {
+    this.stub = stub;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: SpoolReplay <spool directory> [<host:port>]");
+      System.exit(2);
+    }
+    File directory = new File(args[0]);
+    String endpoint = args.length > 1 ? args[1] : DEFAULT_ENDPOINT;
+
+    ManagedChannel channel = ManagedChannelBuilder.forTarget(endpoint).usePlaintext().build();
+    try {
+      int batches = new SpoolReplay(TraceServiceGrpc.newBlockingStub(channel)).replay(directory);
+      System.out.println("Sent " + batches + " span batches to " + endpoint);
+    } catch (IOException | RuntimeException e) {
+      System.err.println("Replay stopped: " + e);
+      System.exit(1);
+    } finally {
+      channel.shutdown().awaitTermination(DEADLINE_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  /** @return the number of batches sent */
+  int replay(File directory) throws IOException {
+    int batches = 0;
+    for (File segment : SegmentWriter.listSegments(directory)) {
+      // holding the lock also keeps the writer from deleting the segment while it is replayed
+      try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE);
+          FileLock lock = channel.tryLock()) {
+        if (lock == null) {
+          System.out.println("Skipping " + segment + ", it is still being written");
+          continue;
+        }
+        batches +=
+            SegmentReader.read(
+                segment,
+                new SegmentReader.RecordConsumer() {
+                  @Override
+                  public void accept(byte[] record) throws IOException {
+                    stub.withDeadlineAfter(DEADLINE_SECONDS, TimeUnit.SECONDS)
+                        .export(ExportTraceServiceRequest.parseFrom(record));
+                  }
+                });
+      }
+      if (!segment.delete()) {
+        throw new IOException("Unable to delete replayed segment " + segment);
+      }
+    }
+    return batches;
+  }
+}
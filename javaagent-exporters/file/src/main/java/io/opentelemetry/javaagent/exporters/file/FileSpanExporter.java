@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import io.opentelemetry.sdk.common.export.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends each exported batch as an OTLP {@code ExportTraceServiceRequest} to a local spool, to be
+ * sent to a collector later with the replay tool of {@code javaagent-exporters-file-replay}.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+  private static final Logger log = LoggerFactory.getLogger(FileSpanExporter.class);
+
+  private final SegmentWriter writer;
+  private final SpanEncoder encoder = new SpanEncoder();
+
+  FileSpanExporter(SegmentWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+    try {
+      append(spans);
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to spool {} spans", spans.size(), e);
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  private void append(Collection<SpanData> spans) throws IOException {
+    byte[] record = encoder.encode(spans).toByteArray();
+    if (record.length <= writer.maxRecordSize()) {
+      writer.append(record);
+    } else if (spans.size() > 1) {
+      // split batches that don't fit into a segment
+      List<SpanData> list = new ArrayList<>(spans);
+      int half = list.size() / 2;
+      append(list.subList(0, half));
+      append(list.subList(half, list.size()));
+    } else {
+      log.warn("Dropping span of {} bytes, larger than a segment", record.length);
+    }
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    writer.force();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public void shutdown() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      log.warn("Unable to close spool", e);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import io.opentelemetry.sdk.extensions.auto.config.Config;
+import io.opentelemetry.sdk.extensions.auto.config.SpanExporterFactory;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.File;
+import java.io.IOException;
+
+public class FileSpanExporterFactory implements SpanExporterFactory {
+
+  static final String DEFAULT_DIRECTORY =
+      new File(System.getProperty("java.io.tmpdir"), "opentelemetry-spool").getPath();
+  static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+  @Override
+  public SpanExporter fromConfig(Config config) {
+    File directory = new File(config.getString("file.directory", DEFAULT_DIRECTORY));
+    try {
+      return new FileSpanExporter(
+          new SegmentWriter(
+              directory,
+              config.getInt("file.segment.size", DEFAULT_SEGMENT_SIZE),
+              config.getLong("file.max.size", DEFAULT_MAX_SIZE)));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to create span spool in " + directory, e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unmaps memory-mapped buffers right away instead of when they are garbage collected, which may
+ * take long enough for the mappings of many rotated segments to pile up, and which keeps deleted
+ * segments from releasing their disk space on some platforms.
+ */
+final class MappedBuffers {
+
+  private static final Logger log = LoggerFactory.getLogger(MappedBuffers.class);
+
+  // null if this JVM doesn't allow unmapping, buffers are then left to the garbage collector
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  /** The buffer must not be used after it was unmapped. */
+  static void unmap(MappedByteBuffer buffer) {
+    if (UNMAPPER == null) {
+      return;
+    }
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      log.debug("Unable to unmap buffer", e);
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // Java 9+
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      return new Unmapper() {
+        @Override
+        void unmap(MappedByteBuffer buffer) throws Exception {
+          invokeCleaner.invoke(unsafe, buffer);
+        }
+      };
+    } catch (Exception e) {
+      // fall through to the Java 7 and 8 cleaner
+    }
+    try {
+      final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return new Unmapper() {
+        @Override
+        void unmap(MappedByteBuffer buffer) throws Exception {
+          Object bufferCleaner = cleaner.invoke(buffer);
+          if (bufferCleaner != null) {
+            clean.invoke(bufferCleaner);
+          }
+        }
+      };
+    } catch (Exception e) {
+      log.debug("Mapped spool segments can't be unmapped on this JVM", e);
+      return null;
+    }
+  }
+
+  private abstract static class Unmapper {
+    abstract void unmap(MappedByteBuffer buffer) throws Exception;
+  }
+
+  private MappedBuffers() {}
+}
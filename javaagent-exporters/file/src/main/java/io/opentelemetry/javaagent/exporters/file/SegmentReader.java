@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import static io.opentelemetry.javaagent.exporters.file.SegmentWriter.HEADER_SIZE;
+import static io.opentelemetry.javaagent.exporters.file.SegmentWriter.MAGIC;
+import static io.opentelemetry.javaagent.exporters.file.SegmentWriter.RECORD_HEADER_SIZE;
+import static io.opentelemetry.javaagent.exporters.file.SegmentWriter.VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Reads the records of segments written by {@link SegmentWriter}. */
+final class SegmentReader {
+
+  private static final Logger log = LoggerFactory.getLogger(SegmentReader.class);
+
+  /**
+   * Reads the records of a segment.
+   *
+   * @return the number of records read
+   * @throws IOException if the segment is not a spool segment
+   */
+  static int read(File segment, RecordConsumer consumer) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    try {
+      return read(segment, buffer, consumer);
+    } finally {
+      MappedBuffers.unmap(buffer);
+    }
+  }
+
+  private static int read(File segment, MappedByteBuffer buffer, RecordConsumer consumer)
+      throws IOException {
+    if (buffer.remaining() < HEADER_SIZE
+        || buffer.getInt() != MAGIC
+        || buffer.getInt() != VERSION) {
+      throw new IOException("Not a spool segment: " + segment);
+    }
+    CRC32 crc = new CRC32();
+    int records = 0;
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining()) {
+        break;
+      }
+      byte[] record = new byte[length];
+      buffer.get(record);
+      crc.reset();
+      crc.update(record, 0, length);
+      if ((int) crc.getValue() != checksum) {
+        log.warn("Corrupt record in {}, skipping rest of segment", segment);
+        break;
+      }
+      consumer.accept(record);
+      records++;
+    }
+    return records;
+  }
+
+  interface RecordConsumer {
+    void accept(byte[] record) throws IOException;
+  }
+
+  private SegmentReader() {}
+}
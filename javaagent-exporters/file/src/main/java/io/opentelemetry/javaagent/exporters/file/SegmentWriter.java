@@ -0,0 +1,258 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends records to memory-mapped segment files of a fixed size in a spool directory.
+ *
+ * <p>A segment starts with a {@link #MAGIC} and {@link #VERSION} header, followed by records of
+ * {@code [int length][int crc32][payload]}. A zero length marks the end of the written part of a
+ * segment, since new segments are zero-filled. Once a record doesn't fit the current segment, a new
+ * segment is started. When the segments in the directory would exceed the maximum total size, the
+ * oldest ones are deleted, so a collector that is down costs old spans instead of memory or
+ * application threads.
+ *
+ * <p>The active segment is locked, so that the replay tool of {@code
+ * javaagent-exporters-file-replay} leaves it alone. The mapping of a segment is released as soon as
+ * the segment is closed.
+ */
+final class SegmentWriter implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(SegmentWriter.class);
+
+  static final int MAGIC = 0x4f545350; // "OTSP"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int RECORD_HEADER_SIZE = 8;
+
+  static final String SEGMENT_PREFIX = "segment-";
+  static final String SEGMENT_SUFFIX = ".spool";
+
+  private final File directory;
+  private final int segmentSize;
+  private final long maxTotalSize;
+
+  /** Segments of this directory, oldest first. */
+  private final Deque<File> segments = new ArrayDeque<>();
+
+  private final CRC32 crc = new CRC32();
+
+  private long nextSequence;
+  private FileChannel channel;
+  private FileLock lock;
+  private MappedByteBuffer buffer;
+  private boolean closed;
+
+  SegmentWriter(File directory, int segmentSize, long maxTotalSize) throws IOException {
+    if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+      throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Unable to create spool directory " + directory);
+    }
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.maxTotalSize = Math.max(maxTotalSize, segmentSize);
+    for (File segment : listSegments(directory)) {
+      segments.add(segment);
+      nextSequence = Math.max(nextSequence, sequenceOf(segment) + 1);
+    }
+  }
+
+  /** @return the largest record payload that fits into a segment */
+  int maxRecordSize() {
+    return segmentSize - HEADER_SIZE - RECORD_HEADER_SIZE - 4;
+  }
+
+  /**
+   * Appends a record.
+   *
+   * @throws IllegalArgumentException if the record is larger than {@link #maxRecordSize()}
+   */
+  synchronized void append(byte[] record) throws IOException {
+    if (closed) {
+      throw new IOException("Spool is closed");
+    }
+    if (record.length > maxRecordSize()) {
+      throw new IllegalArgumentException(
+          "Record of " + record.length + " bytes exceeds segment capacity");
+    }
+    // keep room for the terminating zero length
+    if (buffer == null || buffer.remaining() < RECORD_HEADER_SIZE + record.length + 4) {
+      rotate();
+    }
+    crc.reset();
+    crc.update(record, 0, record.length);
+    int position = buffer.position();
+    // the length goes in last, so a partially written record reads as the end of the segment
+    buffer.position(position + 4);
+    buffer.putInt((int) crc.getValue());
+    buffer.put(record);
+    buffer.putInt(position, record.length);
+  }
+
+  /** Forces written records to the storage device. */
+  synchronized void force() {
+    if (buffer != null) {
+      buffer.force();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      closeSegment();
+    }
+  }
+
+  private void rotate() throws IOException {
+    closeSegment();
+    deleteOldestSegments();
+
+    while (true) {
+      File segment = new File(directory, segmentName(nextSequence++));
+      try {
+        channel =
+            FileChannel.open(
+                segment.toPath(),
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+      } catch (FileAlreadyExistsException e) {
+        // created by another process writing to the same directory
+        continue;
+      }
+      try {
+        lock = channel.lock();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        channel = null;
+        lock = null;
+        throw e;
+      }
+      buffer.putInt(MAGIC).putInt(VERSION);
+      segments.add(segment);
+      return;
+    }
+  }
+
+  private void closeSegment() throws IOException {
+    if (channel != null) {
+      try {
+        buffer.force();
+        lock.release();
+      } finally {
+        MappedBuffers.unmap(buffer);
+        channel.close();
+        channel = null;
+        lock = null;
+        buffer = null;
+      }
+    }
+  }
+
+  private void deleteOldestSegments() {
+    long totalSize = 0;
+    for (File segment : segments) {
+      totalSize += segment.length();
+    }
+    // segments that can't be deleted still take up space, so newer ones are deleted instead
+    List<File> locked = new ArrayList<>();
+    while (totalSize + segmentSize > maxTotalSize && !segments.isEmpty()) {
+      File oldest = segments.removeFirst();
+      long size = oldest.length();
+      if (isLocked(oldest)) {
+        // active segment of another process, or being replayed
+        locked.add(oldest);
+      } else if (oldest.delete() || !oldest.exists()) {
+        log.debug("Deleted spool segment {} to stay within size limit", oldest);
+        totalSize -= size;
+      } else {
+        locked.add(oldest);
+      }
+    }
+    for (int i = locked.size() - 1; i >= 0; i--) {
+      segments.addFirst(locked.get(i));
+    }
+  }
+
+  static boolean isLocked(File segment) {
+    try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE)) {
+      FileLock lock = channel.tryLock();
+      if (lock == null) {
+        return true;
+      }
+      lock.release();
+      return false;
+    } catch (OverlappingFileLockException e) {
+      return true;
+    } catch (IOException e) {
+      return segment.exists();
+    }
+  }
+
+  static String segmentName(long sequence) {
+    return String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+  }
+
+  static long sequenceOf(File segment) {
+    String name = segment.getName();
+    return Long.parseLong(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  /** @return the segments of the directory, oldest first */
+  static File[] listSegments(File directory) {
+    File[] files =
+        directory.listFiles(
+            new FilenameFilter() {
+              @Override
+              public boolean accept(File dir, String name) {
+                return name.startsWith(SEGMENT_PREFIX)
+                    && name.endsWith(SEGMENT_SUFFIX)
+                    && name.length() == SEGMENT_PREFIX.length() + 20 + SEGMENT_SUFFIX.length();
+              }
+            });
+    if (files == null) {
+      return new File[0];
+    }
+    // fixed width sequence numbers sort by name
+    Arrays.sort(files);
+    return files;
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file;
+
+import com.google.protobuf.ByteString;
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.common.ReadableAttributes;
+import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.proto.trace.v1.Status;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.TraceId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Encodes spans as an OTLP {@link ExportTraceServiceRequest}, the payload the collector takes. */
+final class SpanEncoder {
+
+  private final byte[] traceIdBytes = new byte[TraceId.getSize()];
+  private final byte[] spanIdBytes = new byte[SpanId.getSize()];
+
+  ExportTraceServiceRequest encode(Collection<SpanData> spans) {
+    Map<Resource, Map<InstrumentationLibraryInfo, InstrumentationLibrarySpans.Builder>> grouped =
+        new LinkedHashMap<>();
+    for (SpanData span : spans) {
+      Map<InstrumentationLibraryInfo, InstrumentationLibrarySpans.Builder> libraries =
+          grouped.get(span.getResource());
+      if (libraries == null) {
+        libraries = new LinkedHashMap<>();
+        grouped.put(span.getResource(), libraries);
+      }
+      InstrumentationLibraryInfo libraryInfo = span.getInstrumentationLibraryInfo();
+      InstrumentationLibrarySpans.Builder librarySpans = libraries.get(libraryInfo);
+      if (librarySpans == null) {
+        InstrumentationLibrary.Builder library =
+            InstrumentationLibrary.newBuilder().setName(libraryInfo.getName());
+        if (libraryInfo.getVersion() != null) {
+          library.setVersion(libraryInfo.getVersion());
+        }
+        librarySpans = InstrumentationLibrarySpans.newBuilder().setInstrumentationLibrary(library);
+        libraries.put(libraryInfo, librarySpans);
+      }
+      librarySpans.addSpans(encode(span));
+    }
+
+    ExportTraceServiceRequest.Builder request = ExportTraceServiceRequest.newBuilder();
+    for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, InstrumentationLibrarySpans.Builder>>
+        entry : grouped.entrySet()) {
+      io.opentelemetry.proto.resource.v1.Resource.Builder resource =
+          io.opentelemetry.proto.resource.v1.Resource.newBuilder();
+      addAttributes(entry.getKey().getAttributes(), new ResourceAttributes(resource));
+      ResourceSpans.Builder resourceSpans = ResourceSpans.newBuilder().setResource(resource);
+      for (InstrumentationLibrarySpans.Builder librarySpans : entry.getValue().values()) {
+        resourceSpans.addInstrumentationLibrarySpans(librarySpans);
+      }
+      request.addResourceSpans(resourceSpans);
+    }
+    return request.build();
+  }
+
+  private Span encode(SpanData span) {
+    Span.Builder builder =
+        Span.newBuilder()
+            .setTraceId(traceId(span.getTraceId()))
+            .setSpanId(spanId(span.getSpanId()))
+            .setName(span.getName())
+            .setKindValue(span.getKind().ordinal() + 1)
+            .setStartTimeUnixNano(span.getStartEpochNanos())
+            .setEndTimeUnixNano(span.getEndEpochNanos());
+    if (span.getParentSpanId().isValid()) {
+      builder.setParentSpanId(spanId(span.getParentSpanId()));
+    }
+    if (!span.getTraceState().getEntries().isEmpty()) {
+      builder.setTraceState(traceState(span.getTraceState()));
+    }
+    addAttributes(span.getAttributes(), new SpanAttributes(builder));
+    builder.setDroppedAttributesCount(
+        Math.max(0, span.getTotalAttributeCount() - span.getAttributes().size()));
+
+    for (SpanData.Event event : span.getEvents()) {
+      Span.Event.Builder eventBuilder =
+          Span.Event.newBuilder().setTimeUnixNano(event.getEpochNanos()).setName(event.getName());
+      addAttributes(event.getAttributes(), new EventAttributes(eventBuilder));
+      builder.addEvents(eventBuilder);
+    }
+    builder.setDroppedEventsCount(
+        Math.max(0, span.getTotalRecordedEvents() - span.getEvents().size()));
+
+    for (SpanData.Link link : span.getLinks()) {
+      Span.Link.Builder linkBuilder =
+          Span.Link.newBuilder()
+              .setTraceId(traceId(link.getContext().getTraceId()))
+              .setSpanId(spanId(link.getContext().getSpanId()));
+      addAttributes(link.getAttributes(), new LinkAttributes(linkBuilder));
+      builder.addLinks(linkBuilder);
+    }
+    builder.setDroppedLinksCount(
+        Math.max(0, span.getTotalRecordedLinks() - span.getLinks().size()));
+
+    Status.Builder status =
+        Status.newBuilder().setCodeValue(span.getStatus().getCanonicalCode().value());
+    if (span.getStatus().getDescription() != null) {
+      status.setMessage(span.getStatus().getDescription());
+    }
+    builder.setStatus(status);
+    return builder.build();
+  }
+
+  private ByteString traceId(TraceId traceId) {
+    traceId.copyBytesTo(traceIdBytes, 0);
+    return ByteString.copyFrom(traceIdBytes);
+  }
+
+  private ByteString spanId(SpanId spanId) {
+    spanId.copyBytesTo(spanIdBytes, 0);
+    return ByteString.copyFrom(spanIdBytes);
+  }
+
+  private static String traceState(io.opentelemetry.trace.TraceState traceState) {
+    StringBuilder sb = new StringBuilder();
+    for (io.opentelemetry.trace.TraceState.Entry entry : traceState.getEntries()) {
+      if (sb.length() > 0) {
+        sb.append(',');
+      }
+      sb.append(entry.getKey()).append('=').append(entry.getValue());
+    }
+    return sb.toString();
+  }
+
+  private static void addAttributes(ReadableAttributes attributes, AttributeSink sink) {
+    attributes.forEach(sink);
+  }
+
+  static AnyValue toAnyValue(AttributeValue value) {
+    AnyValue.Builder builder = AnyValue.newBuilder();
+    switch (value.getType()) {
+      case STRING:
+        return builder.setStringValue(value.getStringValue()).build();
+      case BOOLEAN:
+        return builder.setBoolValue(value.getBooleanValue()).build();
+      case LONG:
+        return builder.setIntValue(value.getLongValue()).build();
+      case DOUBLE:
+        return builder.setDoubleValue(value.getDoubleValue()).build();
+      case STRING_ARRAY:
+        ArrayValue.Builder strings = ArrayValue.newBuilder();
+        for (String element : value.getStringArrayValue()) {
+          strings.addValues(AnyValue.newBuilder().setStringValue(element));
+        }
+        return builder.setArrayValue(strings).build();
+      case BOOLEAN_ARRAY:
+        ArrayValue.Builder booleans = ArrayValue.newBuilder();
+        for (Boolean element : value.getBooleanArrayValue()) {
+          booleans.addValues(AnyValue.newBuilder().setBoolValue(element));
+        }
+        return builder.setArrayValue(booleans).build();
+      case LONG_ARRAY:
+        ArrayValue.Builder longs = ArrayValue.newBuilder();
+        for (Long element : value.getLongArrayValue()) {
+          longs.addValues(AnyValue.newBuilder().setIntValue(element));
+        }
+        return builder.setArrayValue(longs).build();
+      case DOUBLE_ARRAY:
+        ArrayValue.Builder doubles = ArrayValue.newBuilder();
+        for (Double element : value.getDoubleArrayValue()) {
+          doubles.addValues(AnyValue.newBuilder().setDoubleValue(element));
+        }
+        return builder.setArrayValue(doubles).build();
+    }
+    return builder.build();
+  }
+
+  private abstract static class AttributeSink implements KeyValueConsumer<AttributeValue> {
+    @Override
+    public void consume(String key, AttributeValue value) {
+      add(KeyValue.newBuilder().setKey(key).setValue(toAnyValue(value)).build());
+    }
+
+    abstract void add(KeyValue keyValue);
+  }
+
+  private static final class ResourceAttributes extends AttributeSink {
+    private final io.opentelemetry.proto.resource.v1.Resource.Builder builder;
+
+    private ResourceAttributes(io.opentelemetry.proto.resource.v1.Resource.Builder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    void add(KeyValue keyValue) {
+      builder.addAttributes(keyValue);
+    }
+  }
+
+  private static final class SpanAttributes extends AttributeSink {
+    private final Span.Builder builder;
+
+    private SpanAttributes(Span.Builder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    void add(KeyValue keyValue) {
+      builder.addAttributes(keyValue);
+    }
+  }
+
+  private static final class EventAttributes extends AttributeSink {
+    private final Span.Event.Builder builder;
+
+    private EventAttributes(Span.Event.Builder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    void add(KeyValue keyValue) {
+      builder.addAttributes(keyValue);
+    }
+  }
+
+  private static final class LinkAttributes extends AttributeSink {
+    private final Span.Link.Builder builder;
+
+    private LinkAttributes(Span.Link.Builder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    void add(KeyValue keyValue) {
+      builder.addAttributes(keyValue);
+    }
+  }
+}
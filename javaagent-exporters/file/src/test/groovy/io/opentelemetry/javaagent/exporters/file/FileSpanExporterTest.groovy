@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file
+
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest
+import io.opentelemetry.sdk.trace.ReadableSpan
+import io.opentelemetry.sdk.trace.TracerSdkProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import java.nio.file.Files
+import spock.lang.Specification
+
+class FileSpanExporterTest extends Specification {
+
+  def tracer = TracerSdkProvider.builder().build().get("test")
+  File directory = Files.createTempDirectory("spool").toFile()
+
+  def cleanup() {
+    directory.deleteDir()
+  }
+
+  def "a batch is written as one record"() {
+    setup:
+    def exporter = new FileSpanExporter(new SegmentWriter(directory, 64 * 1024, 1024 * 1024))
+    def spans = (0..9).collect { span("span-$it", 10) }
+
+    when:
+    def result = exporter.export(spans)
+    exporter.shutdown()
+
+    then:
+    result.success
+    def requests = readRequests()
+    requests.size() == 1
+    spanNames(requests[0]) == spans*.name
+  }
+
+  def "a batch that doesn't fit a segment is halved until it does"() {
+    setup:
+    def writer = new SegmentWriter(directory, 1024, 1024 * 1024)
+    def exporter = new FileSpanExporter(writer)
+    // about 150 bytes per span, so a record holds a few spans
+    def spans = (0..19).collect { span("span-$it", 100) }
+
+    when:
+    def result = exporter.export(spans)
+    exporter.shutdown()
+
+    then:
+    result.success
+    def records = readRecords()
+    records.size() > 1
+    records.every { it.length <= writer.maxRecordSize() }
+    records.collectMany { spanNames(ExportTraceServiceRequest.parseFrom(it)) } == spans*.name
+  }
+
+  def "a span larger than a segment is dropped"() {
+    setup:
+    def exporter = new FileSpanExporter(new SegmentWriter(directory, 1024, 1024 * 1024))
+    def spans = [span("small", 10), span("large", 2048), span("other", 10)]
+
+    when:
+    def result = exporter.export(spans)
+    exporter.shutdown()
+
+    then:
+    result.success
+    readRequests().collectMany { spanNames(it) } == ["small", "other"]
+  }
+
+  def "export fails once the spool is closed"() {
+    setup:
+    def exporter = new FileSpanExporter(new SegmentWriter(directory, 1024, 1024 * 1024))
+    exporter.shutdown()
+
+    expect:
+    !exporter.export([span("span", 10)]).success
+  }
+
+  SpanData span(String name, int attributeLength) {
+    def span = tracer.spanBuilder(name).startSpan()
+    span.setAttribute("value", "x" * attributeLength)
+    span.end()
+    return ((ReadableSpan) span).toSpanData()
+  }
+
+  List<byte[]> readRecords() {
+    List<byte[]> records = []
+    SegmentWriter.listSegments(directory).each { segment ->
+      SegmentReader.read(segment, { byte[] record ->
+        records.add(record)
+      } as SegmentReader.RecordConsumer)
+    }
+    return records
+  }
+
+  List<ExportTraceServiceRequest> readRequests() {
+    return readRecords().collect { ExportTraceServiceRequest.parseFrom(it) }
+  }
+
+  static List<String> spanNames(ExportTraceServiceRequest request) {
+    return request.resourceSpansList
+      .collectMany { it.instrumentationLibrarySpansList }
+      .collectMany { it.spansList }*.name
+  }
+}
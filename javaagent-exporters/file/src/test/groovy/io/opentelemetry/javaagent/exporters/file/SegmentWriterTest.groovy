@@ -0,0 +1,230 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file
+
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.StandardOpenOption
+import spock.lang.Specification
+
+class SegmentWriterTest extends Specification {
+
+  File directory = Files.createTempDirectory("spool").toFile()
+
+  def cleanup() {
+    directory.deleteDir()
+  }
+
+  def "records round trip through segments"() {
+    setup:
+    def writer = new SegmentWriter(directory, 1024, 1024 * 1024)
+    def records = (1..20).collect { record("record $it") }
+
+    when:
+    records.each { writer.append(it) }
+    writer.close()
+
+    then:
+    readAll() == records.collect { new String(it, StandardCharsets.UTF_8) }
+  }
+
+  def "a segment is rotated once a record doesn't fit"() {
+    setup:
+    // 10 byte records take 18 bytes each, two fit after the header with room for the end marker
+    def writer = new SegmentWriter(directory, 64, 1024 * 1024)
+
+    when:
+    (0..4).each { writer.append(record("record-$it..")) }
+    writer.close()
+
+    then:
+    SegmentWriter.listSegments(directory)*.name == (0..2).collect { SegmentWriter.segmentName(it) }
+    SegmentWriter.listSegments(directory)*.length() == [64L, 64L, 64L]
+    readSegment(0) == ["record-0..", "record-1.."]
+    readSegment(1) == ["record-2..", "record-3.."]
+    readSegment(2) == ["record-4.."]
+  }
+
+  def "a new writer continues after the existing segments"() {
+    setup:
+    def writer = new SegmentWriter(directory, 64, 1024 * 1024)
+    writer.append(record("first"))
+    writer.close()
+
+    when:
+    writer = new SegmentWriter(directory, 64, 1024 * 1024)
+    writer.append(record("second"))
+    writer.close()
+
+    then:
+    SegmentWriter.listSegments(directory)*.name == [
+      SegmentWriter.segmentName(0), SegmentWriter.segmentName(1)]
+    readAll() == ["first", "second"]
+  }
+
+  def "records larger than a segment are rejected"() {
+    setup:
+    def writer = new SegmentWriter(directory, 64, 1024 * 1024)
+
+    when:
+    writer.append(new byte[writer.maxRecordSize() + 1])
+
+    then:
+    thrown(IllegalArgumentException)
+
+    when:
+    writer.append(new byte[writer.maxRecordSize()])
+    writer.close()
+
+    then:
+    readAll()*.length() == [writer.maxRecordSize()]
+  }
+
+  def "oldest segments are deleted to stay within the maximum size"() {
+    setup:
+    // one 30 byte record per segment, at most two segments
+    def writer = new SegmentWriter(directory, 64, 128)
+
+    when:
+    (0..3).each { writer.append(record("record-${it}".padRight(30, "."))) }
+    writer.close()
+
+    then:
+    SegmentWriter.listSegments(directory)*.name == [
+      SegmentWriter.segmentName(2), SegmentWriter.segmentName(3)]
+  }
+
+  def "locked segments are skipped when deleting"() {
+    setup:
+    def writer = new SegmentWriter(directory, 64, 128)
+    writer.append(record("record-0".padRight(30, ".")))
+    writer.append(record("record-1".padRight(30, ".")))
+    def oldest = new File(directory, SegmentWriter.segmentName(0))
+    def channel = FileChannel.open(oldest.toPath(), StandardOpenOption.WRITE)
+    def lock = channel.lock()
+
+    expect:
+    SegmentWriter.isLocked(oldest)
+
+    when:
+    writer.append(record("record-2".padRight(30, ".")))
+
+    then:
+    // the locked segment still counts toward the size, so the next oldest one goes
+    SegmentWriter.listSegments(directory)*.name == [
+      SegmentWriter.segmentName(0), SegmentWriter.segmentName(2)]
+
+    when:
+    lock.release()
+    channel.close()
+    writer.append(record("record-3".padRight(30, ".")))
+    writer.close()
+
+    then:
+    !SegmentWriter.isLocked(oldest)
+    SegmentWriter.listSegments(directory)*.name == [
+      SegmentWriter.segmentName(2), SegmentWriter.segmentName(3)]
+
+    cleanup:
+    channel?.close()
+  }
+
+  def "a corrupt record ends the segment"() {
+    setup:
+    writeRecords("first-....", "second-...", "third-....")
+    // header, then [length][crc] of the first record, its payload, and the second record header
+    corrupt(8 + 8 + 10 + 8)
+
+    expect:
+    readAll() == ["first-...."]
+  }
+
+  def "a record without its length reads as the end of the segment"() {
+    setup:
+    writeRecords("first-....", "second-...")
+    // the writer stores the length last, so this is what a crash part way through leaves
+    overwriteInt(8 + 8 + 10, 0)
+
+    expect:
+    readAll() == ["first-...."]
+  }
+
+  def "a truncated segment returns the complete records"() {
+    setup:
+    writeRecords("first-....", "second-...")
+    new RandomAccessFile(segment(0), "rw").withCloseable { it.setLength(8 + 8 + 10 + 8 + 5) }
+
+    expect:
+    readAll() == ["first-...."]
+  }
+
+  def "a file that is not a segment is rejected"() {
+    setup:
+    segment(0).bytes = new byte[64]
+
+    when:
+    SegmentReader.read(segment(0), {} as SegmentReader.RecordConsumer)
+
+    then:
+    thrown(IOException)
+  }
+
+  static byte[] record(String value) {
+    return value.getBytes(StandardCharsets.UTF_8)
+  }
+
+  File segment(long sequence) {
+    return new File(directory, SegmentWriter.segmentName(sequence))
+  }
+
+  void writeRecords(String... values) {
+    def writer = new SegmentWriter(directory, 1024, 1024 * 1024)
+    values.each { writer.append(record(it)) }
+    writer.close()
+  }
+
+  void corrupt(long position) {
+    new RandomAccessFile(segment(0), "rw").withCloseable { file ->
+      file.seek(position)
+      int value = file.read()
+      file.seek(position)
+      file.write(value ^ 0xFF)
+    }
+  }
+
+  void overwriteInt(long position, int value) {
+    new RandomAccessFile(segment(0), "rw").withCloseable { file ->
+      file.seek(position)
+      file.writeInt(value)
+    }
+  }
+
+  List<String> readSegment(long sequence) {
+    def records = []
+    SegmentReader.read(segment(sequence), { byte[] record ->
+      records.add(new String(record, StandardCharsets.UTF_8))
+    } as SegmentReader.RecordConsumer)
+    return records
+  }
+
+  List<String> readAll() {
+    return SegmentWriter.listSegments(directory).collectMany {
+      readSegment(SegmentWriter.sequenceOf(it))
+    }
+  }
+}
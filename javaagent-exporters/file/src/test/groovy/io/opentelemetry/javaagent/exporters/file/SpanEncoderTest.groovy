@@ -0,0 +1,170 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.file
+
+import io.opentelemetry.common.AttributeValue
+import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer
+import io.opentelemetry.proto.common.v1.AnyValue
+import io.opentelemetry.proto.common.v1.KeyValue
+import io.opentelemetry.sdk.trace.ReadableSpan
+import io.opentelemetry.sdk.trace.TracerSdkProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.trace.Span
+import io.opentelemetry.trace.Status
+import spock.lang.Specification
+
+class SpanEncoderTest extends Specification {
+
+  def tracerProvider = TracerSdkProvider.builder().build()
+  def encoder = new SpanEncoder()
+
+  def "encodes the fields of a span"() {
+    setup:
+    def tracer = tracerProvider.get("test", "1.0")
+    def parent = tracer.spanBuilder("parent").startSpan()
+    def linked = tracer.spanBuilder("linked").startSpan()
+    def span = tracer.spanBuilder("child")
+      .setParent(parent)
+      .setSpanKind(Span.Kind.CLIENT)
+      .addLink(linked.context)
+      .startSpan()
+    span.setAttribute("string", "value")
+    span.setAttribute("long", 42L)
+    span.setAttribute("double", 0.5d)
+    span.setAttribute("boolean", true)
+    span.addEvent("event")
+    span.setStatus(Status.NOT_FOUND.withDescription("missing"))
+    span.end()
+    SpanData spanData = ((ReadableSpan) span).toSpanData()
+
+    when:
+    def request = encoder.encode([spanData])
+
+    then:
+    request.resourceSpansCount == 1
+    def resourceSpans = request.getResourceSpans(0)
+    attributes(resourceSpans.resource.attributesList) == resourceAttributes(spanData)
+    resourceSpans.instrumentationLibrarySpansCount == 1
+    def librarySpans = resourceSpans.getInstrumentationLibrarySpans(0)
+    librarySpans.instrumentationLibrary.name == "test"
+    librarySpans.instrumentationLibrary.version == "1.0"
+    librarySpans.spansCount == 1
+
+    def encoded = librarySpans.getSpans(0)
+    encoded.traceId.toByteArray().encodeHex().toString() == spanData.traceId.toLowerBase16()
+    encoded.spanId.toByteArray().encodeHex().toString() == spanData.spanId.toLowerBase16()
+    encoded.parentSpanId.toByteArray().encodeHex().toString() ==
+      parent.context.spanId.toLowerBase16()
+    encoded.name == "child"
+    // OTLP numbers the kinds from 1, in the order of Span.Kind
+    encoded.kindValue == Span.Kind.CLIENT.ordinal() + 1
+    encoded.startTimeUnixNano == spanData.startEpochNanos
+    encoded.endTimeUnixNano == spanData.endEpochNanos
+    attributes(encoded.attributesList) ==
+      ["string": "value", "long": 42L, "double": 0.5d, "boolean": true]
+    encoded.droppedAttributesCount == 0
+    encoded.eventsList*.name == ["event"]
+    encoded.getEvents(0).timeUnixNano == spanData.events[0].epochNanos
+    encoded.linksCount == 1
+    encoded.getLinks(0).traceId.toByteArray().encodeHex().toString() ==
+      linked.context.traceId.toLowerBase16()
+    encoded.getLinks(0).spanId.toByteArray().encodeHex().toString() ==
+      linked.context.spanId.toLowerBase16()
+    encoded.status.codeValue == Status.NOT_FOUND.canonicalCode.value()
+    encoded.status.message == "missing"
+  }
+
+  def "a root span has no parent span id"() {
+    setup:
+    def span = tracerProvider.get("test").spanBuilder("root").startSpan()
+    span.end()
+
+    when:
+    def encoded = encoder.encode([((ReadableSpan) span).toSpanData()])
+      .getResourceSpans(0)
+      .getInstrumentationLibrarySpans(0)
+      .getSpans(0)
+
+    then:
+    encoded.parentSpanId.isEmpty()
+    encoded.status.message == ""
+  }
+
+  def "spans are grouped by instrumentation library"() {
+    setup:
+    def spans = ["a", "b", "a"].collect { library ->
+      def span = tracerProvider.get(library).spanBuilder("span-$library").startSpan()
+      span.end()
+      ((ReadableSpan) span).toSpanData()
+    }
+
+    when:
+    def request = encoder.encode(spans)
+
+    then:
+    request.resourceSpansCount == 1
+    def librarySpans = request.getResourceSpans(0).instrumentationLibrarySpansList
+    librarySpans*.instrumentationLibrary*.name == ["a", "b"]
+    librarySpans*.instrumentationLibrary*.version == ["", ""]
+    librarySpans.collect { it.spansList*.name } == [["span-a", "span-a"], ["span-b"]]
+  }
+
+  def "converts #value.type attribute values"() {
+    expect:
+    decode(SpanEncoder.toAnyValue(value)) == expected
+
+    where:
+    value                                                             | expected
+    AttributeValue.stringAttributeValue("value")                      | "value"
+    AttributeValue.booleanAttributeValue(true)                        | true
+    AttributeValue.longAttributeValue(-1)                             | -1L
+    AttributeValue.doubleAttributeValue(0.25d)                        | 0.25d
+    AttributeValue.arrayAttributeValue(["a", "b"] as String[])        | ["a", "b"]
+    AttributeValue.arrayAttributeValue([true, false] as Boolean[])    | [true, false]
+    AttributeValue.arrayAttributeValue([1L, 2L] as Long[])            | [1L, 2L]
+    AttributeValue.arrayAttributeValue([0.5d, -1.5d] as Double[])     | [0.5d, -1.5d]
+  }
+
+  static Map<String, Object> attributes(List<KeyValue> keyValues) {
+    return keyValues.collectEntries { [(it.key): decode(it.value)] }
+  }
+
+  static Map<String, Object> resourceAttributes(SpanData spanData) {
+    Map<String, Object> attributes = [:]
+    spanData.resource.attributes.forEach({ String key, AttributeValue attributeValue ->
+      attributes.put(key, decode(SpanEncoder.toAnyValue(attributeValue)))
+    } as KeyValueConsumer<AttributeValue>)
+    return attributes
+  }
+
+  static Object decode(AnyValue value) {
+    switch (value.valueCase) {
+      case AnyValue.ValueCase.STRING_VALUE:
+        return value.stringValue
+      case AnyValue.ValueCase.BOOL_VALUE:
+        return value.boolValue
+      case AnyValue.ValueCase.INT_VALUE:
+        return value.intValue
+      case AnyValue.ValueCase.DOUBLE_VALUE:
+        return value.doubleValue
+      case AnyValue.ValueCase.ARRAY_VALUE:
+        return value.arrayValue.valuesList.collect { decode(it) }
+      default:
+        return null
+    }
+  }
+}
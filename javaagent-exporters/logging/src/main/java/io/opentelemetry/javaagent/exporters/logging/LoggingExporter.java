@@ -21,48 +21,285 @@ import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
 import io.opentelemetry.sdk.common.export.CompletableResultCode;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.PrintStream;
 import java.util.Collection;
+import java.util.List;
 
+/**
+ * Prints exported spans. Each batch is rendered into a reused buffer and written with a single
+ * call, so exporting doesn't contend on the output stream's lock once per span and attribute.
+ */
 public class LoggingExporter implements SpanExporter {
+
+  public enum Format {
+    /** All spans of a batch on one line: {@code <prefix> <name> <span id> key=value ...}. */
+    DEFAULT,
+    /**
+     * One line per span: {@code <prefix> <trace id> <span id> <parent span id> <kind> <name>
+     * <duration>us <status> key=value ...}.
+     */
+    COMPACT,
+    /** One JSON object per span and line. */
+    JSON
+  }
+
+  // buffers that grew past this size are not kept for the next batch
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
   private final String prefix;
+  private final Format format;
+  private final PrintStream out;
+
+  private final AttributeAppender attributeAppender = new AttributeAppender();
+  private StringBuilder buffer = new StringBuilder(1024);
 
   public LoggingExporter(String prefix) {
+    this(prefix, Format.DEFAULT, System.out);
+  }
+
+  public LoggingExporter(String prefix, Format format, PrintStream out) {
     this.prefix = prefix;
+    this.format = format;
+    this.out = out;
   }
 
   @Override
-  public CompletableResultCode export(Collection<SpanData> list) {
+  public synchronized CompletableResultCode export(Collection<SpanData> list) {
+    StringBuilder buffer = this.buffer;
+    buffer.setLength(0);
     for (SpanData span : list) {
-      System.out.print(
-          prefix + " " + span.getName() + " " + span.getSpanId().toLowerBase16() + " ");
-      span.getAttributes()
-          .forEach(
-              new KeyValueConsumer<AttributeValue>() {
-                @Override
-                public void consume(String key, AttributeValue value) {
-                  System.out.print(key + "=");
-                  switch (value.getType()) {
-                    case STRING:
-                      System.out.print('"' + value.getStringValue() + '"');
-                      break;
-                    case BOOLEAN:
-                      System.out.print(value.getBooleanValue());
-                      break;
-                    case LONG:
-                      System.out.print(value.getLongValue());
-                      break;
-                    case DOUBLE:
-                      System.out.print(value.getDoubleValue());
-                      break;
-                  }
-                  System.out.print(" ");
-                }
-              });
+      switch (format) {
+        case COMPACT:
+          appendCompact(buffer, span);
+          break;
+        case JSON:
+          appendJson(buffer, span);
+          break;
+        default:
+          appendDefault(buffer, span);
+          break;
+      }
+    }
+    if (format == Format.DEFAULT) {
+      buffer.append(LINE_SEPARATOR);
+    }
+    out.print(buffer);
+    out.flush();
+    if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+      this.buffer = new StringBuilder(1024);
     }
-    System.out.println();
     return CompletableResultCode.ofSuccess();
   }
 
+  private void appendDefault(StringBuilder buffer, SpanData span) {
+    buffer
+        .append(prefix)
+        .append(' ')
+        .append(span.getName())
+        .append(' ')
+        .append(span.getSpanId().toLowerBase16())
+        .append(' ');
+    appendAttributes(buffer, span, false);
+  }
+
+  private void appendCompact(StringBuilder buffer, SpanData span) {
+    buffer
+        .append(prefix)
+        .append(' ')
+        .append(span.getTraceId().toLowerBase16())
+        .append(' ')
+        .append(span.getSpanId().toLowerBase16())
+        .append(' ')
+        .append(span.getParentSpanId().toLowerBase16())
+        .append(' ')
+        .append(span.getKind())
+        .append(' ')
+        .append(span.getName())
+        .append(' ')
+        .append((span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000)
+        .append("us ")
+        .append(span.getStatus().getCanonicalCode())
+        .append(' ');
+    appendAttributes(buffer, span, false);
+    // no trailing space before the line separator
+    buffer.setLength(buffer.length() - 1);
+    buffer.append(LINE_SEPARATOR);
+  }
+
+  private void appendJson(StringBuilder buffer, SpanData span) {
+    buffer.append("{\"traceId\":\"").append(span.getTraceId().toLowerBase16());
+    buffer.append("\",\"spanId\":\"").append(span.getSpanId().toLowerBase16());
+    buffer.append("\",\"parentSpanId\":\"").append(span.getParentSpanId().toLowerBase16());
+    buffer.append("\",\"name\":");
+    appendJsonString(buffer, span.getName());
+    buffer.append(",\"kind\":\"").append(span.getKind());
+    buffer.append("\",\"startEpochNanos\":").append(span.getStartEpochNanos());
+    buffer.append(",\"endEpochNanos\":").append(span.getEndEpochNanos());
+    buffer.append(",\"status\":\"").append(span.getStatus().getCanonicalCode());
+    buffer.append("\",\"attributes\":{");
+    int start = buffer.length();
+    appendAttributes(buffer, span, true);
+    if (buffer.length() > start) {
+      // remove the trailing comma
+      buffer.setLength(buffer.length() - 1);
+    }
+    buffer.append("}}").append(LINE_SEPARATOR);
+  }
+
+  private void appendAttributes(StringBuilder buffer, SpanData span, boolean json) {
+    attributeAppender.buffer = buffer;
+    attributeAppender.json = json;
+    try {
+      span.getAttributes().forEach(attributeAppender);
+    } finally {
+      attributeAppender.buffer = null;
+    }
+  }
+
+  /** Appends {@code key=value } or, for JSON, {@code "key":value,}. */
+  private static final class AttributeAppender implements KeyValueConsumer<AttributeValue> {
+    private StringBuilder buffer;
+    private boolean json;
+
+    @Override
+    public void consume(String key, AttributeValue value) {
+      if (json) {
+        appendJsonString(buffer, key);
+        buffer.append(':');
+        appendJsonValue(buffer, value);
+        buffer.append(',');
+        return;
+      }
+      buffer.append(key).append('=');
+      switch (value.getType()) {
+        case STRING:
+          buffer.append('"').append(value.getStringValue()).append('"');
+          break;
+        case BOOLEAN:
+          buffer.append(value.getBooleanValue());
+          break;
+        case LONG:
+          buffer.append(value.getLongValue());
+          break;
+        case DOUBLE:
+          buffer.append(value.getDoubleValue());
+          break;
+        case STRING_ARRAY:
+          buffer.append(value.getStringArrayValue());
+          break;
+        case BOOLEAN_ARRAY:
+          buffer.append(value.getBooleanArrayValue());
+          break;
+        case LONG_ARRAY:
+          buffer.append(value.getLongArrayValue());
+          break;
+        case DOUBLE_ARRAY:
+          buffer.append(value.getDoubleArrayValue());
+          break;
+      }
+      buffer.append(' ');
+    }
+  }
+
+  private static void appendJsonValue(StringBuilder buffer, AttributeValue value) {
+    switch (value.getType()) {
+      case STRING:
+        appendJsonString(buffer, value.getStringValue());
+        break;
+      case BOOLEAN:
+        buffer.append(value.getBooleanValue());
+        break;
+      case LONG:
+        buffer.append(value.getLongValue());
+        break;
+      case DOUBLE:
+        appendJsonNumber(buffer, value.getDoubleValue());
+        break;
+      case STRING_ARRAY:
+        appendJsonArray(buffer, value.getStringArrayValue());
+        break;
+      case BOOLEAN_ARRAY:
+        appendJsonArray(buffer, value.getBooleanArrayValue());
+        break;
+      case LONG_ARRAY:
+        appendJsonArray(buffer, value.getLongArrayValue());
+        break;
+      case DOUBLE_ARRAY:
+        appendJsonArray(buffer, value.getDoubleArrayValue());
+        break;
+      default:
+        buffer.append("null");
+        break;
+    }
+  }
+
+  private static void appendJsonArray(StringBuilder buffer, List<?> values) {
+    buffer.append('[');
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        buffer.append(',');
+      }
+      Object value = values.get(i);
+      if (value instanceof String) {
+        appendJsonString(buffer, (String) value);
+      } else if (value instanceof Double) {
+        appendJsonNumber(buffer, (Double) value);
+      } else {
+        buffer.append(value);
+      }
+    }
+    buffer.append(']');
+  }
+
+  private static void appendJsonNumber(StringBuilder buffer, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      // not representable as a JSON number
+      buffer.append('"').append(value).append('"');
+    } else {
+      buffer.append(value);
+    }
+  }
+
+  static void appendJsonString(StringBuilder buffer, String value) {
+    if (value == null) {
+      buffer.append("null");
+      return;
+    }
+    buffer.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          buffer.append("\\\"");
+          break;
+        case '\\':
+          buffer.append("\\\\");
+          break;
+        case '\n':
+          buffer.append("\\n");
+          break;
+        case '\r':
+          buffer.append("\\r");
+          break;
+        case '\t':
+          buffer.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            buffer.append("\\u00");
+            buffer.append(Character.forDigit(c >> 4, 16));
+            buffer.append(Character.forDigit(c & 0xF, 16));
+          } else {
+            buffer.append(c);
+          }
+          break;
+      }
+    }
+    buffer.append('"');
+  }
+
   @Override
   public CompletableResultCode flush() {
     return CompletableResultCode.ofSuccess();
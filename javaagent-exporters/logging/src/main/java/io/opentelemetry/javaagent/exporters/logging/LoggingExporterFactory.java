@@ -19,10 +19,28 @@ package io.opentelemetry.javaagent.exporters.logging;
 import io.opentelemetry.sdk.extensions.auto.config.Config;
 import io.opentelemetry.sdk.extensions.auto.config.SpanExporterFactory;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Arrays;
+import java.util.Locale;
 
 public class LoggingExporterFactory implements SpanExporterFactory {
   @Override
   public SpanExporter fromConfig(Config config) {
-    return new LoggingExporter(config.getString("logging.prefix", "Logging Exporter:"));
+    return new LoggingExporter(
+        config.getString("logging.prefix", "Logging Exporter:"),
+        parseFormat(config.getString("logging.format", "default")),
+        System.out);
+  }
+
+  static LoggingExporter.Format parseFormat(String format) {
+    try {
+      return LoggingExporter.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Unknown logging exporter format "
+              + format
+              + ", expected one of "
+              + Arrays.toString(LoggingExporter.Format.values()),
+          e);
+    }
   }
 }
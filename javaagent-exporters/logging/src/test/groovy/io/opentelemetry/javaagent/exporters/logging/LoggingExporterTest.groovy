@@ -0,0 +1,195 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.exporters.logging
+
+import groovy.json.JsonSlurper
+import io.opentelemetry.common.AttributeValue
+import io.opentelemetry.javaagent.exporters.logging.LoggingExporter.Format
+import io.opentelemetry.sdk.trace.ReadableSpan
+import io.opentelemetry.sdk.trace.TracerSdkProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.trace.Span
+import spock.lang.Specification
+
+class LoggingExporterTest extends Specification {
+  def tracer = TracerSdkProvider.builder().build().get("test")
+
+  def "default prints the whole batch on one line"() {
+    setup:
+    def first = span("first", ["count": AttributeValue.longAttributeValue(1)])
+    def second = span("second", [:])
+
+    expect:
+    export(Format.DEFAULT, first, second) ==
+      "prefix first ${first.spanId.toLowerBase16()} count=1 " +
+      "prefix second ${second.spanId.toLowerBase16()} " + System.lineSeparator()
+  }
+
+  def "compact prints one line per span"() {
+    setup:
+    def first = span("GET /users", ["http.status_code": AttributeValue.longAttributeValue(200)])
+    def second = span("no attributes", [:])
+
+    when:
+    def lines = export(Format.COMPACT, first, second).split(System.lineSeparator())
+
+    then:
+    lines.length == 2
+    lines[0] == compactFields(first) + " http.status_code=200"
+    lines[1] == compactFields(second)
+  }
+
+  def "compact prints attribute values"() {
+    setup:
+    def spanData = span("span", ["key": value])
+
+    expect:
+    export(Format.COMPACT, spanData) ==
+      compactFields(spanData) + " key=" + expected + System.lineSeparator()
+
+    where:
+    value                                                                | expected
+    AttributeValue.stringAttributeValue("value")                         | '"value"'
+    AttributeValue.booleanAttributeValue(true)                           | "true"
+    AttributeValue.longAttributeValue(-5)                                | "-5"
+    AttributeValue.doubleAttributeValue(Double.NaN)                      | "NaN"
+    AttributeValue.arrayAttributeValue(["a", "b"] as String[])           | "[a, b]"
+    AttributeValue.arrayAttributeValue([1L, 2L] as Long[])               | "[1, 2]"
+    AttributeValue.arrayAttributeValue([true, false] as Boolean[])       | "[true, false]"
+    AttributeValue.arrayAttributeValue([1.5d, Double.NaN] as Double[])   | "[1.5, NaN]"
+  }
+
+  def "json escapes strings"() {
+    setup:
+    def name = "say \"hi\"\n\t\\ \u0001"
+    def spanData = span(name, ["quote\"key": AttributeValue.stringAttributeValue("a\r\nb")])
+
+    when:
+    def output = export(Format.JSON, spanData)
+
+    then:
+    output.endsWith(System.lineSeparator())
+    output.readLines().size() == 1
+    output.contains('"name":"say \\"hi\\"\\n\\t\\\\ \\u0001"')
+    output.contains('"quote\\"key":"a\\r\\nb"')
+
+    when:
+    def json = new JsonSlurper().parseText(output)
+
+    then:
+    json.name == name
+    json.attributes == ["quote\"key": "a\r\nb"]
+  }
+
+  def "json prints span fields"() {
+    setup:
+    def spanData = span("span", [:])
+
+    when:
+    def json = new JsonSlurper().parseText(export(Format.JSON, spanData))
+
+    then:
+    json.traceId == spanData.traceId.toLowerBase16()
+    json.spanId == spanData.spanId.toLowerBase16()
+    json.parentSpanId == spanData.parentSpanId.toLowerBase16()
+    json.name == "span"
+    json.kind == "SERVER"
+    json.startEpochNanos == spanData.startEpochNanos
+    json.endEpochNanos == spanData.endEpochNanos
+    json.status == spanData.status.canonicalCode.toString()
+    json.attributes == [:]
+  }
+
+  def "json prints attribute values"() {
+    setup:
+    def spanData = span("span", ["key": value])
+
+    when:
+    def output = export(Format.JSON, spanData)
+
+    then:
+    output.contains('"attributes":{"key":' + expected + '}}')
+    // non-finite doubles are quoted, so every line stays valid JSON
+    new JsonSlurper().parseText(output)
+
+    where:
+    value                                                                         | expected
+    AttributeValue.stringAttributeValue("value")                                  | '"value"'
+    AttributeValue.booleanAttributeValue(false)                                   | "false"
+    AttributeValue.longAttributeValue(42)                                         | "42"
+    AttributeValue.doubleAttributeValue(0.25)                                     | "0.25"
+    AttributeValue.doubleAttributeValue(Double.NaN)                               | '"NaN"'
+    AttributeValue.doubleAttributeValue(Double.POSITIVE_INFINITY)                 | '"Infinity"'
+    AttributeValue.doubleAttributeValue(Double.NEGATIVE_INFINITY)                 | '"-Infinity"'
+    AttributeValue.arrayAttributeValue(["a\"", "b"] as String[])                  | '["a\\"","b"]'
+    AttributeValue.arrayAttributeValue([1L, 2L] as Long[])                        | "[1,2]"
+    AttributeValue.arrayAttributeValue([true, false] as Boolean[])                | "[true,false]"
+    AttributeValue.arrayAttributeValue([1.5d, Double.NaN, -0.5d] as Double[])     | '[1.5,"NaN",-0.5]'
+  }
+
+  def "json prints one line per span"() {
+    setup:
+    def first = span("first", [:])
+    def second = span("second", [:])
+
+    when:
+    def lines = export(Format.JSON, first, second).split(System.lineSeparator())
+
+    then:
+    lines.collect { new JsonSlurper().parseText(it).name } == ["first", "second"]
+  }
+
+  def "parse format #value"() {
+    expect:
+    LoggingExporterFactory.parseFormat(value) == format
+
+    where:
+    value     | format
+    "default" | Format.DEFAULT
+    "COMPACT" | Format.COMPACT
+    " json "  | Format.JSON
+  }
+
+  def "unknown format fails"() {
+    when:
+    LoggingExporterFactory.parseFormat("yaml")
+
+    then:
+    def e = thrown(IllegalArgumentException)
+    e.message.contains("yaml")
+  }
+
+  SpanData span(String name, Map<String, AttributeValue> attributes) {
+    def span = tracer.spanBuilder(name).setSpanKind(Span.Kind.SERVER).startSpan()
+    attributes.each { key, value -> span.setAttribute(key, value) }
+    span.end()
+    return ((ReadableSpan) span).toSpanData()
+  }
+
+  static String export(Format format, SpanData... spans) {
+    def bytes = new ByteArrayOutputStream()
+    def exporter = new LoggingExporter("prefix", format, new PrintStream(bytes, true, "UTF-8"))
+    exporter.export(spans as List)
+    return bytes.toString("UTF-8")
+  }
+
+  static String compactFields(SpanData span) {
+    return "prefix ${span.traceId.toLowerBase16()} ${span.spanId.toLowerBase16()} " +
+      "${span.parentSpanId.toLowerBase16()} SERVER ${span.name} " +
+      "${(span.endEpochNanos - span.startEpochNanos).intdiv(1000)}us ${span.status.canonicalCode}"
+  }
+}
@@ -21,6 +21,9 @@ import spock.lang.Specification
 
 class ExporterAdaptersTest extends Specification {
 
+  @Shared
+  def fileExporterJar = System.getProperty("fileExporterJar")
+
   @Shared
   def otlpExporterJar = System.getProperty("otlpExporterJar")
 
@@ -41,7 +44,7 @@ class ExporterAdaptersTest extends Specification {
     file != null
 
     where:
-    exporter << [otlpExporterJar, jaegerExporterJar, loggingExporterJar, zipkinExporterJar]
+    exporter << [fileExporterJar, otlpExporterJar, jaegerExporterJar, loggingExporterJar, zipkinExporterJar]
   }
 
   def "test exporter load"() {
@@ -63,6 +66,7 @@ class ExporterAdaptersTest extends Specification {
 
     where:
     exporter           | classname
+    fileExporterJar    | 'io.opentelemetry.javaagent.exporters.file.FileSpanExporterFactory'
     otlpExporterJar    | 'io.opentelemetry.javaagent.exporters.otlp.OtlpSpanExporterFactory'
     jaegerExporterJar  | 'io.opentelemetry.javaagent.exporters.jaeger.JaegerExporterFactory'
     loggingExporterJar | 'io.opentelemetry.javaagent.exporters.logging.LoggingExporterFactory'
@@ -16,17 +16,49 @@
 
 package io.opentelemetry.javaagent.tooling;
 
+import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.TracingContextUtils;
 import io.opentelemetry.trace.attributes.SemanticAttributes;
 
 public class AddThreadDetailsSpanProcessor implements SpanProcessor {
+
+  // attribute values are immutable, so they are built once per thread and only the name is
+  // rebuilt when the thread is renamed
+  private static final ThreadLocal<ThreadDetails> THREAD_DETAILS =
+      new ThreadLocal<ThreadDetails>() {
+        @Override
+        protected ThreadDetails initialValue() {
+          return new ThreadDetails(Thread.currentThread());
+        }
+      };
+
+  private final boolean withoutCurrentSpanOnly;
+
+  public AddThreadDetailsSpanProcessor() {
+    this(false);
+  }
+
+  /**
+   * @param withoutCurrentSpanOnly only add thread details to spans that start while no local span
+   *     is current. {@link ReadWriteSpan} does not expose the parent, so a span started with an
+   *     explicit local parent outside of its scope gets them as well
+   */
+  public AddThreadDetailsSpanProcessor(boolean withoutCurrentSpanOnly) {
+    this.withoutCurrentSpanOnly = withoutCurrentSpanOnly;
+  }
+
   @Override
   public void onStart(ReadWriteSpan span) {
-    Thread currentThread = Thread.currentThread();
-    SemanticAttributes.THREAD_ID.set(span, currentThread.getId());
-    SemanticAttributes.THREAD_NAME.set(span, currentThread.getName());
+    if (withoutCurrentSpanOnly && hasCurrentLocalSpan()) {
+      return;
+    }
+    ThreadDetails threadDetails = THREAD_DETAILS.get();
+    span.setAttribute(SemanticAttributes.THREAD_ID.key(), threadDetails.id);
+    span.setAttribute(SemanticAttributes.THREAD_NAME.key(), threadDetails.name());
   }
 
   @Override
@@ -47,4 +79,30 @@ public class AddThreadDetailsSpanProcessor implements SpanProcessor {
 
   @Override
   public void forceFlush() {}
+
+  private static boolean hasCurrentLocalSpan() {
+    SpanContext current = TracingContextUtils.getCurrentSpan().getContext();
+    return current.isValid() && !current.isRemote();
+  }
+
+  private static class ThreadDetails {
+    private final Thread thread;
+    private final AttributeValue id;
+    private String name;
+    private AttributeValue nameValue;
+
+    ThreadDetails(Thread thread) {
+      this.thread = thread;
+      id = AttributeValue.longAttributeValue(thread.getId());
+    }
+
+    AttributeValue name() {
+      String currentName = thread.getName();
+      if (!currentName.equals(name)) {
+        name = currentName;
+        nameValue = AttributeValue.stringAttributeValue(currentName);
+      }
+      return nameValue;
+    }
+  }
 }
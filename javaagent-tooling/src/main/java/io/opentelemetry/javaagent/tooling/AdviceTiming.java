@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.bootstrap.AdviceOverhead;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import net.bytebuddy.asm.Advice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Advice applied around every instrumentation advice when {@link Config#isAdviceMetricsEnabled()}
+ * is set, recording its overhead through {@link AdviceOverhead}.
+ *
+ * <p>Advice on constructors is not timed, since the exit advice can't catch the throwables of a
+ * constructor call.
+ */
+public final class AdviceTiming {
+
+  private static final Logger log = LoggerFactory.getLogger(AdviceTiming.class);
+
+  public static boolean isEnabled() {
+    return Config.get().isAdviceMetricsEnabled();
+  }
+
+  /**
+   * Enables allocation tracking if the JVM supports it. Called reflectively by the agent once JMX
+   * may be initialized.
+   */
+  public static void enableAllocationTracking() {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+      if (threadBean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean allocationBean =
+            (com.sun.management.ThreadMXBean) threadBean;
+        if (allocationBean.isThreadAllocatedMemorySupported()) {
+          allocationBean.setThreadAllocatedMemoryEnabled(true);
+          AdviceOverhead.enableAllocationTracking(allocationBean);
+          return;
+        }
+      }
+    } catch (LinkageError e) {
+      // com.sun.management is not available on this JVM
+    }
+    log.debug("Thread allocation tracking is not supported, advice allocations are not recorded");
+  }
+
+  /** Bound to the primary name of the instrumentation whose advice is being timed. */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.PARAMETER)
+  public @interface InstrumentationName {}
+
+  /** Applied after the instrumentation advice, so that it runs around it. */
+  public static class Outer {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static int onEnter() {
+      return AdviceOverhead.outerEnter();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(
+        @InstrumentationName final String instrumentation, @Advice.Enter final int depth) {
+      AdviceOverhead.outerExit(instrumentation, depth);
+    }
+  }
+
+  /** Applied before the instrumentation advice, so that it runs within it. */
+  public static class Inner {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(@InstrumentationName final String instrumentation) {
+      AdviceOverhead.innerEnter(instrumentation);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit() {
+      AdviceOverhead.innerExit();
+    }
+  }
+
+  private AdviceTiming() {}
+}
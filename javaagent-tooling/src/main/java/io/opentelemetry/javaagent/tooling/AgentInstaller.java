@@ -25,9 +25,16 @@ import static net.bytebuddy.matcher.ElementMatchers.none;
 
 import io.opentelemetry.OpenTelemetry;
 import io.opentelemetry.instrumentation.api.config.Config;
-import io.opentelemetry.instrumentation.auto.api.SafeServiceLoader;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings;
+import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
+import io.opentelemetry.javaagent.tooling.matcher.NameDispatcher;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.instrument.Instrumentation;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -60,6 +67,7 @@ public class AgentInstaller {
   }
 
   public static void installBytebuddyAgent(Instrumentation inst) {
+    registerStartupTimingsWriter();
     if (Config.get().isTraceEnabled()) {
       installBytebuddyAgent(inst, false, new AgentBuilder.Listener[0]);
     } else {
@@ -108,6 +116,7 @@ public class AgentInstaller {
             .with(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY)
             .with(AgentTooling.poolStrategy())
             .with(new ClassLoadListener())
+            .with(new ClearHierarchyMemoListener())
             .with(AgentTooling.locationStrategy())
             // FIXME: we cannot enable it yet due to BB/JVM bug, see
             // https://github.com/raphw/byte-buddy/issues/558
@@ -131,22 +140,66 @@ public class AgentInstaller {
     for (AgentBuilder.Listener listener : listeners) {
       agentBuilder = agentBuilder.with(listener);
     }
+    if (InstrumenterStats.isEnabled()) {
+      agentBuilder = agentBuilder.with(new InstrumenterStats.TransformationListener());
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread("opentelemetry-instrumenter-stats") {
+                @Override
+                public void run() {
+                  InstrumenterStats.logAll();
+                }
+              });
+    }
     int numInstrumenters = 0;
+    // shared by all instrumenters so that name based type matchers are evaluated at once
+    NameDispatcher nameDispatcher = new NameDispatcher();
     for (Instrumenter instrumenter :
-        SafeServiceLoader.load(Instrumenter.class, AgentInstaller.class.getClassLoader())) {
+        InstrumenterLoader.load(
+            AgentInstaller.class.getClassLoader(), Config.get().getInstrumenterLoaderThreads())) {
       log.debug("Loading instrumentation {}", instrumenter.getClass().getName());
       try {
-        agentBuilder = instrumenter.instrument(agentBuilder);
+        if (instrumenter instanceof Instrumenter.Default) {
+          agentBuilder =
+              ((Instrumenter.Default) instrumenter).instrument(agentBuilder, nameDispatcher);
+        } else {
+          agentBuilder = instrumenter.instrument(agentBuilder);
+        }
         numInstrumenters++;
       } catch (Exception | LinkageError e) {
         log.error("Unable to load instrumentation {}", instrumenter.getClass().getName(), e);
       }
     }
-    log.debug("Installed {} instrumenter(s)", numInstrumenters);
+    log.debug(
+        "Installed {} instrumenter(s), {} with name preconditions",
+        numInstrumenters,
+        nameDispatcher.size());
 
     return agentBuilder.installOn(inst);
   }
 
+  /** Writes {@link StartupTimings} to the configured file when the JVM exits. */
+  private static void registerStartupTimingsWriter() {
+    final String timingsFile = Config.get().getStartupTimingsFile();
+    if (timingsFile == null) {
+      return;
+    }
+    StartupTimings.enable();
+    Thread writer =
+        new Thread("opentelemetry-startup-timings") {
+          @Override
+          public void run() {
+            try (Writer out =
+                new OutputStreamWriter(new FileOutputStream(timingsFile), StandardCharsets.UTF_8)) {
+              out.write(StartupTimings.toCsv());
+            } catch (IOException e) {
+              log.warn("Unable to write startup timings to {}", timingsFile, e);
+            }
+          }
+        };
+    Runtime.getRuntime().addShutdownHook(writer);
+  }
+
   private static void addByteBuddyRawSetting() {
     String savedPropertyValue = System.getProperty(TypeDefinition.RAW_TYPES_PROPERTY);
     try {
@@ -326,5 +379,14 @@ public class AgentInstaller {
     }
   }
 
+  /** Keeps the hierarchy memo of the last matched type from pinning its class loader. */
+  private static class ClearHierarchyMemoListener extends AgentBuilder.Listener.Adapter {
+    @Override
+    public void onComplete(
+        String typeName, ClassLoader classLoader, JavaModule javaModule, boolean loaded) {
+      AgentElementMatchers.clearHierarchyMemo();
+    }
+  }
+
   private AgentInstaller() {}
 }
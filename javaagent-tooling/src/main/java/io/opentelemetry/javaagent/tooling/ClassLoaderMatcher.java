@@ -46,7 +46,20 @@ public final class ClassLoaderMatcher {
    */
   public static ElementMatcher.Junction.AbstractBase<ClassLoader> hasClassesNamed(
       String... classNames) {
-    return new ClassLoaderHasClassesNamedMatcher(classNames);
+    return new ClassLoaderHasClassesNamedMatcher(false, classNames);
+  }
+
+  /**
+   * NOTICE: Does not match the bootstrap classpath. Don't use with classes expected to be on the
+   * bootstrap.
+   *
+   * @param classNames list of names to match. returns false if empty.
+   * @return true if at least one of the classes is available as a resource and not the bootstrap
+   *     classloader.
+   */
+  public static ElementMatcher.Junction.AbstractBase<ClassLoader> hasAnyClassesNamed(
+      String... classNames) {
+    return new ClassLoaderHasClassesNamedMatcher(true, classNames);
   }
 
   private static class SkipClassLoaderMatcher
@@ -128,9 +141,11 @@ public final class ClassLoaderMatcher {
 
     private final WeakCache<ClassLoader, Boolean> cache = AgentTooling.newWeakCache(25);
 
+    private final boolean matchAny;
     private final String[] resources;
 
-    private ClassLoaderHasClassesNamedMatcher(String... classNames) {
+    private ClassLoaderHasClassesNamedMatcher(boolean matchAny, String... classNames) {
+      this.matchAny = matchAny;
       resources = classNames;
       for (int i = 0; i < resources.length; i++) {
         resources[i] = resources[i].replace(".", "/") + ".class";
@@ -139,11 +154,12 @@ public final class ClassLoaderMatcher {
 
     private boolean hasResources(ClassLoader cl) {
       for (String resource : resources) {
-        if (cl.getResource(resource) == null) {
-          return false;
+        boolean found = cl.getResource(resource) != null;
+        if (found == matchAny) {
+          return found;
         }
       }
-      return true;
+      return !matchAny;
     }
 
     @Override
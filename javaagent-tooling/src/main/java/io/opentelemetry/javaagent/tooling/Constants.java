@@ -23,9 +23,17 @@ package io.opentelemetry.javaagent.tooling;
  */
 public final class Constants {
 
+  /**
+   * Common prefix of all {@link #BOOTSTRAP_PACKAGE_PREFIXES}, used as a cheap pre-check before
+   * looking at the individual prefixes.
+   */
+  public static final String BOOTSTRAP_PACKAGE_COMMON_PREFIX = "io.opentelemetry.";
+
   /**
    * packages which will be loaded on the bootstrap classloader
    *
+   * <p>All of them must start with {@link #BOOTSTRAP_PACKAGE_COMMON_PREFIX}.
+   *
    * <p>Updates should be mirrored in
    * io.opentelemetry.auto.gradle.instrumentation.AutoInstrumentationPlugin#BOOTSTRAP_PACKAGE_PREFIXES_COPY
    */
@@ -20,6 +20,8 @@ import static io.opentelemetry.instrumentation.auto.api.WeakMap.Provider.newWeak
 import static io.opentelemetry.javaagent.tooling.ClassLoaderMatcher.BOOTSTRAP_CLASSLOADER;
 
 import io.opentelemetry.instrumentation.auto.api.WeakMap;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings.Phase;
 import java.io.File;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
@@ -126,6 +128,8 @@ public class HelperInjector implements Transformer {
       }
 
       if (!injectedClassLoaders.containsKey(classLoader)) {
+        boolean timed = StartupTimings.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
         try {
           log.debug("Injecting classes onto classloader {} -> {}", classLoader, helperClassNames);
 
@@ -154,6 +158,10 @@ public class HelperInjector implements Transformer {
                 e);
           }
           throw new RuntimeException(e);
+        } finally {
+          if (timed) {
+            StartupTimings.record(Phase.HELPER_INJECTION, System.nanoTime() - start);
+          }
         }
 
         injectedClassLoaders.put(classLoader, true);
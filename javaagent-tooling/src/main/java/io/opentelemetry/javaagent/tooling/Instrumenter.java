@@ -19,18 +19,24 @@ package io.opentelemetry.javaagent.tooling;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.failSafe;
 import static net.bytebuddy.matcher.ElementMatchers.any;
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
 
 import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings;
+import io.opentelemetry.javaagent.bootstrap.StartupTimings.Phase;
 import io.opentelemetry.javaagent.tooling.bytebuddy.AgentTransformers;
 import io.opentelemetry.javaagent.tooling.bytebuddy.ExceptionHandlers;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
 import io.opentelemetry.javaagent.tooling.context.InstrumentationContextProvider;
 import io.opentelemetry.javaagent.tooling.context.NoopContextProvider;
+import io.opentelemetry.javaagent.tooling.matcher.NameDispatcher;
+import io.opentelemetry.javaagent.tooling.matcher.NamePrecondition;
 import io.opentelemetry.javaagent.tooling.muzzle.Reference;
 import io.opentelemetry.javaagent.tooling.muzzle.ReferenceMatcher;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -38,9 +44,11 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatcher.Junction;
 import net.bytebuddy.utility.JavaModule;
@@ -75,6 +83,8 @@ public interface Instrumenter {
     private final String instrumentationPrimaryName;
     private final InstrumentationContextProvider contextProvider;
     protected final boolean enabled;
+    // set by instrument() when instrumenter stats are enabled
+    private InstrumenterStats stats;
 
     protected final String packageName =
         getClass().getPackage() == null ? "" : getClass().getPackage().getName();
@@ -95,31 +105,90 @@ public interface Instrumenter {
 
     @Override
     public final AgentBuilder instrument(AgentBuilder parentAgentBuilder) {
+      return instrument(parentAgentBuilder, null);
+    }
+
+    /**
+     * @param nameDispatcher if not {@code null}, the {@link #namePrecondition()} is registered with
+     *     it and checked before any other matcher.
+     */
+    final AgentBuilder instrument(AgentBuilder parentAgentBuilder, NameDispatcher nameDispatcher) {
       if (!enabled) {
         log.debug("Instrumentation {} is disabled", this);
         return parentAgentBuilder;
       }
+      if (InstrumenterStats.isEnabled()) {
+        stats = InstrumenterStats.register(this);
+      }
+
+      NamePrecondition namePrecondition = nameDispatcher != null ? namePrecondition() : null;
+      AgentBuilder.RawMatcher nameMatcher =
+          namePrecondition != null ? nameDispatcher.register(namePrecondition) : null;
+      ElementMatcher<ClassLoader> classLoaderTrigger = classLoaderTrigger();
+      LazyInstrumentation lazyInstrumentation = null;
+      AgentBuilder.Identified.Narrowable narrowable;
+      if (classLoaderTrigger != null) {
+        lazyInstrumentation =
+            new LazyInstrumentation(
+                failSafe(
+                    classLoaderTrigger,
+                    "Instrumentation class loader trigger unexpected exception: "
+                        + getClass().getName()));
+        narrowable =
+            nameMatcher != null
+                ? parentAgentBuilder.type(nameMatcher).and(lazyInstrumentation)
+                : parentAgentBuilder.type(lazyInstrumentation);
+      } else if (nameMatcher != null) {
+        narrowable =
+            parentAgentBuilder
+                .type(nameMatcher)
+                .and(failSafeTypeMatcher(typeMatcher()), failSafeClassLoaderMatcher());
+      } else {
+        narrowable =
+            parentAgentBuilder.type(
+                failSafeTypeMatcher(typeMatcher()), failSafeClassLoaderMatcher());
+      }
 
       AgentBuilder.Identified.Extendable agentBuilder =
-          parentAgentBuilder
-              .type(
-                  failSafe(
-                      typeMatcher(),
-                      "Instrumentation type matcher unexpected exception: " + getClass().getName()),
-                  failSafe(
-                      classLoaderMatcher(),
-                      "Instrumentation class loader matcher unexpected exception: "
-                          + getClass().getName()))
+          narrowable
               .and(NOT_DECORATOR_MATCHER)
               .and(new MuzzleMatcher())
               .transform(AgentTransformers.defaultTransformers());
+      if (stats != null) {
+        agentBuilder = agentBuilder.transform(stats);
+      }
       agentBuilder = injectHelperClasses(agentBuilder);
       agentBuilder = contextProvider.instrumentationTransformer(agentBuilder);
-      agentBuilder = applyInstrumentationTransformers(agentBuilder);
+      if (lazyInstrumentation != null) {
+        agentBuilder = agentBuilder.transform(lazyInstrumentation);
+      } else {
+        for (AgentBuilder.Transformer transformer : instrumentationTransformers()) {
+          agentBuilder = agentBuilder.transform(transformer);
+        }
+      }
       agentBuilder = contextProvider.additionalInstrumentation(agentBuilder);
       return agentBuilder;
     }
 
+    private ElementMatcher<? super TypeDescription> failSafeTypeMatcher(
+        ElementMatcher<? super TypeDescription> typeMatcher) {
+      ElementMatcher<TypeDescription> matcher =
+          failSafe(
+              typeMatcher,
+              "Instrumentation type matcher unexpected exception: " + getClass().getName());
+      return stats != null ? stats.timed(matcher, InstrumenterStats.Phase.TYPE_MATCHING) : matcher;
+    }
+
+    private ElementMatcher<ClassLoader> failSafeClassLoaderMatcher() {
+      ElementMatcher<ClassLoader> matcher =
+          failSafe(
+              classLoaderMatcher(),
+              "Instrumentation class loader matcher unexpected exception: " + getClass().getName());
+      return stats != null
+          ? stats.timed(matcher, InstrumenterStats.Phase.CLASS_LOADER_MATCHING)
+          : matcher;
+    }
+
     private AgentBuilder.Identified.Extendable injectHelperClasses(
         AgentBuilder.Identified.Extendable agentBuilder) {
       String[] helperClassNames = helperClassNames();
@@ -131,17 +200,96 @@ public interface Instrumenter {
       return agentBuilder;
     }
 
-    private AgentBuilder.Identified.Extendable applyInstrumentationTransformers(
-        AgentBuilder.Identified.Extendable agentBuilder) {
+    private List<AgentBuilder.Transformer> instrumentationTransformers() {
+      boolean adviceTiming = AdviceTiming.isEnabled();
+      List<AgentBuilder.Transformer> instrumentationTransformers = new ArrayList<>();
       for (Map.Entry<? extends ElementMatcher, String> entry : transformers().entrySet()) {
-        agentBuilder =
-            agentBuilder.transform(
-                new AgentBuilder.Transformer.ForAdvice()
-                    .include(Utils.getBootstrapProxy(), Utils.getAgentClassLoader())
-                    .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
-                    .advice(entry.getKey(), entry.getValue()));
+        // advice applied later wraps advice applied earlier
+        if (adviceTiming) {
+          instrumentationTransformers.add(
+              adviceTimingTransformer(entry.getKey(), AdviceTiming.Inner.class));
+        }
+        instrumentationTransformers.add(
+            new AgentBuilder.Transformer.ForAdvice(adviceMapping())
+                .include(Utils.getBootstrapProxy(), Utils.getAgentClassLoader())
+                .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
+                .advice(entry.getKey(), entry.getValue()));
+        if (adviceTiming) {
+          instrumentationTransformers.add(
+              adviceTimingTransformer(entry.getKey(), AdviceTiming.Outer.class));
+        }
+      }
+      return instrumentationTransformers;
+    }
+
+    private AgentBuilder.Transformer adviceTimingTransformer(
+        ElementMatcher<? super MethodDescription> matcher, Class<?> advice) {
+      // the timing advice exits on throwables too, which byte-buddy can't do around a constructor
+      return new AgentBuilder.Transformer.ForAdvice(
+              Advice.withCustomMapping()
+                  .bind(AdviceTiming.InstrumentationName.class, instrumentationPrimaryName))
+          .include(Utils.getAgentClassLoader())
+          .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
+          .advice(not(isConstructor()).and(matcher), advice.getName());
+    }
+
+    /**
+     * Matcher and transformer of an instrumentation with a {@link #classLoaderTrigger()}, which
+     * builds the instrumentation's matchers and transformers when the trigger first matches.
+     */
+    private class LazyInstrumentation implements AgentBuilder.RawMatcher, AgentBuilder.Transformer {
+      private final ElementMatcher<ClassLoader> classLoaderTrigger;
+
+      private volatile boolean initialized;
+      private ElementMatcher<? super TypeDescription> typeMatcher;
+      private ElementMatcher<ClassLoader> classLoaderMatcher;
+      private List<AgentBuilder.Transformer> transformers;
+
+      private LazyInstrumentation(ElementMatcher<ClassLoader> classLoaderTrigger) {
+        this.classLoaderTrigger = classLoaderTrigger;
+      }
+
+      private void initialize() {
+        if (!initialized) {
+          synchronized (this) {
+            if (!initialized) {
+              log.debug("Initializing instrumentation {}", instrumentationPrimaryName);
+              typeMatcher = failSafeTypeMatcher(typeMatcher());
+              classLoaderMatcher = failSafeClassLoaderMatcher();
+              transformers = instrumentationTransformers();
+              initialized = true;
+            }
+          }
+        }
+      }
+
+      @Override
+      public boolean matches(
+          TypeDescription typeDescription,
+          ClassLoader classLoader,
+          JavaModule module,
+          Class<?> classBeingRedefined,
+          ProtectionDomain protectionDomain) {
+        if (!classLoaderTrigger.matches(classLoader)) {
+          return false;
+        }
+        initialize();
+        return classLoaderMatcher.matches(classLoader) && typeMatcher.matches(typeDescription);
+      }
+
+      @Override
+      public DynamicType.Builder<?> transform(
+          DynamicType.Builder<?> builder,
+          TypeDescription typeDescription,
+          ClassLoader classLoader,
+          JavaModule module) {
+        // only called for types this instrumentation matched, so it is already initialized
+        initialize();
+        for (AgentBuilder.Transformer transformer : transformers) {
+          builder = transformer.transform(builder, typeDescription, classLoader, module);
+        }
+        return builder;
       }
-      return agentBuilder;
     }
 
     /** Matches classes for which instrumentation is not muzzled. */
@@ -159,7 +307,18 @@ public interface Instrumenter {
          */
         ReferenceMatcher muzzle = getInstrumentationMuzzle();
         if (null != muzzle) {
+          boolean timed = stats != null || StartupTimings.isEnabled();
+          long start = timed ? System.nanoTime() : 0;
           boolean isMatch = muzzle.matches(classLoader);
+          if (timed) {
+            long duration = System.nanoTime() - start;
+            if (StartupTimings.isEnabled()) {
+              StartupTimings.record(Phase.MUZZLE_MATCHING, duration);
+            }
+            if (stats != null) {
+              stats.record(InstrumenterStats.Phase.MUZZLE, duration);
+            }
+          }
           if (!isMatch) {
             if (log.isDebugEnabled()) {
               List<Reference.Mismatch> mismatches =
@@ -209,12 +368,44 @@ public interface Instrumenter {
       return any();
     }
 
+    /**
+     * A cheap matcher, such as {@code hasClassesNamed(...)}, that a class loader must match before
+     * this instrumentation considers any of its classes. When it is not {@code null}, {@link
+     * #typeMatcher()}, {@link #classLoaderMatcher()} and {@link #transformers()} are only called
+     * once a matching class loader appears, instead of when the agent is installed.
+     *
+     * @return A class loader matcher that triggers building this instrumentation, or {@code null}
+     */
+    public ElementMatcher<ClassLoader> classLoaderTrigger() {
+      return null;
+    }
+
+    /**
+     * A condition on the name of the class under transform that every class matched by {@link
+     * #typeMatcher()} satisfies. The preconditions of all instrumenters are checked at once with a
+     * single lookup, so declaring one spares the other matchers for most classes.
+     *
+     * @return The name precondition of {@link #typeMatcher()}, or {@code null} if it has none
+     */
+    public NamePrecondition namePrecondition() {
+      return null;
+    }
+
     /** @return A type matcher used to match the class under transform. */
     public abstract ElementMatcher<? super TypeDescription> typeMatcher();
 
     /** @return A map of matcher->advice */
     public abstract Map<? extends ElementMatcher<? super MethodDescription>, String> transformers();
 
+    /**
+     * Custom advice annotation bindings applied to every advice in {@link #transformers()}. Allows
+     * instrumentations to inline values that are computed once per instrumented method at
+     * transformation time instead of on every invocation.
+     */
+    protected Advice.WithCustomMapping adviceMapping() {
+      return Advice.withCustomMapping();
+    }
+
     /**
      * Context stores to define for this instrumentation.
      *
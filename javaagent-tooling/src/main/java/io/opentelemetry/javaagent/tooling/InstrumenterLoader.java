@@ -0,0 +1,157 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.auto.api.SafeServiceLoader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads all {@link Instrumenter}s the way {@link SafeServiceLoader} does, but constructs them on a
+ * small pool of threads. Instrumenter constructors generate context store classes and look up
+ * their configuration, which otherwise all happens one after another on the premain thread.
+ */
+final class InstrumenterLoader {
+
+  private static final Logger log = LoggerFactory.getLogger(InstrumenterLoader.class);
+
+  private static final String SERVICE_FILE = "META-INF/services/" + Instrumenter.class.getName();
+
+  /**
+   * @param threads the maximum number of threads to construct instrumenters on, {@code 1} or less
+   *     constructs them on the calling thread
+   * @return the instrumenters, in the order they are declared in the service files
+   */
+  static List<Instrumenter> load(ClassLoader classLoader, int threads) {
+    threads = Math.min(threads, Runtime.getRuntime().availableProcessors());
+    List<String> classNames = threads > 1 ? instrumenterClassNames(classLoader) : null;
+    if (classNames == null) {
+      List<Instrumenter> instrumenters = new ArrayList<>();
+      for (Instrumenter instrumenter : SafeServiceLoader.load(Instrumenter.class, classLoader)) {
+        instrumenters.add(instrumenter);
+      }
+      return instrumenters;
+    }
+    return construct(classLoader, classNames, threads);
+  }
+
+  /**
+   * Constructs the named instrumenters on {@code threads} threads, skipping any that fail.
+   *
+   * @return the instrumenters, in the order of {@code classNames}
+   */
+  static List<Instrumenter> construct(
+      ClassLoader classLoader, List<String> classNames, int threads) {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads, new DaemonThreadFactory("opentelemetry-instrumenter-loader"));
+    try {
+      List<Future<Instrumenter>> futures = new ArrayList<>(classNames.size());
+      for (String className : classNames) {
+        futures.add(executor.submit(new Construct(className, classLoader)));
+      }
+      List<Instrumenter> instrumenters = new ArrayList<>(futures.size());
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          instrumenters.add(futures.get(i).get());
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof UnsupportedClassVersionError) {
+            log.debug("Unable to load instrumentation class: {}", cause.getMessage());
+          } else {
+            log.error("Unable to load instrumentation {}", classNames.get(i), cause);
+          }
+        }
+      }
+      return instrumenters;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.error("Interrupted while loading instrumentation", e);
+      return new ArrayList<>();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** @return the instrumenter class names, or {@code null} if the service files can't be read */
+  static List<String> instrumenterClassNames(ClassLoader classLoader) {
+    try {
+      Set<String> classNames = new LinkedHashSet<>();
+      Enumeration<URL> serviceFiles = classLoader.getResources(SERVICE_FILE);
+      while (serviceFiles.hasMoreElements()) {
+        try (InputStream in = serviceFiles.nextElement().openStream()) {
+          parseServiceFile(in, classNames);
+        }
+      }
+      return new ArrayList<>(classNames);
+    } catch (IOException e) {
+      log.debug("Unable to read {}, loading instrumentation serially", SERVICE_FILE, e);
+      return null;
+    }
+  }
+
+  /** Parses a provider configuration file as described in {@link java.util.ServiceLoader}. */
+  static void parseServiceFile(InputStream in, Set<String> classNames) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      int comment = line.indexOf('#');
+      if (comment >= 0) {
+        line = line.substring(0, comment);
+      }
+      line = line.trim();
+      if (!line.isEmpty()) {
+        classNames.add(line);
+      }
+    }
+  }
+
+  private static class Construct implements Callable<Instrumenter> {
+    private final String className;
+    private final ClassLoader classLoader;
+
+    private Construct(String className, ClassLoader classLoader) {
+      this.className = className;
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    public Instrumenter call() throws Exception {
+      return Class.forName(className, false, classLoader)
+          .asSubclass(Instrumenter.class)
+          .newInstance();
+    }
+  }
+
+  private InstrumenterLoader() {}
+}
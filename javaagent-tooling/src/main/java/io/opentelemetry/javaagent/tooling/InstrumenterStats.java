@@ -0,0 +1,250 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records, per {@link Instrumenter.Default}, the time spent in its matchers and in transforming
+ * the classes it matched. Only collected when {@code otel.instrumenter.stats.enabled} is set. The
+ * statistics are exposed through JMX and logged when the JVM exits.
+ *
+ * <p>Each instrumenter's stats are added to its transformer chain as the first transformer after
+ * the default ones, which counts the match and marks the instrumenter as taking part in the
+ * current transformation. {@link TransformationListener} then attributes the time until the
+ * transformation completes to every instrumenter that took part.
+ */
+public final class InstrumenterStats implements InstrumenterStatsMXBean, AgentBuilder.Transformer {
+
+  private static final Logger log = LoggerFactory.getLogger(InstrumenterStats.class);
+
+  enum Phase {
+    TYPE_MATCHING,
+    CLASS_LOADER_MATCHING,
+    MUZZLE,
+    TRANSFORM
+  }
+
+  private static final ConcurrentMap<String, InstrumenterStats> STATS = new ConcurrentHashMap<>();
+
+  // transformations in progress on this thread, nested when a transformation loads classes
+  private static final ThreadLocal<Deque<Transformation>> TRANSFORMATIONS =
+      new ThreadLocal<Deque<Transformation>>() {
+        @Override
+        protected Deque<Transformation> initialValue() {
+          return new ArrayDeque<>();
+        }
+      };
+
+  private final String instrumenter;
+  private final AtomicLong matchedClasses = new AtomicLong();
+  private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+
+  private InstrumenterStats(String instrumenter) {
+    this.instrumenter = instrumenter;
+  }
+
+  static boolean isEnabled() {
+    return Config.get().isInstrumenterStatsEnabled();
+  }
+
+  static InstrumenterStats register(Instrumenter instrumenter) {
+    String name = instrumenter.getClass().getName();
+    InstrumenterStats stats = new InstrumenterStats(name);
+    InstrumenterStats existing = STATS.putIfAbsent(name, stats);
+    return existing != null ? existing : stats;
+  }
+
+  void record(Phase phase, long durationNanos) {
+    nanos.addAndGet(phase.ordinal(), durationNanos);
+  }
+
+  <T> ElementMatcher<T> timed(final ElementMatcher<T> matcher, final Phase phase) {
+    return new ElementMatcher<T>() {
+      @Override
+      public boolean matches(T target) {
+        long start = System.nanoTime();
+        try {
+          return matcher.matches(target);
+        } finally {
+          record(phase, System.nanoTime() - start);
+        }
+      }
+
+      @Override
+      public String toString() {
+        return matcher.toString();
+      }
+    };
+  }
+
+  @Override
+  public DynamicType.Builder<?> transform(
+      DynamicType.Builder<?> builder,
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module) {
+    matchedClasses.incrementAndGet();
+    Transformation transformation = TRANSFORMATIONS.get().peek();
+    if (transformation != null) {
+      if (transformation.instrumenters.isEmpty()) {
+        transformation.start = System.nanoTime();
+      }
+      transformation.instrumenters.add(this);
+    }
+    return builder;
+  }
+
+  @Override
+  public String getInstrumenter() {
+    return instrumenter;
+  }
+
+  @Override
+  public long getMatchedClasses() {
+    return matchedClasses.get();
+  }
+
+  @Override
+  public long getTypeMatchingMillis() {
+    return millis(Phase.TYPE_MATCHING);
+  }
+
+  @Override
+  public long getClassLoaderMatchingMillis() {
+    return millis(Phase.CLASS_LOADER_MATCHING);
+  }
+
+  @Override
+  public long getMuzzleMillis() {
+    return millis(Phase.MUZZLE);
+  }
+
+  @Override
+  public long getTransformMillis() {
+    return millis(Phase.TRANSFORM);
+  }
+
+  private long millis(Phase phase) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos.get(phase.ordinal()));
+  }
+
+  private long totalNanos() {
+    long total = 0;
+    for (int i = 0; i < nanos.length(); i++) {
+      total += nanos.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Registers an {@link InstrumenterStatsMXBean} for every instrumenter. Called by {@code
+   * AgentInitializer}, after the application had a chance to set up a custom log manager.
+   */
+  public static void registerMBeans() {
+    if (!isEnabled()) {
+      return;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (InstrumenterStats stats : STATS.values()) {
+      try {
+        server.registerMBean(
+            stats,
+            new ObjectName(
+                "io.opentelemetry.javaagent:type=InstrumenterStats,name="
+                    + ObjectName.quote(stats.instrumenter)));
+      } catch (Exception e) {
+        log.warn("Unable to register instrumenter stats for {}", stats.instrumenter, e);
+      }
+    }
+  }
+
+  /** Logs the statistics of all instrumenters that did any work, most expensive first. */
+  static void logAll() {
+    List<InstrumenterStats> all = new ArrayList<>(STATS.values());
+    Collections.sort(
+        all,
+        new Comparator<InstrumenterStats>() {
+          @Override
+          public int compare(InstrumenterStats first, InstrumenterStats second) {
+            return Long.compare(second.totalNanos(), first.totalNanos());
+          }
+        });
+    log.info(
+        "Instrumenter stats (ms): type matching, class loader matching, muzzle, transform,"
+            + " matched classes");
+    for (InstrumenterStats stats : all) {
+      if (stats.totalNanos() > 0 || stats.getMatchedClasses() > 0) {
+        log.info(
+            "{}: {}, {}, {}, {}, {}",
+            stats.instrumenter,
+            stats.getTypeMatchingMillis(),
+            stats.getClassLoaderMatchingMillis(),
+            stats.getMuzzleMillis(),
+            stats.getTransformMillis(),
+            stats.getMatchedClasses());
+      }
+    }
+  }
+
+  private static class Transformation {
+    long start;
+    final List<InstrumenterStats> instrumenters = new ArrayList<>(2);
+  }
+
+  /** Attributes the duration of each transformation to the instrumenters that took part in it. */
+  static class TransformationListener extends AgentBuilder.Listener.Adapter {
+    @Override
+    public void onDiscovery(
+        String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+      TRANSFORMATIONS.get().push(new Transformation());
+    }
+
+    @Override
+    public void onComplete(
+        String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+      Transformation transformation = TRANSFORMATIONS.get().poll();
+      if (transformation != null && !transformation.instrumenters.isEmpty()) {
+        long duration = System.nanoTime() - transformation.start;
+        for (InstrumenterStats stats : transformation.instrumenters) {
+          stats.record(Phase.TRANSFORM, duration);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+/**
+ * Matching and transformation statistics of one {@link Instrumenter}, registered as {@code
+ * io.opentelemetry.javaagent:type=InstrumenterStats,name=<instrumenter class name>}.
+ */
+public interface InstrumenterStatsMXBean {
+
+  String getInstrumenter();
+
+  /** @return the number of classes that passed all of the instrumenter's matchers */
+  long getMatchedClasses();
+
+  long getTypeMatchingMillis();
+
+  long getClassLoaderMatchingMillis();
+
+  long getMuzzleMillis();
+
+  /**
+   * @return the time spent transforming the classes the instrumenter matched; a class matched by
+   *     several instrumenters is transformed once and counts fully towards each of them
+   */
+  long getTransformMillis();
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.metrics.LongCounter;
+import io.opentelemetry.metrics.LongCounter.BoundLongCounter;
+import io.opentelemetry.metrics.Meter;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.TraceId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers the ended spans of each trace and decides whether to pass them to the exporting span
+ * processor once the local root span of the trace ends.
+ *
+ * <p>A trace is kept if any of its spans has an error status or matches one of the attribute
+ * rules, or if its local root took at least the latency threshold. Other traces are kept with the
+ * configured ratio, decided from the random part of their trace id like the probability sampler of
+ * the SDK, so that every process keeps the same traces. Spans that end after their trace was
+ * decided follow that decision.
+ *
+ * <p>{@link ReadableSpan} does not expose the parent of a span, so the first span of a trace
+ * started in this process is taken as its local root. Spans are only copied with {@link
+ * ReadableSpan#toSpanData()} while their status and attributes can still change the decision.
+ *
+ * <p>Traces are spread over {@value #STRIPES} lock stripes by their id. At most {@code
+ * maxBufferedSpans} spans are buffered and as many traces tracked. Beyond that the oldest
+ * undecided traces of the stripe that overflowed are dropped, which is counted by {@code
+ * otel.javaagent.tail_sampling.evicted}. Eviction never locks other stripes, so the dropped trace
+ * is the oldest of its stripe rather than the oldest overall, and a stripe without older traces
+ * lets the buffer overflow until a later span ends in a fuller stripe. A trace that is just being
+ * started is never evicted. Head sampling must keep every trace for the decisions to see all
+ * spans, so this is meant to be used with the default {@code always_on} sampler.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+  // traces whose spans end after their local root are rare, a small memory of decisions suffices
+  private static final int MAX_DECIDED_TRACES = 10000;
+  // a power of two so that the stripe of a trace can be masked out of the hash of its id
+  private static final int STRIPES = 16;
+
+  private final SpanProcessor delegate;
+  private final long latencyThresholdNanos;
+  // compared with the absolute random part of a trace id, like the probability sampler of the SDK
+  private final long idUpperBound;
+  private final Map<String, String> attributeRules;
+  private final int maxBufferedSpans;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final AtomicInteger bufferedSpans = new AtomicInteger();
+  private final AtomicInteger openTraces = new AtomicInteger();
+
+  private final Metrics metrics = new Metrics();
+
+  public TailSamplingSpanProcessor(
+      SpanProcessor delegate,
+      long latencyThresholdNanos,
+      double ratio,
+      Map<String, String> attributeRules,
+      int maxBufferedSpans) {
+    this.delegate = delegate;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    if (ratio <= 0) {
+      this.idUpperBound = Long.MIN_VALUE;
+    } else if (ratio >= 1) {
+      this.idUpperBound = Long.MAX_VALUE;
+    } else {
+      this.idUpperBound = (long) (ratio * Long.MAX_VALUE);
+    }
+    this.attributeRules = attributeRules;
+    this.maxBufferedSpans = maxBufferedSpans;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /** Wraps {@code delegate} with the tail sampling settings of {@code config}. */
+  public static TailSamplingSpanProcessor fromConfig(SpanProcessor delegate, Config config) {
+    return new TailSamplingSpanProcessor(
+        delegate,
+        TimeUnit.MILLISECONDS.toNanos(config.getTailSamplingLatencyThresholdMs()),
+        config.getTailSamplingRatio(),
+        config.getTailSamplingAttributes(),
+        config.getTailSamplingMaxBufferedSpans());
+  }
+
+  @Override
+  public void onStart(ReadWriteSpan span) {
+    SpanContext context = span.getSpanContext();
+    TraceId traceId = context.getTraceId();
+    Stripe stripe = stripeFor(traceId);
+    synchronized (stripe) {
+      if (!stripe.traces.containsKey(traceId) && !stripe.decidedTraces.containsKey(traceId)) {
+        // make room first, so that the trace being started isn't the one evicted
+        evictIfFull(stripe, 1);
+        open(stripe, traceId, context.getSpanId());
+      }
+    }
+    if (delegate.isStartRequired()) {
+      delegate.onStart(span);
+    }
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return true;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    SpanContext context = span.getSpanContext();
+    TraceId traceId = context.getTraceId();
+    Stripe stripe = stripeFor(traceId);
+    // copied outside of the lock, the trace may be decided meanwhile which only wastes the copy
+    SpanData spanData = needsSpanData(stripe, traceId) ? span.toSpanData() : null;
+
+    List<ReadableSpan> spans;
+    Decision decision;
+    synchronized (stripe) {
+      Boolean decided = stripe.decidedTraces.get(traceId);
+      if (decided != null) {
+        if (decided) {
+          spans = Collections.singletonList(span);
+          decision = Decision.LATE;
+        } else {
+          return;
+        }
+      } else {
+        BufferedTrace trace = stripe.traces.get(traceId);
+        if (trace == null) {
+          // started before this processor was added or after its decision was forgotten
+          trace = open(stripe, traceId, context.getSpanId());
+        }
+        if (spanData == null && !trace.error) {
+          spanData = span.toSpanData();
+        }
+        trace.add(span, spanData, this);
+        bufferedSpans.incrementAndGet();
+
+        if (!trace.localRootSpanId.equals(context.getSpanId())) {
+          evictIfFull(stripe, 0);
+          return;
+        }
+
+        close(stripe, traceId, trace);
+        decision = trace.decide(traceId, spanData, this);
+        stripe.decidedTraces.put(traceId, decision != Decision.DROPPED);
+        spans = trace.spans;
+      }
+    }
+
+    metrics.recordDecision(decision);
+    if (decision != Decision.DROPPED) {
+      for (ReadableSpan keptSpan : spans) {
+        delegate.onEnd(keptSpan);
+      }
+    }
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public void forceFlush() {
+    delegate.forceFlush();
+  }
+
+  /** Returns the number of spans waiting for the local root of their trace to end. */
+  int getBufferedSpans() {
+    return bufferedSpans.get();
+  }
+
+  private Stripe stripeFor(TraceId traceId) {
+    return stripes[traceId.hashCode() & (STRIPES - 1)];
+  }
+
+  /** Whether the status and attributes of a span ending in this trace are still needed. */
+  private static boolean needsSpanData(Stripe stripe, TraceId traceId) {
+    synchronized (stripe) {
+      BufferedTrace trace = stripe.traces.get(traceId);
+      return trace != null ? !trace.error : !stripe.decidedTraces.containsKey(traceId);
+    }
+  }
+
+  private BufferedTrace open(Stripe stripe, TraceId traceId, SpanId localRootSpanId) {
+    BufferedTrace trace = new BufferedTrace(localRootSpanId);
+    stripe.traces.put(traceId, trace);
+    openTraces.incrementAndGet();
+    return trace;
+  }
+
+  private void close(Stripe stripe, TraceId traceId, BufferedTrace trace) {
+    stripe.traces.remove(traceId);
+    openTraces.decrementAndGet();
+    bufferedSpans.addAndGet(-trace.spans.size());
+  }
+
+  // called with the stripe locked, other stripes are left alone to not contend on them
+  private void evictIfFull(Stripe stripe, int openingTraces) {
+    Iterator<Map.Entry<TraceId, BufferedTrace>> iterator = stripe.traces.entrySet().iterator();
+    while ((bufferedSpans.get() > maxBufferedSpans
+            || openTraces.get() + openingTraces > maxBufferedSpans)
+        && iterator.hasNext()) {
+      Map.Entry<TraceId, BufferedTrace> oldest = iterator.next();
+      iterator.remove();
+      openTraces.decrementAndGet();
+      // spans of the trace ending later are dropped rather than decided without their siblings
+      stripe.decidedTraces.put(oldest.getKey(), false);
+      int evicted = oldest.getValue().spans.size();
+      if (evicted > 0) {
+        bufferedSpans.addAndGet(-evicted);
+        metrics.recordEviction(evicted);
+      }
+    }
+  }
+
+  private boolean matchesAttributeRule(SpanData spanData) {
+    if (attributeRules.isEmpty()) {
+      return false;
+    }
+    AttributeMatcher matcher = new AttributeMatcher(attributeRules);
+    spanData.getAttributes().forEach(matcher);
+    return matcher.matched;
+  }
+
+  enum Decision {
+    ERROR,
+    LATENCY,
+    ATTRIBUTE,
+    SAMPLED,
+    DROPPED,
+    /** A span of a kept trace that ended after the local root. */
+    LATE
+  }
+
+  private static class Stripe {
+    final Map<TraceId, BufferedTrace> traces = new LinkedHashMap<>();
+    final Map<TraceId, Boolean> decidedTraces =
+        new LinkedHashMap<TraceId, Boolean>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<TraceId, Boolean> eldest) {
+            return size() > MAX_DECIDED_TRACES / STRIPES;
+          }
+        };
+  }
+
+  private static class BufferedTrace {
+    final SpanId localRootSpanId;
+    final List<ReadableSpan> spans = new ArrayList<>();
+    boolean error;
+    boolean attributeMatch;
+
+    BufferedTrace(SpanId localRootSpanId) {
+      this.localRootSpanId = localRootSpanId;
+    }
+
+    /** {@code spanData} is null once the trace is known to have an error. */
+    void add(ReadableSpan span, SpanData spanData, TailSamplingSpanProcessor processor) {
+      spans.add(span);
+      if (spanData != null) {
+        error |= !spanData.getStatus().isOk();
+        attributeMatch = attributeMatch || processor.matchesAttributeRule(spanData);
+      }
+    }
+
+    Decision decide(TraceId traceId, SpanData localRoot, TailSamplingSpanProcessor processor) {
+      if (error) {
+        return Decision.ERROR;
+      }
+      if (localRoot.getEndEpochNanos() - localRoot.getStartEpochNanos()
+          >= processor.latencyThresholdNanos) {
+        return Decision.LATENCY;
+      }
+      if (attributeMatch) {
+        return Decision.ATTRIBUTE;
+      }
+      if (Math.abs(traceId.getTraceRandomPart()) < processor.idUpperBound) {
+        return Decision.SAMPLED;
+      }
+      return Decision.DROPPED;
+    }
+  }
+
+  private static class AttributeMatcher implements KeyValueConsumer<AttributeValue> {
+    private final Map<String, String> rules;
+    boolean matched;
+
+    AttributeMatcher(Map<String, String> rules) {
+      this.rules = rules;
+    }
+
+    @Override
+    public void consume(String key, AttributeValue value) {
+      String expected = rules.get(key);
+      if (expected != null && expected.equals(toString(value))) {
+        matched = true;
+      }
+    }
+
+    private static String toString(AttributeValue value) {
+      switch (value.getType()) {
+        case STRING:
+          return value.getStringValue();
+        case BOOLEAN:
+          return String.valueOf(value.getBooleanValue());
+        case LONG:
+          return String.valueOf(value.getLongValue());
+        case DOUBLE:
+          return String.valueOf(value.getDoubleValue());
+        default:
+          return null;
+      }
+    }
+  }
+
+  private static class Metrics {
+    private final Map<Decision, BoundLongCounter> decisions = new LinkedHashMap<>();
+    private final BoundLongCounter evicted;
+
+    Metrics() {
+      Meter meter = OpenTelemetry.getMeter("io.opentelemetry.auto.tail-sampling");
+      LongCounter tracesCounter =
+          meter
+              .longCounterBuilder("otel.javaagent.tail_sampling.traces")
+              .setDescription("Traces decided by tail sampling, by decision")
+              .setUnit("1")
+              .build();
+      for (Decision decision : Decision.values()) {
+        if (decision != Decision.LATE) {
+          String label = decision.name().toLowerCase(Locale.ROOT);
+          decisions.put(decision, tracesCounter.bind(Labels.of("decision", label)));
+        }
+      }
+      evicted =
+          meter
+              .longCounterBuilder("otel.javaagent.tail_sampling.evicted")
+              .setDescription("Buffered spans dropped because the tail sampling buffer was full")
+              .setUnit("1")
+              .build()
+              .bind(Labels.of("reason", "buffer_full"));
+    }
+
+    void recordDecision(Decision decision) {
+      BoundLongCounter counter = decisions.get(decision);
+      if (counter != null) {
+        counter.add(1);
+      }
+    }
+
+    void recordEviction(int spans) {
+      evicted.add(spans);
+    }
+  }
+}
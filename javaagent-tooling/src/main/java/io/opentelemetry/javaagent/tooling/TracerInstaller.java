@@ -23,6 +23,7 @@ import io.opentelemetry.sdk.extensions.auto.config.MetricExporterFactory;
 import io.opentelemetry.sdk.extensions.auto.config.SpanExporterFactory;
 import io.opentelemetry.sdk.metrics.export.IntervalMetricReader;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.TracerSdkProvider;
 import io.opentelemetry.sdk.trace.config.TraceConfig;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
@@ -158,11 +159,15 @@ public class TracerInstaller {
   private static void installExporter(
       SpanExporterFactory spanExporterFactory, DefaultExporterConfig config) {
     SpanExporter spanExporter = spanExporterFactory.fromConfig(config);
-    BatchSpanProcessor spanProcessor =
+    SpanProcessor spanProcessor =
         BatchSpanProcessor.newBuilder(spanExporter)
             .readEnvironmentVariables()
             .readSystemProperties()
             .build();
+    if (Config.get().isTailSamplingEnabled()) {
+      spanProcessor = TailSamplingSpanProcessor.fromConfig(spanProcessor, Config.get());
+      log.info("Tail sampling enabled");
+    }
     OpenTelemetrySdk.getTracerProvider().addSpanProcessor(spanProcessor);
     log.info("Installed span exporter: " + spanExporter.getClass().getName());
   }
@@ -186,7 +191,10 @@ public class TracerInstaller {
     TracerSdkProvider tracerSdkProvider = OpenTelemetrySdk.getTracerProvider();
 
     // Register additional thread details logging span processor
-    tracerSdkProvider.addSpanProcessor(new AddThreadDetailsSpanProcessor());
+    if (Config.get().isThreadDetailsEnabled()) {
+      tracerSdkProvider.addSpanProcessor(
+          new AddThreadDetailsSpanProcessor(Config.get().isThreadDetailsWithoutCurrentSpanOnly()));
+    }
 
     // Execute any user-provided (usually vendor-provided) configuration logic.
     ServiceLoader<TracerCustomizer> serviceLoader =
@@ -36,19 +36,25 @@ public class AgentElementMatchers {
 
   public static <T extends TypeDescription> ElementMatcher.Junction<T> implementsInterface(
       ElementMatcher<? super TypeDescription> matcher) {
-    return not(isInterface())
-        .and(new SafeHasSuperTypeMatcher<>(new SafeErasureMatcher<>(matcher), true));
+    return not(isInterface()).and(new SafeHasSuperTypeMatcher<>(matcher, true));
   }
 
   public static <T extends TypeDescription> ElementMatcher.Junction<T> hasInterface(
       ElementMatcher<? super TypeDescription> matcher) {
-    return new SafeHasSuperTypeMatcher<>(new SafeErasureMatcher<>(matcher), true);
+    return new SafeHasSuperTypeMatcher<>(matcher, true);
   }
 
   public static <T extends TypeDescription> ElementMatcher.Junction<T> safeHasSuperType(
       ElementMatcher<? super TypeDescription> matcher) {
-    return not(isInterface())
-        .and(new SafeHasSuperTypeMatcher<>(new SafeErasureMatcher<>(matcher), false));
+    return not(isInterface()).and(new SafeHasSuperTypeMatcher<>(matcher, false));
+  }
+
+  /**
+   * Releases the super type hierarchy memoized on this thread for the type matched last, to be
+   * called once all matchers have been evaluated for it.
+   */
+  public static void clearHierarchyMemo() {
+    SuperTypeMemo.clear();
   }
 
   // TODO: add javadoc
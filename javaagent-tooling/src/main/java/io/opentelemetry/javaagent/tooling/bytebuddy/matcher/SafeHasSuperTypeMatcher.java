@@ -17,11 +17,8 @@
 package io.opentelemetry.javaagent.tooling.bytebuddy.matcher;
 
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.safeTypeDefinitionName;
-import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.SafeErasureMatcher.safeAsErasure;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Set;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -52,60 +49,39 @@ class SafeHasSuperTypeMatcher<T extends TypeDescription>
   private static final Logger log = LoggerFactory.getLogger(SafeHasSuperTypeMatcher.class);
 
   /** The matcher to apply to any super type of the matched type. */
-  private final ElementMatcher<? super TypeDescription.Generic> matcher;
+  private final ElementMatcher<? super TypeDescription> matcher;
 
   private final boolean interfacesOnly;
+
   /**
    * Creates a new matcher for a super type.
    *
    * @param matcher The matcher to apply to any super type of the matched type.
    */
   public SafeHasSuperTypeMatcher(
-      ElementMatcher<? super TypeDescription.Generic> matcher, boolean interfacesOnly) {
+      ElementMatcher<? super TypeDescription> matcher, boolean interfacesOnly) {
     this.matcher = matcher;
     this.interfacesOnly = interfacesOnly;
   }
 
   @Override
   public boolean matches(T target) {
-    Set<TypeDescription> checkedInterfaces = new HashSet<>(8);
-    // We do not use foreach loop and iterator interface here because we need to catch exceptions
-    // in {@code getSuperClass} calls
-    TypeDefinition typeDefinition = target;
-    while (typeDefinition != null) {
-      if (((!interfacesOnly || typeDefinition.isInterface())
-              && matcher.matches(typeDefinition.asGenericType()))
-          || hasInterface(typeDefinition, checkedInterfaces)) {
+    SuperTypeMemo memo = SuperTypeMemo.of(target);
+    // memoized super types are already erased
+    for (TypeDescription superClass : memo.getSuperClasses()) {
+      if ((!interfacesOnly || superClass.isInterface()) && matcher.matches(superClass)) {
         return true;
       }
-      typeDefinition = safeGetSuperClass(typeDefinition);
     }
-    return false;
-  }
-
-  /**
-   * Matches a type's interfaces against the provided matcher.
-   *
-   * @param typeDefinition The type for which to check all implemented interfaces.
-   * @param checkedInterfaces The interfaces that have already been checked.
-   * @return {@code true} if any interface matches the supplied matcher.
-   */
-  private boolean hasInterface(
-      TypeDefinition typeDefinition, Set<TypeDescription> checkedInterfaces) {
-    for (TypeDefinition interfaceType : safeGetInterfaces(typeDefinition)) {
-      TypeDescription erasure = safeAsErasure(interfaceType);
-      if (erasure != null) {
-        if (checkedInterfaces.add(interfaceType.asErasure())
-            && (matcher.matches(interfaceType.asGenericType())
-                || hasInterface(interfaceType, checkedInterfaces))) {
-          return true;
-        }
+    for (TypeDescription interfaceType : memo.getInterfaces()) {
+      if (matcher.matches(interfaceType)) {
+        return true;
       }
     }
     return false;
   }
 
-  private Iterable<TypeDefinition> safeGetInterfaces(TypeDefinition typeDefinition) {
+  static Iterable<TypeDefinition> safeGetInterfaces(TypeDefinition typeDefinition) {
     return new SafeInterfaceIterator(typeDefinition);
   }
 
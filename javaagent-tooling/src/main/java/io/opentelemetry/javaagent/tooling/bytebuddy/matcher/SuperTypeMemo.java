@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher;
+
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.SafeErasureMatcher.safeAsErasure;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.SafeHasSuperTypeMatcher.safeGetInterfaces;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.SafeHasSuperTypeMatcher.safeGetSuperClass;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+
+/**
+ * The transitive super types of the type currently being matched, computed once and shared by all
+ * {@link SafeHasSuperTypeMatcher}s.
+ *
+ * <p>Byte-buddy evaluates the matchers of all instrumenters for a type one after another on the
+ * same thread, so the memo of the last matched type is kept in a thread local.
+ *
+ * <p>The memo references type descriptions backed by the type's class loader, so the agent clears
+ * it through {@link AgentElementMatchers#clearHierarchyMemo()} once a type has been processed.
+ */
+final class SuperTypeMemo {
+
+  private static final ThreadLocal<SuperTypeMemo> LAST_MEMO = new ThreadLocal<>();
+
+  private final WeakReference<TypeDescription> target;
+  // the target and its super classes, in order
+  private final List<TypeDescription> superClasses = new ArrayList<>();
+  // all transitively implemented interfaces
+  private final List<TypeDescription> interfaces = new ArrayList<>();
+
+  static SuperTypeMemo of(TypeDescription target) {
+    SuperTypeMemo memo = LAST_MEMO.get();
+    if (memo == null || memo.target.get() != target) {
+      memo = new SuperTypeMemo(target);
+      LAST_MEMO.set(memo);
+    }
+    return memo;
+  }
+
+  static void clear() {
+    LAST_MEMO.remove();
+  }
+
+  private SuperTypeMemo(TypeDescription target) {
+    this.target = new WeakReference<>(target);
+    Set<TypeDescription> checkedInterfaces = new HashSet<>(8);
+    // We do not use foreach loop and iterator interface here because we need to catch exceptions
+    // in {@code getSuperClass} calls
+    TypeDefinition typeDefinition = target;
+    while (typeDefinition != null) {
+      TypeDescription erasure = safeAsErasure(typeDefinition);
+      if (erasure != null) {
+        superClasses.add(erasure);
+      }
+      addInterfaces(typeDefinition, checkedInterfaces);
+      typeDefinition = safeGetSuperClass(typeDefinition);
+    }
+  }
+
+  private void addInterfaces(TypeDefinition typeDefinition, Set<TypeDescription> checked) {
+    for (TypeDefinition interfaceType : safeGetInterfaces(typeDefinition)) {
+      TypeDescription erasure = safeAsErasure(interfaceType);
+      if (erasure != null && checked.add(erasure)) {
+        interfaces.add(erasure);
+        addInterfaces(interfaceType, checked);
+      }
+    }
+  }
+
+  List<TypeDescription> getSuperClasses() {
+    return superClasses;
+  }
+
+  List<TypeDescription> getInterfaces() {
+    return interfaces;
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling.matcher;
+
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Evaluates the {@link NamePrecondition}s of all instrumenters with a single hash lookup and
+ * prefix trie walk per type, instead of one name check per instrumenter.
+ *
+ * <p>{@link #register(NamePrecondition)} returns a raw matcher which is meant to be placed in front
+ * of the type matcher the precondition was declared for, so that class loader matchers, failsafe
+ * wrappers and hierarchy matchers only run for types that pass the name precondition. The set of
+ * passing preconditions is computed once per type and reused by all the raw matchers, since
+ * byte-buddy evaluates all transformations of a type on the same thread one after another.
+ */
+public final class NameDispatcher {
+
+  private final List<NamePrecondition> preconditions = new ArrayList<>();
+  private volatile Table table;
+
+  private final ThreadLocal<Lookup> lastLookup =
+      new ThreadLocal<Lookup>() {
+        @Override
+        protected Lookup initialValue() {
+          return new Lookup();
+        }
+      };
+
+  /** @return a raw matcher checking {@code precondition} through the shared lookup table. */
+  public synchronized AgentBuilder.RawMatcher register(NamePrecondition precondition) {
+    preconditions.add(precondition);
+    // rebuilt on next use
+    table = null;
+    return new PreconditionMatcher(preconditions.size() - 1);
+  }
+
+  /** @return the number of registered preconditions. */
+  public synchronized int size() {
+    return preconditions.size();
+  }
+
+  /**
+   * @return ids of all registered preconditions that {@code typeName} satisfies, as a shared bit
+   *     set that must not be modified.
+   */
+  BitSet lookup(String typeName) {
+    Table table = getTable();
+    Lookup lookup = lastLookup.get();
+    if (lookup.table != table || !typeName.equals(lookup.typeName)) {
+      lookup.table = table;
+      lookup.typeName = typeName;
+      lookup.result = table.lookup(typeName);
+    }
+    return lookup.result;
+  }
+
+  private Table getTable() {
+    Table table = this.table;
+    if (table == null) {
+      synchronized (this) {
+        table = this.table;
+        if (table == null) {
+          table = new Table(preconditions);
+          this.table = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  private class PreconditionMatcher implements AgentBuilder.RawMatcher {
+    private final int id;
+
+    private PreconditionMatcher(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean matches(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        Class<?> classBeingRedefined,
+        ProtectionDomain protectionDomain) {
+      return lookup(typeDescription.getName()).get(id);
+    }
+  }
+
+  private static final class Table {
+    private static final BitSet EMPTY = new BitSet();
+
+    // the result for each exact name, including the prefixes the name starts with
+    private final Map<String, BitSet> names = new HashMap<>();
+    private final TrieNode prefixes = new TrieNode();
+
+    private Table(List<NamePrecondition> preconditions) {
+      for (int id = 0; id < preconditions.size(); id++) {
+        for (String prefix : preconditions.get(id).getPrefixes()) {
+          prefixes.add(prefix, id);
+        }
+      }
+      prefixes.computeMatched(null);
+      for (int id = 0; id < preconditions.size(); id++) {
+        for (String name : preconditions.get(id).getNames()) {
+          BitSet ids = names.get(name);
+          if (ids == null) {
+            ids = new BitSet();
+            ids.or(lookupPrefixes(name));
+            names.put(name, ids);
+          }
+          ids.set(id);
+        }
+      }
+    }
+
+    private BitSet lookup(String typeName) {
+      BitSet exact = names.get(typeName);
+      return exact != null ? exact : lookupPrefixes(typeName);
+    }
+
+    private BitSet lookupPrefixes(String typeName) {
+      BitSet result = EMPTY;
+      TrieNode node = prefixes;
+      for (int i = 0; node != null; i++) {
+        if (node.matched != null) {
+          result = node.matched;
+        }
+        node = i < typeName.length() ? node.child(typeName.charAt(i)) : null;
+      }
+      return result;
+    }
+  }
+
+  private static final class TrieNode {
+    private char[] chars = new char[0];
+    private TrieNode[] children = new TrieNode[0];
+    private BitSet ids;
+    // ids of this node and all its ancestors, computed once the trie is complete
+    private BitSet matched;
+
+    private void add(String prefix, int id) {
+      TrieNode node = this;
+      for (int i = 0; i < prefix.length(); i++) {
+        char c = prefix.charAt(i);
+        TrieNode child = node.child(c);
+        if (child == null) {
+          child = new TrieNode();
+          int size = node.chars.length;
+          node.chars = Arrays.copyOf(node.chars, size + 1);
+          node.children = Arrays.copyOf(node.children, size + 1);
+          node.chars[size] = c;
+          node.children[size] = child;
+        }
+        node = child;
+      }
+      if (node.ids == null) {
+        node.ids = new BitSet();
+      }
+      node.ids.set(id);
+    }
+
+    private void computeMatched(BitSet inherited) {
+      if (ids == null) {
+        matched = inherited;
+      } else {
+        matched = new BitSet();
+        if (inherited != null) {
+          matched.or(inherited);
+        }
+        matched.or(ids);
+      }
+      for (TrieNode child : children) {
+        child.computeMatched(matched);
+      }
+    }
+
+    private TrieNode child(char c) {
+      for (int i = 0; i < chars.length; i++) {
+        if (chars[i] == c) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class Lookup {
+    private Table table;
+    private String typeName;
+    private BitSet result;
+  }
+}
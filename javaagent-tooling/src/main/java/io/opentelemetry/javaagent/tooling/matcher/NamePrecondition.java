@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling.matcher;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A cheap, name based condition that every type matched by an instrumenter's type matcher
+ * satisfies: its name is one of a set of names or starts with one of a list of prefixes.
+ *
+ * <p>Instrumenters declare it through {@link
+ * io.opentelemetry.javaagent.tooling.Instrumenter.Default#namePrecondition()}, which lets the
+ * {@link NameDispatcher} rule out most types for all instrumenters with a single lookup.
+ */
+public final class NamePrecondition {
+
+  private final Set<String> names;
+  private final List<String> prefixes;
+
+  private NamePrecondition(Set<String> names, List<String> prefixes) {
+    this.names = names;
+    this.prefixes = prefixes;
+  }
+
+  /** @return a precondition satisfied by types with one of the given names. */
+  public static NamePrecondition named(String... names) {
+    return named(Arrays.asList(names));
+  }
+
+  /** @return a precondition satisfied by types with one of the given names. */
+  public static NamePrecondition named(Collection<String> names) {
+    return of(names, Collections.<String>emptyList());
+  }
+
+  /** @return a precondition satisfied by types whose name starts with one of the prefixes. */
+  public static NamePrecondition nameStartsWith(String... prefixes) {
+    return of(Collections.<String>emptySet(), Arrays.asList(prefixes));
+  }
+
+  /**
+   * @return a precondition satisfied by types with one of the given names or whose name starts
+   *     with one of the prefixes.
+   */
+  public static NamePrecondition of(Collection<String> names, Collection<String> prefixes) {
+    return new NamePrecondition(
+        Collections.unmodifiableSet(new HashSet<>(names)),
+        Collections.unmodifiableList(Arrays.asList(prefixes.toArray(new String[0]))));
+  }
+
+  public Set<String> getNames() {
+    return names;
+  }
+
+  public List<String> getPrefixes() {
+    return prefixes;
+  }
+
+  public boolean matches(String typeName) {
+    if (names.contains(typeName)) {
+      return true;
+    }
+    for (String prefix : prefixes) {
+      if (typeName.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "NamePrecondition{names=" + names + ", prefixes=" + prefixes + "}";
+  }
+}
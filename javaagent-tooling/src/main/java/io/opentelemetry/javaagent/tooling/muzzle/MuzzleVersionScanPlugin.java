@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
 
 /**
  * Entry point for muzzle version scan gradle plugin.
@@ -63,8 +64,11 @@ public class MuzzleVersionScanPlugin {
         ReferenceMatcher muzzle = (ReferenceMatcher) m.invoke(instrumenter);
         List<Reference.Mismatch> mismatches = muzzle.getMismatchedReferenceSources(userClassLoader);
 
+        Instrumenter.Default defaultInstrumenter = (Instrumenter.Default) instrumenter;
+        ElementMatcher<ClassLoader> classLoaderTrigger = defaultInstrumenter.classLoaderTrigger();
         boolean classLoaderMatch =
-            ((Instrumenter.Default) instrumenter).classLoaderMatcher().matches(userClassLoader);
+            (classLoaderTrigger == null || classLoaderTrigger.matches(userClassLoader))
+                && defaultInstrumenter.classLoaderMatcher().matches(userClassLoader);
         boolean passed = mismatches.isEmpty() && classLoaderMatch;
 
         if (passed && !assertPass) {
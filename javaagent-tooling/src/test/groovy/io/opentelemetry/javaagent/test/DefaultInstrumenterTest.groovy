@@ -22,6 +22,7 @@ import io.opentelemetry.javaagent.tooling.Instrumenter
 import net.bytebuddy.agent.builder.AgentBuilder
 import net.bytebuddy.description.type.TypeDescription
 import net.bytebuddy.matcher.ElementMatcher
+import net.bytebuddy.matcher.ElementMatchers
 import org.junit.Rule
 import org.junit.contrib.java.lang.system.EnvironmentVariables
 import org.junit.contrib.java.lang.system.RestoreSystemProperties
@@ -173,6 +174,75 @@ class DefaultInstrumenterTest extends AgentSpecification {
     "PERIOD_TEST"     | true    | "period.test" | "asdf"
   }
 
+  def "class loader trigger defers building the instrumentation"() {
+    setup:
+    def triggerLoader = new URLClassLoader(new URL[0], (ClassLoader) null)
+    def otherLoader = new URLClassLoader(new URL[0], (ClassLoader) null)
+    def target = new TriggeredInstrumenter(triggerLoader)
+    AgentBuilder.RawMatcher matcher = null
+    def agentBuilder = Stub(AgentBuilder)
+    agentBuilder.type(_ as AgentBuilder.RawMatcher) >> { AgentBuilder.RawMatcher rawMatcher ->
+      matcher = rawMatcher
+      return Stub(AgentBuilder.Identified.Narrowable)
+    }
+    def string = TypeDescription.ForLoadedType.of(String)
+    def integer = TypeDescription.ForLoadedType.of(Integer)
+
+    when:
+    target.instrument(agentBuilder)
+
+    then:
+    matcher != null
+    target.typeMatcherCalls == 0
+    target.transformersCalls == 0
+
+    when:
+    def otherMatches = matcher.matches(string, otherLoader, null, null, null)
+
+    then:
+    !otherMatches
+    target.typeMatcherCalls == 0
+    target.transformersCalls == 0
+
+    when:
+    def stringMatches = matcher.matches(string, triggerLoader, null, null, null)
+    def integerMatches = matcher.matches(integer, triggerLoader, null, null, null)
+
+    then:
+    stringMatches
+    !integerMatches
+    target.typeMatcherCalls == 1
+    target.transformersCalls == 1
+  }
+
+  static class TriggeredInstrumenter extends Instrumenter.Default {
+    final ClassLoader triggerLoader
+    int typeMatcherCalls = 0
+    int transformersCalls = 0
+
+    TriggeredInstrumenter(ClassLoader triggerLoader) {
+      super("triggered")
+      this.triggerLoader = triggerLoader
+    }
+
+    @Override
+    ElementMatcher<ClassLoader> classLoaderTrigger() {
+      return ElementMatchers.is(triggerLoader)
+    }
+
+    @Override
+    ElementMatcher<? super TypeDescription> typeMatcher() {
+      typeMatcherCalls++
+      return ElementMatchers.named(String.name)
+    }
+
+    @Override
+    Map<ElementMatcher, String> transformers() {
+      transformersCalls++
+      return Collections.emptyMap()
+    }
+  }
+
   class TestDefaultInstrumenter extends Instrumenter.Default {
     boolean applyCalled = false
 
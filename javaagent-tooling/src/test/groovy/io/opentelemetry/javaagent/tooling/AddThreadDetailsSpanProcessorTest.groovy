@@ -16,7 +16,9 @@
 
 package io.opentelemetry.javaagent.tooling
 
+import io.opentelemetry.common.AttributeValue
 import io.opentelemetry.sdk.trace.ReadWriteSpan
+import io.opentelemetry.sdk.trace.TracerSdkProvider
 import io.opentelemetry.trace.attributes.SemanticAttributes
 import spock.lang.Specification
 
@@ -39,7 +41,48 @@ class AddThreadDetailsSpanProcessorTest extends Specification {
     processor.onStart(span)
 
     then:
-    1 * span.setAttribute(SemanticAttributes.THREAD_ID.key(), currentThreadId)
-    1 * span.setAttribute(SemanticAttributes.THREAD_NAME.key(), currentThreadName)
+    1 * span.setAttribute(SemanticAttributes.THREAD_ID.key(), AttributeValue.longAttributeValue(currentThreadId))
+    1 * span.setAttribute(SemanticAttributes.THREAD_NAME.key(), AttributeValue.stringAttributeValue(currentThreadName))
+  }
+
+  def "should pick up a changed thread name"() {
+    given:
+    def originalName = Thread.currentThread().name
+    processor.onStart(span)
+
+    when:
+    Thread.currentThread().name = "renamed-thread"
+    processor.onStart(span)
+
+    then:
+    1 * span.setAttribute(SemanticAttributes.THREAD_NAME.key(), AttributeValue.stringAttributeValue("renamed-thread"))
+
+    cleanup:
+    Thread.currentThread().name = originalName
+  }
+
+  def "should only set thread attributes on spans started without a current span when configured"() {
+    given:
+    def withoutCurrentSpanProcessor = new AddThreadDetailsSpanProcessor(true)
+    def tracer = TracerSdkProvider.builder().build().get("test")
+    def parent = tracer.spanBuilder("parent").startSpan()
+
+    when:
+    withoutCurrentSpanProcessor.onStart(span)
+
+    then:
+    1 * span.setAttribute(SemanticAttributes.THREAD_ID.key(), _)
+    1 * span.setAttribute(SemanticAttributes.THREAD_NAME.key(), _)
+
+    when:
+    def scope = tracer.withSpan(parent)
+    withoutCurrentSpanProcessor.onStart(span)
+    scope.close()
+
+    then:
+    0 * span.setAttribute(_, _)
+
+    cleanup:
+    parent.end()
   }
 }
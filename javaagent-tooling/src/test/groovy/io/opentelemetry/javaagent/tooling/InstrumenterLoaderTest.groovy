@@ -0,0 +1,166 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentLinkedQueue
+import net.bytebuddy.agent.builder.AgentBuilder
+
+class InstrumenterLoaderTest extends AgentSpecification {
+
+  File serviceDir
+
+  def setup() {
+    TestInstrumenters.CONSTRUCTED_ON.clear()
+  }
+
+  def cleanup() {
+    serviceDir?.deleteDir()
+  }
+
+  def "parse service file"() {
+    setup:
+    def content = """
+      # comment
+      com.example.FirstInstrumentation
+        com.example.SecondInstrumentation # trailing comment
+
+      com.example.FirstInstrumentation
+      """
+    def classNames = new LinkedHashSet<String>()
+
+    when:
+    InstrumenterLoader.parseServiceFile(
+      new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), classNames)
+
+    then:
+    classNames as List == ["com.example.FirstInstrumentation", "com.example.SecondInstrumentation"]
+  }
+
+  def "load with #threads threads"() {
+    setup:
+    def classLoader = new URLClassLoader(new URL[0], (ClassLoader) null)
+
+    expect:
+    InstrumenterLoader.load(classLoader, threads).isEmpty()
+
+    where:
+    threads << [1, 4]
+  }
+
+  def "load serially from service file"() {
+    setup:
+    def classLoader = serviceFileLoader(SlowTestInstrumenter, FastTestInstrumenter)
+
+    when:
+    def instrumenters = InstrumenterLoader.load(classLoader, 1)
+
+    then:
+    instrumenters*.class == [SlowTestInstrumenter, FastTestInstrumenter]
+    TestInstrumenters.CONSTRUCTED_ON.every { it == Thread.currentThread().name }
+  }
+
+  def "construct in parallel from service file"() {
+    setup:
+    def classLoader = serviceFileLoader(
+      SlowTestInstrumenter,
+      FailingTestInstrumenter,
+      UnsupportedTestInstrumenter,
+      FastTestInstrumenter)
+
+    when:
+    def classNames = InstrumenterLoader.instrumenterClassNames(classLoader)
+    def instrumenters = InstrumenterLoader.construct(classLoader, classNames, 4)
+
+    then:
+    classNames == [
+      SlowTestInstrumenter.name,
+      FailingTestInstrumenter.name,
+      UnsupportedTestInstrumenter.name,
+      FastTestInstrumenter.name]
+    // the slow instrumenter finishes last but keeps its place
+    instrumenters*.class == [SlowTestInstrumenter, FastTestInstrumenter]
+    TestInstrumenters.CONSTRUCTED_ON.size() == 2
+    TestInstrumenters.CONSTRUCTED_ON.every { it == "opentelemetry-instrumenter-loader" }
+  }
+
+  /** A class loader that only sees a service file listing {@code classes}. */
+  ClassLoader serviceFileLoader(Class<?>... classes) {
+    serviceDir = File.createTempDir()
+    def serviceFile = new File(serviceDir, "META-INF/services/" + Instrumenter.name)
+    serviceFile.parentFile.mkdirs()
+    serviceFile.setText(classes*.name.join("\n"), "UTF-8")
+    return new URLClassLoader([serviceDir.toURI().toURL()] as URL[], getClass().classLoader) {
+      @Override
+      Enumeration<URL> getResources(String name) {
+        // hide the instrumenters of the test class path
+        return findResources(name)
+      }
+    }
+  }
+}
+
+class TestInstrumenters {
+  static final Queue<String> CONSTRUCTED_ON = new ConcurrentLinkedQueue<>()
+}
+
+class SlowTestInstrumenter implements Instrumenter {
+  SlowTestInstrumenter() {
+    Thread.sleep(200)
+    TestInstrumenters.CONSTRUCTED_ON.add(Thread.currentThread().name)
+  }
+
+  @Override
+  AgentBuilder instrument(AgentBuilder agentBuilder) {
+    return agentBuilder
+  }
+}
+
+class FastTestInstrumenter implements Instrumenter {
+  FastTestInstrumenter() {
+    TestInstrumenters.CONSTRUCTED_ON.add(Thread.currentThread().name)
+  }
+
+  @Override
+  AgentBuilder instrument(AgentBuilder agentBuilder) {
+    return agentBuilder
+  }
+}
+
+class FailingTestInstrumenter implements Instrumenter {
+  FailingTestInstrumenter() {
+    throw new IllegalStateException("expected")
+  }
+
+  @Override
+  AgentBuilder instrument(AgentBuilder agentBuilder) {
+    return agentBuilder
+  }
+}
+
+class UnsupportedTestInstrumenter implements Instrumenter {
+  UnsupportedTestInstrumenter() {
+    // what loading a class compiled for a newer java version throws
+    throw new UnsupportedClassVersionError("expected")
+  }
+
+  @Override
+  AgentBuilder instrument(AgentBuilder agentBuilder) {
+    return agentBuilder
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling
+
+import static net.bytebuddy.matcher.ElementMatchers.is
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import net.bytebuddy.agent.builder.AgentBuilder
+
+class InstrumenterStatsTest extends AgentSpecification {
+
+  def "timed matcher delegates"() {
+    setup:
+    def stats = InstrumenterStats.register(new MatchingInstrumenter())
+    def matcher = stats.timed(is("expected"), InstrumenterStats.Phase.TYPE_MATCHING)
+
+    expect:
+    matcher.matches("expected")
+    !matcher.matches("other")
+  }
+
+  def "registering an instrumenter twice returns the same stats"() {
+    setup:
+    def first = InstrumenterStats.register(new DuplicateInstrumenter())
+    def second = InstrumenterStats.register(new DuplicateInstrumenter())
+
+    expect:
+    first.is(second)
+  }
+
+  def "transformation time is attributed to every instrumenter that took part"() {
+    setup:
+    def first = InstrumenterStats.register(new FirstInstrumenter())
+    def second = InstrumenterStats.register(new SecondInstrumenter())
+    def listener = new InstrumenterStats.TransformationListener()
+
+    when:
+    listener.onDiscovery("com.example.Outer", null, null, false)
+    first.transform(null, null, null, null)
+    // a class loaded while transforming com.example.Outer
+    listener.onDiscovery("com.example.Inner", null, null, false)
+    second.transform(null, null, null, null)
+    Thread.sleep(10)
+    listener.onComplete("com.example.Inner", null, null, false)
+    listener.onComplete("com.example.Outer", null, null, false)
+
+    then:
+    first.matchedClasses == 1
+    second.matchedClasses == 1
+    first.transformMillis >= 10
+    second.transformMillis >= 10
+    first.typeMatchingMillis == 0
+  }
+
+  static class MatchingInstrumenter implements Instrumenter {
+    @Override
+    AgentBuilder instrument(AgentBuilder agentBuilder) {
+      return agentBuilder
+    }
+  }
+
+  static class FirstInstrumenter extends MatchingInstrumenter {}
+
+  static class SecondInstrumenter extends MatchingInstrumenter {}
+
+  static class DuplicateInstrumenter extends MatchingInstrumenter {}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling
+
+import io.opentelemetry.sdk.trace.IdsGenerator
+import io.opentelemetry.sdk.trace.RandomIdsGenerator
+import io.opentelemetry.sdk.trace.ReadableSpan
+import io.opentelemetry.sdk.trace.SpanProcessor
+import io.opentelemetry.sdk.trace.TracerSdkProvider
+import io.opentelemetry.trace.Status
+import io.opentelemetry.trace.TraceId
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import spock.lang.Specification
+
+class TailSamplingSpanProcessorTest extends Specification {
+  def delegate = Mock(SpanProcessor)
+  def tracerProvider = TracerSdkProvider.builder().build()
+  def tracer = tracerProvider.get("test")
+
+  def processor(long latencyThresholdMs = 1000, double ratio = 0,
+                Map<String, String> attributes = [:], int maxBufferedSpans = 100) {
+    def processor = new TailSamplingSpanProcessor(delegate,
+      TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), ratio, attributes, maxBufferedSpans)
+    tracerProvider.addSpanProcessor(processor)
+    return processor
+  }
+
+  /** A tracer of its own, whose root spans get {@code traceIds} in order. */
+  def tracer(SpanProcessor processor, List<TraceId> traceIds) {
+    def remainingTraceIds = new ArrayDeque<TraceId>(traceIds)
+    def randomIds = new RandomIdsGenerator()
+    def idsGenerator = [
+      generateTraceId: { remainingTraceIds.remove() },
+      generateSpanId : { randomIds.generateSpanId() }
+    ] as IdsGenerator
+    def provider = TracerSdkProvider.builder().setIdsGenerator(idsGenerator).build()
+    provider.addSpanProcessor(processor)
+    return provider.get("test")
+  }
+
+  def "should buffer spans until the local root ends and drop unremarkable traces"() {
+    setup:
+    def processor = processor()
+    def root = tracer.spanBuilder("root").startSpan()
+    def child = tracer.spanBuilder("child").setParent(root).startSpan()
+
+    when:
+    child.end()
+
+    then:
+    processor.bufferedSpans == 1
+    0 * delegate.onEnd(_)
+
+    when:
+    root.end()
+
+    then:
+    processor.bufferedSpans == 0
+    0 * delegate.onEnd(_)
+  }
+
+  def "should keep traces with an error"() {
+    setup:
+    processor()
+    def root = tracer.spanBuilder("root").startSpan()
+    def child = tracer.spanBuilder("child").setParent(root).startSpan()
+
+    when:
+    child.setStatus(Status.UNKNOWN)
+    child.end()
+    root.end()
+
+    then:
+    2 * delegate.onEnd(_)
+  }
+
+  def "should keep traces slower than the latency threshold"() {
+    setup:
+    processor(0)
+
+    when:
+    tracer.spanBuilder("root").startSpan().end()
+
+    then:
+    1 * delegate.onEnd(_)
+  }
+
+  def "should keep traces matching an attribute rule"() {
+    setup:
+    processor(1000, 0, ["http.status_code": "503"])
+    def root = tracer.spanBuilder("root").startSpan()
+    def child = tracer.spanBuilder("child").setParent(root).startSpan()
+
+    when:
+    child.setAttribute("http.status_code", 503L)
+    child.end()
+    root.end()
+
+    then:
+    2 * delegate.onEnd(_)
+  }
+
+  def "should keep sampled traces and spans ending after their root"() {
+    setup:
+    processor(1000, 1)
+    def root = tracer.spanBuilder("root").startSpan()
+    def child = tracer.spanBuilder("child").setParent(root).startSpan()
+
+    when:
+    root.end()
+
+    then:
+    1 * delegate.onEnd(_)
+
+    when:
+    child.end()
+
+    then:
+    1 * delegate.onEnd(_)
+  }
+
+  def "should decide the ratio from the trace id"() {
+    setup:
+    def kept = new TraceId(0, 1)
+    def dropped = new TraceId(0, Long.MAX_VALUE)
+    def processor = new TailSamplingSpanProcessor(delegate,
+      TimeUnit.SECONDS.toNanos(1), 0.5, [:], 100)
+    def tracer = tracer(processor, [kept, dropped])
+
+    when:
+    2.times { tracer.spanBuilder("root").startSpan().end() }
+
+    then:
+    1 * delegate.onEnd({ it.spanContext.traceId == kept })
+    0 * delegate.onEnd(_)
+  }
+
+  def "should evict the oldest trace of the stripe when the buffer is full"() {
+    setup:
+    // with a zero upper half, the hash of a trace id is 961 plus its lower half: one stripe
+    def traceIds = [16L, 32L, 48L].collect { new TraceId(0, it) }
+    // every decided trace is kept, so the exported spans show which trace was evicted
+    def processor = new TailSamplingSpanProcessor(delegate, 0, 0, [:], 2)
+    def tracer = tracer(processor, traceIds)
+    def exported = []
+
+    when:
+    def roots = traceIds.collect { tracer.spanBuilder("root").startSpan() }
+    roots.each { tracer.spanBuilder("child").setParent(it).startSpan().end() }
+    roots.each { it.end() }
+
+    then:
+    _ * delegate.onEnd(_) >> { ReadableSpan span -> exported.add(span.spanContext.traceId) }
+    exported == [traceIds[1], traceIds[1], traceIds[2], traceIds[2]]
+    processor.bufferedSpans == 0
+  }
+
+  def "should decide traces ending concurrently on different threads"() {
+    setup:
+    def exported = new ConcurrentLinkedQueue()
+    def concurrentDelegate = [onEnd: { exported.add(it) }, isStartRequired: { false }] as SpanProcessor
+    def processor = new TailSamplingSpanProcessor(concurrentDelegate,
+      TimeUnit.SECONDS.toNanos(1), 1, [:], 1000)
+    tracerProvider.addSpanProcessor(processor)
+    def executor = Executors.newFixedThreadPool(8)
+
+    when:
+    (1..100).collect {
+      executor.submit {
+        def root = tracer.spanBuilder("root").startSpan()
+        tracer.spanBuilder("child").setParent(root).startSpan().end()
+        root.end()
+      }
+    }.each { it.get() }
+
+    then:
+    exported.size() == 200
+    processor.bufferedSpans == 0
+
+    cleanup:
+    executor.shutdown()
+  }
+}
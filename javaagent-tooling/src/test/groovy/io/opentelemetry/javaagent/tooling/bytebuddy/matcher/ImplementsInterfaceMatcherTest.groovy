@@ -60,7 +60,6 @@ class ImplementsInterfaceMatcherTest extends AgentSpecification {
   def "test exception getting interfaces"() {
     setup:
     def type = Mock(TypeDescription)
-    def typeGeneric = Mock(TypeDescription.Generic)
     def matcher = implementsInterface(named(Object.name))
 
     when:
@@ -70,20 +69,16 @@ class ImplementsInterfaceMatcherTest extends AgentSpecification {
     !result // default to false
     noExceptionThrown()
     1 * type.getModifiers() >> Opcodes.ACC_ABSTRACT
-    1 * type.isInterface() >> true
-    1 * type.asGenericType() >> typeGeneric
-    1 * typeGeneric.asErasure() >> { throw new Exception("asErasure exception") }
-    1 * typeGeneric.getTypeName() >> "typeGeneric-name"
+    1 * type.asErasure() >> { throw new Exception("asErasure exception") }
     1 * type.getInterfaces() >> { throw new Exception("getInterfaces exception") }
     1 * type.getSuperClass() >> { throw new Exception("getSuperClass exception") }
-    2 * type.getTypeName() >> "type-name"
+    3 * type.getTypeName() >> "type-name"
     0 * _
   }
 
   def "test traversal exceptions"() {
     setup:
     def type = Mock(TypeDescription)
-    def typeGeneric = Mock(TypeDescription.Generic)
     def matcher = implementsInterface(named(Object.name))
     def interfaces = Mock(TypeList.Generic)
     def it = new ThrowOnFirstElement()
@@ -95,13 +90,10 @@ class ImplementsInterfaceMatcherTest extends AgentSpecification {
     !result // default to false
     noExceptionThrown()
     1 * type.getModifiers() >> Opcodes.ACC_ABSTRACT
-    1 * type.isInterface() >> true
-    1 * type.asGenericType() >> typeGeneric
-    1 * typeGeneric.asErasure() >> { throw new Exception("asErasure exception") }
-    1 * typeGeneric.getTypeName() >> "typeGeneric-name"
+    1 * type.asErasure() >> { throw new Exception("asErasure exception") }
     1 * type.getInterfaces() >> interfaces
     1 * interfaces.iterator() >> it
-    2 * type.getTypeName() >> "type-name"
+    3 * type.getTypeName() >> "type-name"
     1 * type.getSuperClass() >> { throw new Exception("getSuperClass exception") }
     0 * _
   }
@@ -17,6 +17,7 @@
 package io.opentelemetry.javaagent.tooling.bytebuddy.matcher
 
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.safeHasSuperType
+import static net.bytebuddy.matcher.ElementMatchers.nameEndsWith
 import static net.bytebuddy.matcher.ElementMatchers.named
 
 import io.opentelemetry.auto.util.test.AgentSpecification
@@ -57,10 +58,41 @@ class SafeHasSuperTypeMatcherTest extends AgentSpecification {
     argument = typePool.describe(type.name).resolve()
   }
 
+  def "test non name matcher #matcherClass.simpleName -> #type.simpleName"() {
+    expect:
+    safeHasSuperType(matcher).matches(argument) == result
+
+    where:
+    matcherClass | type | result
+    A            | A    | false
+    A            | F    | true
+    B            | G    | true
+    F            | A    | false
+    F            | G    | true
+
+    // any matcher is applied to the memoized hierarchy type by type
+    matcher = nameEndsWith("." + matcherClass.simpleName)
+    argument = typePool.describe(type.name).resolve()
+  }
+
+  def "clearing the memo releases the last matched hierarchy"() {
+    setup:
+    def type = typePool.describe(G.name).resolve()
+    safeHasSuperType(named(B.name)).matches(type)
+
+    expect:
+    SuperTypeMemo.LAST_MEMO.get() != null
+
+    when:
+    AgentElementMatchers.clearHierarchyMemo()
+
+    then:
+    SuperTypeMemo.LAST_MEMO.get() == null
+  }
+
   def "test exception getting interfaces"() {
     setup:
     def type = Mock(TypeDescription)
-    def typeGeneric = Mock(TypeDescription.Generic)
     def matcher = safeHasSuperType(named(Object.name))
 
     when:
@@ -70,19 +102,16 @@ class SafeHasSuperTypeMatcherTest extends AgentSpecification {
     !result // default to false
     noExceptionThrown()
     1 * type.getModifiers() >> Opcodes.ACC_ABSTRACT
-    1 * type.asGenericType() >> typeGeneric
-    1 * typeGeneric.asErasure() >> { throw new Exception("asErasure exception") }
-    1 * typeGeneric.getTypeName() >> "typeGeneric-name"
+    1 * type.asErasure() >> { throw new Exception("asErasure exception") }
     1 * type.getInterfaces() >> { throw new Exception("getInterfaces exception") }
     1 * type.getSuperClass() >> { throw new Exception("getSuperClass exception") }
-    2 * type.getTypeName() >> "type-name"
+    3 * type.getTypeName() >> "type-name"
     0 * _
   }
 
   def "test traversal exceptions"() {
     setup:
     def type = Mock(TypeDescription)
-    def typeGeneric = Mock(TypeDescription.Generic)
     def matcher = safeHasSuperType(named(Object.name))
     def interfaces = Mock(TypeList.Generic)
     def it = new ThrowOnFirstElement()
@@ -96,8 +125,6 @@ class SafeHasSuperTypeMatcherTest extends AgentSpecification {
     1 * type.getModifiers() >> Opcodes.ACC_ABSTRACT
     1 * type.getInterfaces() >> interfaces
     1 * interfaces.iterator() >> it
-    1 * type.asGenericType() >> typeGeneric
-    1 * typeGeneric.asErasure() >> { throw new Exception("asErasure exception") }
-    1 * typeGeneric.getTypeName() >> "typeGeneric-name"
+    1 * type.asErasure() >> { throw new Exception("asErasure exception") }
   }
 }
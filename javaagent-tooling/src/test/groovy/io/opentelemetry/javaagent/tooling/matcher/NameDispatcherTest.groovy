@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.javaagent.tooling.matcher
+
+import static io.opentelemetry.javaagent.tooling.matcher.NamePrecondition.nameStartsWith
+import static io.opentelemetry.javaagent.tooling.matcher.NamePrecondition.named
+
+import io.opentelemetry.auto.util.test.AgentSpecification
+import net.bytebuddy.description.type.TypeDescription
+
+class NameDispatcherTest extends AgentSpecification {
+
+  def "precondition #description matches #typeName"() {
+    expect:
+    precondition.matches(typeName) == expected
+
+    where:
+    description | precondition                          | typeName | expected
+    "named"     | named("a.B", "a.C")                   | "a.C"    | true
+    "named"     | named("a.B", "a.C")                   | "a.D"    | false
+    "prefix"    | nameStartsWith("a.")                  | "a.D"    | true
+    "prefix"    | nameStartsWith("a.")                  | "b.D"    | false
+    "both"      | NamePrecondition.of(["c.D"], ["a."])  | "c.D"    | true
+    "both"      | NamePrecondition.of(["c.D"], ["a."])  | "a.b.C"  | true
+    "both"      | NamePrecondition.of(["c.D"], ["a."])  | "c.E"    | false
+  }
+
+  def "dispatches #typeName"() {
+    setup:
+    def dispatcher = new NameDispatcher()
+    def exact = dispatcher.register(named("a.B"))
+    def oneOf = dispatcher.register(named("a.B", "c.D"))
+    def prefix = dispatcher.register(nameStartsWith("a."))
+    def nestedPrefix = dispatcher.register(nameStartsWith("a.b."))
+    def everything = dispatcher.register(nameStartsWith(""))
+    def type = Mock(TypeDescription)
+    type.getName() >> typeName
+
+    expect:
+    dispatcher.size() == 5
+    [exact, oneOf, prefix, nestedPrefix, everything].collect {
+      it.matches(type, null, null, null, null)
+    } == expected
+
+    where:
+    typeName | expected
+    "a.B"    | [true, true, true, false, true]
+    "c.D"    | [false, true, false, false, true]
+    "a.b.C"  | [false, false, true, true, true]
+    "a.b."   | [false, false, true, true, true]
+    "a.C"    | [false, false, true, false, true]
+    "b.C"    | [false, false, false, false, true]
+    "a"      | [false, false, false, false, true]
+  }
+
+  def "reuses the lookup result of a type"() {
+    setup:
+    def dispatcher = new NameDispatcher()
+    dispatcher.register(nameStartsWith("a."))
+    dispatcher.register(named("a.B"))
+
+    expect:
+    dispatcher.lookup("a.B").is(dispatcher.lookup(new String("a.B")))
+    dispatcher.lookup("a.C").is(dispatcher.lookup("a.D"))
+  }
+}
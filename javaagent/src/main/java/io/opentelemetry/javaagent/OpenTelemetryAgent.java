@@ -63,6 +63,7 @@ public class OpenTelemetryAgent {
   }
 
   public static void agentmain(String agentArgs, Instrumentation inst) {
+    long start = System.nanoTime();
     try {
 
       URL bootstrapURL = installBootstrapJar(inst);
@@ -73,6 +74,12 @@ public class OpenTelemetryAgent {
       Method startMethod =
           agentInitializerClass.getMethod("initialize", Instrumentation.class, URL.class);
       startMethod.invoke(null, inst, bootstrapURL);
+
+      Class<?> startupTimingsClass =
+          ClassLoader.getSystemClassLoader()
+              .loadClass("io.opentelemetry.javaagent.bootstrap.StartupTimings");
+      Method recordPremainMethod = startupTimingsClass.getMethod("recordPremain", long.class);
+      recordPremainMethod.invoke(null, System.nanoTime() - start);
     } catch (Throwable ex) {
       // Don't rethrow.  We don't have a log manager here, so just print.
       System.err.println("ERROR " + thisClass.getName());
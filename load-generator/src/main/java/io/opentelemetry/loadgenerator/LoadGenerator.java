@@ -23,9 +23,19 @@ import io.opentelemetry.OpenTelemetry;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Tracer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -37,9 +47,25 @@ public class LoadGenerator implements Callable<Integer> {
 
   private static final Tracer TRACER = OpenTelemetry.getTracer("io.opentelemetry.auto");
 
+  enum Mode {
+    /** Each worker waits for the rate limiter, then creates a trace. */
+    CLOSED,
+    /** Traces are scheduled at a fixed rate regardless of how long earlier traces took. */
+    OPEN
+  }
+
   @Option(names = "--rate", required = true, description = "rate, per second, to generate traces")
   private int rate;
 
+  @Option(
+      names = "--mode",
+      defaultValue = "CLOSED",
+      description =
+          "CLOSED: workers wait for the rate limiter before each trace, OPEN: traces are scheduled"
+              + " at a fixed rate and latency includes time queued behind slower traces"
+              + " (default: ${DEFAULT-VALUE})")
+  private Mode mode;
+
   @Option(
       names = "--threads",
       defaultValue = "6",
@@ -58,48 +84,127 @@ public class LoadGenerator implements Callable<Integer> {
       description = "Total spans deep per trace, including parent (default: ${DEFAULT-VALUE})")
   private int depth;
 
+  @Option(
+      names = "--attributes",
+      defaultValue = "0",
+      description = "Number of string attributes set on every span (default: ${DEFAULT-VALUE})")
+  private int attributes;
+
+  @Option(
+      names = "--attribute-length",
+      defaultValue = "16",
+      description = "Length of each attribute value (default: ${DEFAULT-VALUE})")
+  private int attributeLength;
+
+  @Option(
+      names = "--events",
+      defaultValue = "0",
+      description = "Number of events added to every span (default: ${DEFAULT-VALUE})")
+  private int events;
+
   @Option(
       names = "--warmup",
       defaultValue = "5",
-      description = "Time, in seconds, to ramp up to target rate (default: ${DEFAULT-VALUE})")
+      description =
+          "Time, in seconds, to ramp up to target rate; measurements taken during warmup are"
+              + " discarded (default: ${DEFAULT-VALUE})")
   private int warmupPeriod;
 
+  @Option(
+      names = "--duration",
+      defaultValue = "0",
+      description =
+          "Time, in seconds, to measure after warmup before printing a summary and exiting,"
+              + " 0 to run until stopped (default: ${DEFAULT-VALUE})")
+  private int duration;
+
   @Option(
       names = "--print-interval",
       defaultValue = "20",
       description = "Interval, in seconds, to print statistics (default: ${DEFAULT-VALUE})")
   private int printInterval;
 
+  @Option(
+      names = "--output",
+      defaultValue = "TEXT",
+      description =
+          "Statistics format, one of ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+  private Reporter.Format output;
+
   private RateLimiter rateLimiter;
-  private final AtomicLong tracesSent = new AtomicLong();
+  // per-trace creation latency in nanoseconds
+  private final Recorder latencyRecorder = new Recorder(3);
+  private String[] attributeKeys;
+  private String attributeValue;
+  private String[] eventNames;
 
   @Override
   public Integer call() throws Exception {
-    rateLimiter = RateLimiter.create(rate, warmupPeriod, TimeUnit.SECONDS);
-
-    long intervalStart = System.currentTimeMillis();
-    long tracesAtLastReport = 0;
+    attributeKeys = new String[attributes];
+    for (int i = 0; i < attributes; i++) {
+      attributeKeys[i] = "attribute-" + i;
+    }
+    char[] value = new char[attributeLength];
+    Arrays.fill(value, 'x');
+    attributeValue = new String(value);
+    eventNames = new String[events];
+    for (int i = 0; i < events; i++) {
+      eventNames[i] = "event-" + i;
+    }
 
-    for (int i = 0; i < threads; i++) {
-      Thread workerThread = new Thread(new Worker(), "Worker-" + i);
-      workerThread.setDaemon(true);
-      workerThread.start();
+    if (mode == Mode.OPEN) {
+      startDaemon(new Scheduler(), "Scheduler");
+    } else {
+      rateLimiter = RateLimiter.create(rate, warmupPeriod, TimeUnit.SECONDS);
+      for (int i = 0; i < threads; i++) {
+        startDaemon(new Worker(), "Worker-" + i);
+      }
     }
 
-    while (true) {
-      Thread.sleep(printInterval * 1000);
+    Thread.sleep(TimeUnit.SECONDS.toMillis(warmupPeriod));
+    latencyRecorder.reset();
 
-      long currentTracesSent = tracesSent.get();
-      long intervalEnd = System.currentTimeMillis();
+    Reporter reporter = new Reporter(output, System.out);
+    long measurementStart = System.nanoTime();
+    long allocatedAtStart = allocatedBytes();
+    long deadline =
+        duration > 0 ? measurementStart + TimeUnit.SECONDS.toNanos(duration) : Long.MAX_VALUE;
+    long intervalStart = measurementStart;
+    long allocatedAtIntervalStart = allocatedAtStart;
+    Histogram interval = null;
+    Histogram total = new Histogram(3);
 
-      double currentRate =
-          (currentTracesSent - tracesAtLastReport) / ((intervalEnd - intervalStart) / 1000d);
+    while (true) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      // round up so the last interval ends at the deadline rather than just before it
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remaining + 999_999);
+      Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(printInterval), remainingMillis));
 
-      System.out.println(
-          "Total Traces Sent: " + currentTracesSent + ", Rate this interval: " + currentRate);
-      intervalStart = System.currentTimeMillis();
-      tracesAtLastReport = currentTracesSent;
+      interval = latencyRecorder.getIntervalHistogram(interval);
+      long intervalEnd = System.nanoTime();
+      long allocated = allocatedBytes();
+      reporter.report(
+          "interval",
+          intervalEnd - measurementStart,
+          intervalEnd - intervalStart,
+          interval,
+          difference(allocated, allocatedAtIntervalStart));
+      total.add(interval);
+      intervalStart = intervalEnd;
+      allocatedAtIntervalStart = allocated;
     }
+
+    long end = System.nanoTime();
+    reporter.report(
+        "total",
+        end - measurementStart,
+        end - measurementStart,
+        total,
+        difference(allocatedBytes(), allocatedAtStart));
+    return 0;
   }
 
   public static void main(String[] args) {
@@ -107,6 +212,76 @@ public class LoadGenerator implements Callable<Integer> {
     System.exit(exitCode);
   }
 
+  private static void startDaemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Returns the bytes allocated so far by all live threads, including the agent's exporter
+   * threads, or -1 if the JVM cannot report it.
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    if (!allocationBean.isThreadAllocatedMemorySupported()
+        || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+    long total = 0;
+    for (long allocated : allocationBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+      if (allocated > 0) {
+        total += allocated;
+      }
+    }
+    return total;
+  }
+
+  private static long difference(long end, long start) {
+    return end < 0 || start < 0 ? -1 : Math.max(0, end - start);
+  }
+
+  private void createTrace() {
+    Span parent = startSpan("parentSpan");
+
+    try (Scope scope = currentContextWith(parent)) {
+      for (int i = 0; i < width; i++) {
+        Span widthSpan = startSpan("span-" + i);
+        try (Scope widthScope = currentContextWith(widthSpan)) {
+          for (int j = 0; j < depth - 2; j++) {
+            Span depthSpan = startSpan("span-" + i + "-" + j);
+            try (Scope depthScope = currentContextWith(depthSpan)) {
+              // do nothing.  Maybe sleep? but that will mean we need more threads to keep the
+              // effective rate
+            } finally {
+              depthSpan.end();
+            }
+          }
+        } finally {
+          widthSpan.end();
+        }
+      }
+    } finally {
+      parent.end();
+    }
+  }
+
+  private Span startSpan(String name) {
+    Span.Builder builder = TRACER.spanBuilder(name);
+    for (String key : attributeKeys) {
+      builder.setAttribute(key, attributeValue);
+    }
+    Span span = builder.startSpan();
+    for (String event : eventNames) {
+      span.addEvent(event);
+    }
+    return span;
+  }
+
   private class Worker implements Runnable {
 
     @Override
@@ -114,31 +289,63 @@ public class LoadGenerator implements Callable<Integer> {
 
       while (true) {
         rateLimiter.acquire();
-        Span parent = TRACER.spanBuilder("parentSpan").startSpan();
-
-        try (Scope scope = currentContextWith(parent)) {
-          for (int i = 0; i < width; i++) {
-            Span widthSpan = TRACER.spanBuilder("span-" + i).startSpan();
-            try (Scope widthScope = currentContextWith(widthSpan)) {
-              for (int j = 0; j < depth - 2; j++) {
-                Span depthSpan = TRACER.spanBuilder("span-" + i + "-" + j).startSpan();
-                try (Scope depthScope = currentContextWith(depthSpan)) {
-                  // do nothing.  Maybe sleep? but that will mean we need more threads to keep the
-                  // effective rate
-                } finally {
-                  depthSpan.end();
+        long start = System.nanoTime();
+        createTrace();
+        latencyRecorder.recordValue(System.nanoTime() - start);
+      }
+    }
+  }
+
+  /**
+   * Hands traces to the worker pool at their intended start times. Latency is measured from the
+   * intended start time, so a trace that waits behind slower ones is not omitted from the
+   * histogram.
+   */
+  private class Scheduler implements Runnable {
+
+    @Override
+    public void run() {
+      final AtomicInteger workerCount = new AtomicInteger();
+      ExecutorService workers =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              0,
+              TimeUnit.MILLISECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                  Thread thread = new Thread(runnable, "Worker-" + workerCount.getAndIncrement());
+                  thread.setDaemon(true);
+                  return thread;
                 }
-              }
-            } finally {
-              widthSpan.end();
-            }
-          }
-        } finally {
-          parent.end();
-        }
+              });
 
-        tracesSent.getAndIncrement();
+      long period = Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+      long next = System.nanoTime();
+      while (true) {
+        long now = System.nanoTime();
+        while (next - now <= 0) {
+          workers.execute(new ScheduledTrace(next));
+          next += period;
+        }
+        LockSupport.parkNanos(next - now);
       }
     }
   }
+
+  private class ScheduledTrace implements Runnable {
+    private final long intendedStart;
+
+    ScheduledTrace(long intendedStart) {
+      this.intendedStart = intendedStart;
+    }
+
+    @Override
+    public void run() {
+      createTrace();
+      latencyRecorder.recordValue(System.nanoTime() - intendedStart);
+    }
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.loadgenerator;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/** Prints load generator statistics as human readable text, CSV rows or JSON lines. */
+final class Reporter {
+
+  enum Format {
+    TEXT,
+    CSV,
+    JSON
+  }
+
+  private static final String CSV_HEADER =
+      "period,elapsed_s,duration_s,traces,rate,p50_us,p99_us,p999_us,max_us,"
+          + "allocated_mb_per_s,allocated_bytes_per_trace";
+
+  private final Format format;
+  private final PrintStream out;
+  private boolean headerPrinted;
+
+  Reporter(Format format, PrintStream out) {
+    this.format = format;
+    this.out = out;
+  }
+
+  /**
+   * Prints one line of statistics.
+   *
+   * @param period {@code interval} for periodic reports, {@code total} for the final summary
+   * @param elapsedNanos time since measurement started
+   * @param durationNanos time covered by this report
+   * @param latency per-trace latency in nanoseconds, recorded during this report's period
+   * @param allocatedBytes bytes allocated during this report's period, or -1 if unknown
+   */
+  void report(
+      String period,
+      long elapsedNanos,
+      long durationNanos,
+      Histogram latency,
+      long allocatedBytes) {
+    double elapsed = elapsedNanos / 1e9;
+    double duration = durationNanos / 1e9;
+    long traces = latency.getTotalCount();
+    double rate = duration > 0 ? traces / duration : 0;
+    double p50 = micros(latency.getValueAtPercentile(50));
+    double p99 = micros(latency.getValueAtPercentile(99));
+    double p999 = micros(latency.getValueAtPercentile(99.9));
+    double max = micros(latency.getMaxValue());
+    // null when the JVM cannot report allocations
+    String allocationRate = null;
+    String allocatedPerTrace = null;
+    if (allocatedBytes >= 0) {
+      allocationRate =
+          String.format(Locale.ROOT, "%.2f", duration > 0 ? allocatedBytes / duration / 1e6 : 0);
+      allocatedPerTrace = String.valueOf(traces > 0 ? allocatedBytes / traces : 0);
+    }
+
+    switch (format) {
+      case CSV:
+        if (!headerPrinted) {
+          out.println(CSV_HEADER);
+          headerPrinted = true;
+        }
+        out.println(
+            String.format(
+                Locale.ROOT,
+                "%s,%.3f,%.3f,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%s,%s",
+                period,
+                elapsed,
+                duration,
+                traces,
+                rate,
+                p50,
+                p99,
+                p999,
+                max,
+                allocationRate == null ? "" : allocationRate,
+                allocatedPerTrace == null ? "" : allocatedPerTrace));
+        break;
+      case JSON:
+        out.println(
+            String.format(
+                Locale.ROOT,
+                "{\"period\":\"%s\",\"elapsed_s\":%.3f,\"duration_s\":%.3f,\"traces\":%d,"
+                    + "\"rate\":%.1f,\"p50_us\":%.1f,\"p99_us\":%.1f,\"p999_us\":%.1f,"
+                    + "\"max_us\":%.1f,\"allocated_mb_per_s\":%s,\"allocated_bytes_per_trace\":%s}",
+                period,
+                elapsed,
+                duration,
+                traces,
+                rate,
+                p50,
+                p99,
+                p999,
+                max,
+                allocationRate,
+                allocatedPerTrace));
+        break;
+      default:
+        StringBuilder line = new StringBuilder();
+        line.append(
+            String.format(
+                Locale.ROOT,
+                "%s at %.1fs: %d traces, %.1f traces/s, latency p50 %.1fus p99 %.1fus"
+                    + " p99.9 %.1fus max %.1fus",
+                "total".equals(period) ? "Total" : "Interval",
+                elapsed,
+                traces,
+                rate,
+                p50,
+                p99,
+                p999,
+                max));
+        if (allocationRate != null) {
+          line.append(", allocation ")
+              .append(allocationRate)
+              .append(" MB/s (")
+              .append(allocatedPerTrace)
+              .append(" bytes/trace)");
+        }
+        out.println(line);
+        break;
+    }
+    out.flush();
+  }
+
+  private static double micros(long nanos) {
+    return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+  }
+}
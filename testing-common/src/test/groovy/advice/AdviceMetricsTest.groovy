@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package advice
+
+import static advice.AdviceMetricsTestInstrumentation.ENTER_MILLIS
+import static advice.AdviceMetricsTestInstrumentation.EXIT_MILLIS
+import static advice.AdviceMetricsTestInstrumentation.METHOD_MILLIS
+import static java.util.concurrent.TimeUnit.MILLISECONDS
+
+import io.opentelemetry.auto.test.AgentTestRunner
+import io.opentelemetry.sdk.OpenTelemetrySdk
+
+class AdviceMetricsTest extends AgentTestRunner {
+
+  static {
+    System.setProperty("otel.advice.metrics.enabled", "true")
+    System.setProperty("otel.integration.advice-metrics-test.enabled", "true")
+  }
+
+  def target = new AdviceMetricsTestInstrumentation.Target()
+
+  def "enter and exit advice of a returning method are recorded once"() {
+    when:
+    def result = target.returning()
+    def phases = recordedPhases("advice-metrics-returning")
+
+    then:
+    result == "returned"
+    phases.keySet() == ["enter", "exit"] as Set
+    phases.enter.count == 1
+    phases.exit.count == 1
+    // the timing advice runs around the advice code, but not around the method
+    phases.enter.sum >= MILLISECONDS.toNanos(ENTER_MILLIS)
+    phases.enter.sum < MILLISECONDS.toNanos(METHOD_MILLIS)
+    phases.exit.sum >= MILLISECONDS.toNanos(EXIT_MILLIS)
+    phases.exit.sum < MILLISECONDS.toNanos(METHOD_MILLIS)
+  }
+
+  def "enter and exit advice of a throwing method are recorded once"() {
+    when:
+    target.throwing()
+
+    then:
+    thrown(IllegalStateException)
+
+    when:
+    def phases = recordedPhases("advice-metrics-throwing")
+
+    then:
+    phases.keySet() == ["enter", "exit"] as Set
+    phases.enter.count == 1
+    phases.exit.count == 1
+    phases.enter.sum >= MILLISECONDS.toNanos(ENTER_MILLIS)
+    phases.enter.sum < MILLISECONDS.toNanos(METHOD_MILLIS)
+    phases.exit.sum >= MILLISECONDS.toNanos(EXIT_MILLIS)
+    phases.exit.sum < MILLISECONDS.toNanos(METHOD_MILLIS)
+  }
+
+  def "advice that skips the method is recorded once as enter and exit"() {
+    when:
+    def result = target.skipping()
+    def phases = recordedPhases("advice-metrics-skipping")
+
+    then:
+    result == "skipped"
+    phases.keySet() == ["enter_and_exit"] as Set
+    phases.enter_and_exit.count == 1
+    phases.enter_and_exit.sum >= MILLISECONDS.toNanos(ENTER_MILLIS + EXIT_MILLIS)
+    phases.enter_and_exit.sum < MILLISECONDS.toNanos(METHOD_MILLIS)
+  }
+
+  def "advice on a constructor is applied but not timed"() {
+    setup:
+    def constructed = AdviceMetricsTestInstrumentation.CONSTRUCTED.get()
+
+    when:
+    new AdviceMetricsTestInstrumentation.Target()
+
+    then:
+    AdviceMetricsTestInstrumentation.CONSTRUCTED.get() == constructed + 1
+    recordedPhases("advice-metrics-constructor").isEmpty()
+  }
+
+  /**
+   * Each instrumentation name is used by a single feature, so whether the SDK reports deltas or
+   * cumulative values, the points of that name only hold the calls of the feature.
+   */
+  static Map<String, Object> recordedPhases(String instrumentation) {
+    def metrics = OpenTelemetrySdk.getMeterProvider().getMetricProducer().collectAllMetrics()
+    def duration = metrics.find { it.descriptor.name == "otel.javaagent.advice.duration" }
+    if (duration == null) {
+      return [:]
+    }
+    return duration.points
+      .findAll { it.labels.get("instrumentation") == instrumentation }
+      .collectEntries { [(it.labels.get("phase")): it] }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package advice;
+
+import static java.util.Collections.singletonMap;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.tooling.Instrumenter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Instruments each method of {@link Target} with its own instrumentation name, so that the advice
+ * metrics of each method can be told apart. The advice and the methods sleep for different times,
+ * which shows what each recorded phase measured.
+ */
+public abstract class AdviceMetricsTestInstrumentation extends Instrumenter.Default {
+  public static final long ENTER_MILLIS = 50;
+  public static final long EXIT_MILLIS = 100;
+  public static final long METHOD_MILLIS = 1000;
+
+  public static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+  private final ElementMatcher<? super MethodDescription> methodMatcher;
+  private final Class<?> adviceClass;
+
+  AdviceMetricsTestInstrumentation(
+      String name, ElementMatcher<? super MethodDescription> methodMatcher, Class<?> adviceClass) {
+    super(name, "advice-metrics-test");
+    this.methodMatcher = methodMatcher;
+    this.adviceClass = adviceClass;
+  }
+
+  @Override
+  protected boolean defaultEnabled() {
+    return false;
+  }
+
+  @Override
+  public ElementMatcher<? super TypeDescription> typeMatcher() {
+    // a class literal would load Target before the agent can instrument it
+    return named(AdviceMetricsTestInstrumentation.class.getName() + "$Target");
+  }
+
+  @Override
+  public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
+    return singletonMap(methodMatcher, adviceClass.getName());
+  }
+
+  public static void pause(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @AutoService(Instrumenter.class)
+  public static class Returning extends AdviceMetricsTestInstrumentation {
+    public Returning() {
+      super("advice-metrics-returning", named("returning"), TimedAdvice.class);
+    }
+  }
+
+  @AutoService(Instrumenter.class)
+  public static class Throwing extends AdviceMetricsTestInstrumentation {
+    public Throwing() {
+      super("advice-metrics-throwing", named("throwing"), TimedAdvice.class);
+    }
+  }
+
+  @AutoService(Instrumenter.class)
+  public static class Skipping extends AdviceMetricsTestInstrumentation {
+    public Skipping() {
+      super("advice-metrics-skipping", named("skipping"), SkippingAdvice.class);
+    }
+  }
+
+  @AutoService(Instrumenter.class)
+  public static class Constructor extends AdviceMetricsTestInstrumentation {
+    public Constructor() {
+      super("advice-metrics-constructor", isConstructor(), ConstructorAdvice.class);
+    }
+  }
+
+  public static class TimedAdvice {
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter() {
+      pause(ENTER_MILLIS);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit() {
+      pause(EXIT_MILLIS);
+    }
+  }
+
+  public static class SkippingAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+    public static boolean onEnter() {
+      pause(ENTER_MILLIS);
+      return true;
+    }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(@Advice.Return(readOnly = false) String result) {
+      pause(EXIT_MILLIS);
+      result = "skipped";
+    }
+  }
+
+  public static class ConstructorAdvice {
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit() {
+      CONSTRUCTED.incrementAndGet();
+    }
+  }
+
+  public static class Target {
+    public String returning() {
+      pause(METHOD_MILLIS);
+      return "returned";
+    }
+
+    public void throwing() {
+      pause(METHOD_MILLIS);
+      throw new IllegalStateException("expected");
+    }
+
+    public String skipping() {
+      pause(METHOD_MILLIS);
+      return "returned";
+    }
+  }
+}